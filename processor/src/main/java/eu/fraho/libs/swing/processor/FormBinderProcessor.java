@@ -0,0 +1,667 @@
+package eu.fraho.libs.swing.processor;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.Filer;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.*;
+import javax.lang.model.type.ArrayType;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.lang.model.util.SimpleAnnotationValueVisitor8;
+import javax.lang.model.util.Elements;
+import javax.lang.model.util.Types;
+import javax.tools.Diagnostic;
+import javax.tools.FileObject;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardLocation;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.Writer;
+import java.util.*;
+
+/**
+ * Annotation processor which generates a {@code FormBinder} for every concrete
+ * {@code FormModel} class with {@code FormField} annotated fields.<br>
+ * The generated binders access the model properties and create the components by
+ * direct calls, so the {@code WForm} does not need any reflection for these models.
+ * They also list the annotated fields with their annotations, so the model class
+ * is not scanned at runtime.
+ * They are registered in {@code META-INF/services} and picked up by the
+ * {@link java.util.ServiceLoader} at runtime.<br>
+ * Fields which can't be bound at compile time (inaccessible types, missing getters
+ * or constructors) are skipped and handled by the reflective fallback instead.
+ *
+ * @author Simon Frankenberger
+ */
+@SupportedAnnotationTypes("*")
+public class FormBinderProcessor extends AbstractProcessor {
+    private static final String FORM_PACKAGE = "eu.fraho.libs.swing.widgets.form";
+    private static final String FORM_MODEL = FORM_PACKAGE + ".FormModel";
+    private static final String FORM_FIELD = FORM_PACKAGE + ".FormField";
+    private static final String FORM_BINDER = FORM_PACKAGE + ".FormBinder";
+    private static final String COLOR_THEME = "eu.fraho.libs.swing.widgets.datepicker.ColorTheme";
+
+    /**
+     * all generated binders, written to the service file when processing is over
+     */
+    private final Set<String> binders = new TreeSet<>();
+
+    private Elements elements;
+    private Types types;
+    private Filer filer;
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        elements = processingEnv.getElementUtils();
+        types = processingEnv.getTypeUtils();
+        filer = processingEnv.getFiler();
+
+        if (roundEnv.processingOver()) {
+            writeServiceFile();
+            return false;
+        }
+
+        TypeElement formModel = elements.getTypeElement(FORM_MODEL);
+        if (formModel == null) {
+            return false;
+        }
+
+        Deque<TypeElement> queue = new ArrayDeque<>(ElementFilter.typesIn(roundEnv.getRootElements()));
+        while (!queue.isEmpty()) {
+            TypeElement type = queue.poll();
+            queue.addAll(ElementFilter.typesIn(type.getEnclosedElements()));
+            if (isBindable(type, formModel)) {
+                generateBinder(type);
+            }
+        }
+        return false;
+    }
+
+    private boolean isBindable(TypeElement type, TypeElement formModel) {
+        return type.getKind() == ElementKind.CLASS
+                && !type.getModifiers().contains(Modifier.ABSTRACT)
+                && isAccessible(type)
+                && types.isAssignable(types.erasure(type.asType()), types.erasure(formModel.asType()))
+                && !collectFields(type).isEmpty();
+    }
+
+    /**
+     * The reflective binding requires public models, so do the generated binders.
+     * Nested models have to be static.
+     */
+    private boolean isAccessible(TypeElement type) {
+        Element element = type;
+        while (element instanceof TypeElement) {
+            Set<Modifier> modifiers = element.getModifiers();
+            if (!modifiers.contains(Modifier.PUBLIC)) {
+                return false;
+            }
+            Element parent = element.getEnclosingElement();
+            if (parent instanceof TypeElement && !modifiers.contains(Modifier.STATIC)) {
+                return false;
+            }
+            element = parent;
+        }
+        return true;
+    }
+
+    private boolean isAccessibleFrom(TypeMirror mirror, PackageElement pkg) {
+        if (mirror.getKind().isPrimitive()) {
+            return true;
+        }
+        if (mirror.getKind() != TypeKind.DECLARED) {
+            return false;
+        }
+        Element element = ((DeclaredType) mirror).asElement();
+        while (element instanceof TypeElement) {
+            Set<Modifier> modifiers = element.getModifiers();
+            if (modifiers.contains(Modifier.PRIVATE)) {
+                return false;
+            }
+            if (!modifiers.contains(Modifier.PUBLIC) && !elements.getPackageOf(element).equals(pkg)) {
+                return false;
+            }
+            element = element.getEnclosingElement();
+        }
+        return true;
+    }
+
+    /**
+     * Collect all annotated fields, ordered from the topmost superclass down to the model class.
+     */
+    private List<VariableElement> collectFields(TypeElement type) {
+        List<TypeElement> tree = new ArrayList<>();
+        for (TypeElement clazz = type; clazz != null; clazz = superclassOf(clazz)) {
+            tree.add(0, clazz);
+        }
+
+        List<VariableElement> result = new ArrayList<>();
+        for (TypeElement clazz : tree) {
+            for (VariableElement field : ElementFilter.fieldsIn(clazz.getEnclosedElements())) {
+                if (findAnnotation(field, FORM_FIELD) != null) {
+                    result.add(field);
+                }
+            }
+        }
+        return result;
+    }
+
+    private TypeElement superclassOf(TypeElement type) {
+        TypeMirror superclass = type.getSuperclass();
+        if (superclass.getKind() != TypeKind.DECLARED) {
+            return null;
+        }
+        return (TypeElement) ((DeclaredType) superclass).asElement();
+    }
+
+    private AnnotationMirror findAnnotation(Element element, String name) {
+        for (AnnotationMirror mirror : element.getAnnotationMirrors()) {
+            if (((TypeElement) mirror.getAnnotationType().asElement()).getQualifiedName().contentEquals(name)) {
+                return mirror;
+            }
+        }
+        return null;
+    }
+
+    private Object annotationValue(AnnotationMirror mirror, String name) {
+        for (Map.Entry<? extends ExecutableElement, ? extends AnnotationValue> entry : elements.getElementValuesWithDefaults(mirror).entrySet()) {
+            if (entry.getKey().getSimpleName().contentEquals(name)) {
+                return entry.getValue().getValue();
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Search the public method with the given name and parameters in the model
+     * class and its superclasses.
+     */
+    private ExecutableElement findMethod(TypeElement type, String name, TypeMirror... parameters) {
+        for (ExecutableElement method : ElementFilter.methodsIn(elements.getAllMembers(type))) {
+            if (!method.getSimpleName().contentEquals(name)
+                    || !method.getModifiers().contains(Modifier.PUBLIC)
+                    || method.getModifiers().contains(Modifier.STATIC)
+                    || method.getParameters().size() != parameters.length) {
+                continue;
+            }
+            boolean matches = true;
+            for (int i = 0; i < parameters.length; i++) {
+                matches &= types.isSameType(types.erasure(method.getParameters().get(i).asType()), types.erasure(parameters[i]));
+            }
+            if (matches) {
+                return method;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Getters and setters generated by lombok are not visible to other processors,
+     * so the corresponding annotations are honored as well.
+     */
+    private boolean hasLombokAccessor(VariableElement field, String accessor) {
+        Element owner = field.getEnclosingElement();
+        return findAnnotation(field, "lombok." + accessor) != null
+                || findAnnotation(owner, "lombok." + accessor) != null
+                || findAnnotation(owner, "lombok.Data") != null
+                || ("Getter".equals(accessor) && findAnnotation(owner, "lombok.Value") != null);
+    }
+
+    /**
+     * Lombok names the getter of a primitive boolean is&lt;Name&gt; and drops the
+     * prefix of fields already named is&lt;Name&gt;.
+     */
+    private static String lombokAccessorName(VariableElement field, boolean getter) {
+        String name = field.getSimpleName().toString();
+        if (field.asType().getKind() != TypeKind.BOOLEAN) {
+            return (getter ? "get" : "set") + Character.toUpperCase(name.charAt(0)) + name.substring(1);
+        }
+        if (name.length() > 2 && name.startsWith("is") && Character.isUpperCase(name.charAt(2))) {
+            name = name.substring(2);
+        }
+        return (getter ? "is" : "set") + Character.toUpperCase(name.charAt(0)) + name.substring(1);
+    }
+
+    private String binderName(TypeElement type) {
+        String pkg = elements.getPackageOf(type).getQualifiedName().toString();
+        String flat = elements.getBinaryName(type).toString();
+        if (!pkg.isEmpty()) {
+            flat = flat.substring(pkg.length() + 1);
+        }
+        return flat.replace('$', '_') + "FormBinder";
+    }
+
+    private String typeName(TypeMirror mirror) {
+        return types.erasure(mirror).toString();
+    }
+
+    private String boxedName(TypeMirror mirror) {
+        if (mirror.getKind().isPrimitive()) {
+            return types.boxedClass(types.getPrimitiveType(mirror.getKind())).getQualifiedName().toString();
+        }
+        return typeName(mirror);
+    }
+
+    private boolean isEnum(TypeMirror mirror) {
+        return mirror.getKind() == TypeKind.DECLARED
+                && ((DeclaredType) mirror).asElement().getKind() == ElementKind.ENUM;
+    }
+
+    private void generateBinder(TypeElement type) {
+        PackageElement pkg = elements.getPackageOf(type);
+        String name = binderName(type);
+        String qualifiedName = pkg.isUnnamed() ? name : pkg.getQualifiedName() + "." + name;
+        String modelName = typeName(type.asType());
+
+        StringBuilder accessors = new StringBuilder();
+        StringBuilder factories = new StringBuilder();
+        StringBuilder themes = new StringBuilder();
+        StringBuilder annotations = new StringBuilder();
+        List<String> fieldNames = new ArrayList<>();
+        boolean metadata = true;
+        int bound = 0;
+        for (VariableElement field : collectFields(type)) {
+            String fieldName = field.getSimpleName().toString();
+            String capitalized = Character.toUpperCase(fieldName.charAt(0)) + fieldName.substring(1);
+            TypeMirror fieldType = field.asType();
+
+            fieldNames.add(fieldName);
+            String annotationSource = createAnnotation(findAnnotation(field, FORM_FIELD), pkg);
+            if (annotationSource == null) {
+                note(field, "Annotation can't be recreated, scanning the model using reflection");
+                metadata = false;
+            } else {
+                annotations.append("            case \"").append(fieldName).append("\":\n")
+                        .append("                return ").append(annotationSource).append(";\n");
+            }
+            String theme = createThemeFactory(findAnnotation(field, FORM_FIELD), pkg);
+            if (theme != null) {
+                themes.append("            case \"").append(fieldName).append("\":\n")
+                        .append("                return ").append(theme).append(";\n");
+            }
+
+            if (!isAccessibleFrom(fieldType, pkg)) {
+                note(field, "Field type is not accessible, using reflection");
+                continue;
+            }
+
+            String getter = "get" + capitalized;
+            ExecutableElement getterMethod = findMethod(type, getter);
+            if (getterMethod == null) {
+                if (!hasLombokAccessor(field, "Getter")) {
+                    note(field, "No getter found, using reflection");
+                    continue;
+                }
+                getter = lombokAccessorName(field, true);
+            }
+            TypeMirror valueType = getterMethod == null ? fieldType : getterMethod.getReturnType();
+
+            AnnotationMirror annotation = findAnnotation(field, FORM_FIELD);
+            boolean readonly = Boolean.TRUE.equals(annotationValue(annotation, "readonly"));
+            String setter = "set" + capitalized;
+            boolean hasSetter = findMethod(type, setter, fieldType) != null;
+            if (!hasSetter && hasLombokAccessor(field, "Setter")) {
+                setter = lombokAccessorName(field, false);
+                hasSetter = true;
+            }
+            if (!readonly && !hasSetter) {
+                note(field, "No setter found, using reflection");
+                continue;
+            }
+
+            accessors.append("            case \"").append(fieldName).append("\":\n")
+                    .append("                return new ModelAccessor() {\n")
+                    .append("                    @Override\n")
+                    .append("                    public Object getValue(FormModel model) {\n")
+                    .append("                        return ((").append(modelName).append(") model).").append(getter).append("();\n")
+                    .append("                    }\n\n")
+                    .append("                    @Override\n")
+                    .append("                    public void setValue(FormModel model, Object value) {\n");
+            if (readonly) {
+                accessors.append("                        throw new IllegalStateException(\"No setter available for ")
+                        .append(modelName).append(".").append(fieldName).append("\");\n");
+            } else {
+                accessors.append("                        ((").append(modelName).append(") model).").append(setter)
+                        .append("((").append(boxedName(fieldType)).append(") value);\n");
+            }
+            accessors.append("                    }\n")
+                    .append("                };\n");
+            bound++;
+
+            String factory = createFactory(annotation, valueType, pkg);
+            if (factory != null) {
+                factories.append("            case \"").append(fieldName).append("\":\n")
+                        .append("                return value -> ").append(factory).append(";\n");
+            }
+        }
+
+        if (bound == 0) {
+            return;
+        }
+
+        try {
+            JavaFileObject file = filer.createSourceFile(qualifiedName, type);
+            try (Writer writer = file.openWriter(); PrintWriter out = new PrintWriter(writer)) {
+                if (!pkg.isUnnamed()) {
+                    out.println("package " + pkg.getQualifiedName() + ";");
+                    out.println();
+                }
+                out.println("import " + FORM_PACKAGE + ".FormBinder;");
+                out.println("import " + FORM_PACKAGE + ".FormField;");
+                out.println("import " + FORM_PACKAGE + ".FormModel;");
+                out.println("import " + FORM_PACKAGE + ".ModelAccessor;");
+                out.println("import eu.fraho.libs.swing.widgets.base.WComponent;");
+                out.println("import " + COLOR_THEME + ";");
+                out.println();
+                out.println("import java.lang.annotation.Annotation;");
+                out.println("import java.util.Arrays;");
+                out.println("import java.util.Collections;");
+                out.println("import java.util.List;");
+                out.println("import java.util.function.Function;");
+                out.println("import java.util.function.Supplier;");
+                out.println();
+                out.println("/**");
+                out.println(" * Generated {@link FormBinder} for {@link " + modelName + "}.");
+                out.println(" */");
+                out.println("@SuppressWarnings({\"unchecked\", \"rawtypes\"})");
+                out.println("public final class " + name + " implements FormBinder<" + modelName + "> {");
+                if (metadata) {
+                    out.println("    private static final List<String> FIELD_NAMES = Collections.unmodifiableList(Arrays.asList(");
+                    StringJoiner joiner = new StringJoiner(",\n", "", "));");
+                    fieldNames.forEach(fieldName -> joiner.add("            \"" + fieldName + "\""));
+                    out.println(joiner);
+                    out.println();
+                }
+                out.println("    @Override");
+                out.println("    public Class<" + modelName + "> getModelClass() {");
+                out.println("        return " + modelName + ".class;");
+                out.println("    }");
+                out.println();
+                out.println("    @Override");
+                out.println("    public ModelAccessor getAccessor(String field) {");
+                out.println("        switch (field) {");
+                out.print(accessors);
+                out.println("            default:");
+                out.println("                return null;");
+                out.println("        }");
+                out.println("    }");
+                out.println();
+                out.println("    @Override");
+                out.println("    public Function<Object, WComponent<?>> getComponentFactory(String field) {");
+                out.println("        switch (field) {");
+                out.print(factories);
+                out.println("            default:");
+                out.println("                return null;");
+                out.println("        }");
+                out.println("    }");
+                out.println();
+                out.println("    @Override");
+                out.println("    public Supplier<ColorTheme> getThemeFactory(String field) {");
+                out.println("        switch (field) {");
+                out.print(themes);
+                out.println("            default:");
+                out.println("                return null;");
+                out.println("        }");
+                out.println("    }");
+                if (metadata) {
+                    out.println();
+                    out.println("    @Override");
+                    out.println("    public List<String> getFieldNames() {");
+                    out.println("        return FIELD_NAMES;");
+                    out.println("    }");
+                    out.println();
+                    out.println("    @Override");
+                    out.println("    public FormField getAnnotation(String field) {");
+                    out.println("        switch (field) {");
+                    out.print(annotations);
+                    out.println("            default:");
+                    out.println("                return null;");
+                    out.println("        }");
+                    out.println("    }");
+                }
+                out.println("}");
+            }
+            binders.add(qualifiedName);
+        } catch (IOException ioe) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, "Unable to write " + qualifiedName + ": " + ioe, type);
+        }
+    }
+
+    /**
+     * Build the expression creating the component, matching the constructor the
+     * reflective fallback would use. Returns null if there is no suitable constructor.
+     */
+    private String createFactory(AnnotationMirror annotation, TypeMirror valueType, PackageElement pkg) {
+        Object componentValue = annotationValue(annotation, "type");
+        if (!(componentValue instanceof DeclaredType)) {
+            return null;
+        }
+        DeclaredType componentType = (DeclaredType) componentValue;
+        TypeElement component = (TypeElement) componentType.asElement();
+        if (component.getModifiers().contains(Modifier.ABSTRACT) || !isAccessibleFrom(componentType, pkg)) {
+            return null;
+        }
+
+        String componentName = typeName(componentType);
+        boolean isEnum = isEnum(valueType);
+        for (ExecutableElement constructor : ElementFilter.constructorsIn(component.getEnclosedElements())) {
+            if (!constructor.getModifiers().contains(Modifier.PUBLIC)) {
+                continue;
+            }
+            List<? extends VariableElement> parameters = constructor.getParameters();
+            if (isEnum && parameters.size() == 2
+                    && typeName(parameters.get(0).asType()).equals(List.class.getName())
+                    && typeName(parameters.get(1).asType()).equals(Object.class.getName())) {
+                return "new " + componentName + "(new java.util.ArrayList<>(java.util.Arrays.asList("
+                        + typeName(valueType) + ".values())), value)";
+            }
+            if (!isEnum && parameters.size() == 1
+                    && types.isSameType(types.erasure(parameters.get(0).asType()), types.erasure(valueType))) {
+                TypeMirror parameter = parameters.get(0).asType();
+                if (parameter.getKind().isPrimitive()) {
+                    // the reflective fallback fails on null for primitives, so does this one
+                    return "new " + componentName + "((" + boxedName(parameter) + ") value)";
+                }
+                return "new " + componentName + "((" + typeName(parameter) + ") value)";
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Build the expression creating the theme by its public no-arg constructor.
+     * Returns null if the theme has to be created by reflection.
+     */
+    private String createThemeFactory(AnnotationMirror annotation, PackageElement pkg) {
+        Object themeValue = annotationValue(annotation, "theme");
+        if (!(themeValue instanceof DeclaredType)) {
+            return null;
+        }
+        DeclaredType themeType = (DeclaredType) themeValue;
+        TypeElement theme = (TypeElement) themeType.asElement();
+        if (theme.getKind() != ElementKind.CLASS
+                || theme.getModifiers().contains(Modifier.ABSTRACT)
+                || !isAccessibleFrom(themeType, pkg)) {
+            return null;
+        }
+        for (ExecutableElement constructor : ElementFilter.constructorsIn(theme.getEnclosedElements())) {
+            if (constructor.getModifiers().contains(Modifier.PUBLIC) && constructor.getParameters().isEmpty()) {
+                return typeName(themeType) + "::new";
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Build the expression recreating the given annotation with all its values,
+     * including the defaults. Returns null if any value is not accessible from the
+     * generated binder.
+     */
+    private String createAnnotation(AnnotationMirror annotation, PackageElement pkg) {
+        StringBuilder result = new StringBuilder();
+        result.append("new FormField() {\n")
+                .append("                    @Override\n")
+                .append("                    public Class<? extends Annotation> annotationType() {\n")
+                .append("                        return FormField.class;\n")
+                .append("                    }\n");
+        for (Map.Entry<? extends ExecutableElement, ? extends AnnotationValue> entry : elements.getElementValuesWithDefaults(annotation).entrySet()) {
+            ExecutableElement member = entry.getKey();
+            String value = literal(entry.getValue(), member.getReturnType(), pkg);
+            if (value == null) {
+                return null;
+            }
+            result.append("\n")
+                    .append("                    @Override\n")
+                    .append("                    public ").append(types.erasure(member.getReturnType())).append(" ")
+                    .append(member.getSimpleName()).append("() {\n")
+                    .append("                        return ").append(value).append(";\n")
+                    .append("                    }\n");
+        }
+        return result.append("                }").toString();
+    }
+
+    /**
+     * Render the given annotation value as java source.
+     *
+     * @return The source, or null if the value can't be expressed in the given package
+     */
+    private String literal(AnnotationValue value, TypeMirror valueType, PackageElement pkg) {
+        return value.accept(new SimpleAnnotationValueVisitor8<String, Void>() {
+            @Override
+            public String visitBoolean(boolean b, Void unused) {
+                return String.valueOf(b);
+            }
+
+            @Override
+            public String visitByte(byte b, Void unused) {
+                return "(byte) " + b;
+            }
+
+            @Override
+            public String visitChar(char c, Void unused) {
+                return "'" + escape(String.valueOf(c)) + "'";
+            }
+
+            @Override
+            public String visitDouble(double d, Void unused) {
+                return Double.isFinite(d) ? d + "d" : null;
+            }
+
+            @Override
+            public String visitFloat(float f, Void unused) {
+                return Float.isFinite(f) ? f + "f" : null;
+            }
+
+            @Override
+            public String visitInt(int i, Void unused) {
+                return String.valueOf(i);
+            }
+
+            @Override
+            public String visitLong(long i, Void unused) {
+                return i + "L";
+            }
+
+            @Override
+            public String visitShort(short s, Void unused) {
+                return "(short) " + s;
+            }
+
+            @Override
+            public String visitString(String s, Void unused) {
+                return "\"" + escape(s) + "\"";
+            }
+
+            @Override
+            public String visitType(TypeMirror t, Void unused) {
+                return isAccessibleFrom(t, pkg) ? typeName(t) + ".class" : null;
+            }
+
+            @Override
+            public String visitEnumConstant(VariableElement c, Void unused) {
+                TypeMirror enumType = c.getEnclosingElement().asType();
+                return isAccessibleFrom(enumType, pkg) ? typeName(enumType) + "." + c.getSimpleName() : null;
+            }
+
+            @Override
+            public String visitArray(List<? extends AnnotationValue> vals, Void unused) {
+                TypeMirror componentType = ((ArrayType) valueType).getComponentType();
+                StringJoiner joiner = new StringJoiner(", ", "new " + typeName(componentType) + "[]{", "}");
+                for (AnnotationValue val : vals) {
+                    String element = literal(val, componentType, pkg);
+                    if (element == null) {
+                        return null;
+                    }
+                    joiner.add(element);
+                }
+                return joiner.toString();
+            }
+
+            @Override
+            protected String defaultAction(Object o, Void unused) {
+                // nested annotations are not supported
+                return null;
+            }
+        }, null);
+    }
+
+    private static String escape(String value) {
+        StringBuilder result = new StringBuilder(value.length());
+        for (char c : value.toCharArray()) {
+            switch (c) {
+                case '"':
+                    result.append("\\\"");
+                    break;
+                case '\'':
+                    result.append("\\'");
+                    break;
+                case '\\':
+                    result.append("\\\\");
+                    break;
+                case '\n':
+                    result.append("\\n");
+                    break;
+                case '\r':
+                    result.append("\\r");
+                    break;
+                case '\t':
+                    result.append("\\t");
+                    break;
+                default:
+                    if (c < ' ' || c > '~') {
+                        result.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        result.append(c);
+                    }
+            }
+        }
+        return result.toString();
+    }
+
+    private void note(Element element, String message) {
+        processingEnv.getMessager().printMessage(Diagnostic.Kind.NOTE, message, element);
+    }
+
+    private void writeServiceFile() {
+        if (binders.isEmpty()) {
+            return;
+        }
+        try {
+            FileObject file = filer.createResource(StandardLocation.CLASS_OUTPUT, "", "META-INF/services/" + FORM_BINDER);
+            try (Writer writer = file.openWriter(); PrintWriter out = new PrintWriter(writer)) {
+                binders.forEach(out::println);
+            }
+        } catch (IOException ioe) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, "Unable to write service file: " + ioe);
+        }
+    }
+}
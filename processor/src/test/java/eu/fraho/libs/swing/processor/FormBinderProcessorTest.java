@@ -0,0 +1,201 @@
+/*
+ * MIT Licence
+ * Copyright (c) 2018 Simon Frankenberger
+ *
+ * Please see LICENCE.md for complete licence text.
+ */
+package eu.fraho.libs.swing.processor;
+
+import eu.fraho.libs.swing.widgets.WLongTextField;
+import eu.fraho.libs.swing.widgets.WStringTextField;
+import eu.fraho.libs.swing.widgets.base.WComponent;
+import eu.fraho.libs.swing.widgets.datepicker.DefaultColorTheme;
+import eu.fraho.libs.swing.widgets.form.FormBinder;
+import eu.fraho.libs.swing.widgets.form.FormField;
+import eu.fraho.libs.swing.widgets.form.FormModel;
+import eu.fraho.libs.swing.widgets.form.ModelAccessor;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import javax.tools.*;
+import java.io.File;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Compiles sample models with the {@link FormBinderProcessor} and checks the generated binders.
+ */
+public class FormBinderProcessorTest {
+    private static final String MODEL = "package sample;\n"
+            + "\n"
+            + "import eu.fraho.libs.swing.widgets.WLongTextField;\n"
+            + "import eu.fraho.libs.swing.widgets.WStringTextField;\n"
+            + "import eu.fraho.libs.swing.widgets.form.FormField;\n"
+            + "import eu.fraho.libs.swing.widgets.form.FormModel;\n"
+            + "\n"
+            + "public class Person implements FormModel {\n"
+            + "    @FormField(type = WStringTextField.class, caption = \"Name \\\"quoted\\\"\", section = \"Main\")\n"
+            + "    private String name;\n"
+            + "\n"
+            + "    @FormField(type = WLongTextField.class, caption = \"Age\", readonly = true, columns = 4)\n"
+            + "    private Long age = 42L;\n"
+            + "\n"
+            + "    @FormField(type = WStringTextField.class, caption = \"Hidden\")\n"
+            + "    private String hidden;\n"
+            + "\n"
+            + "    public String getName() { return name; }\n"
+            + "    public void setName(String name) { this.name = name; }\n"
+            + "    public Long getAge() { return age; }\n"
+            + "}\n";
+
+    private Path workDir;
+
+    @Before
+    public void setUp() throws IOException {
+        workDir = Files.createTempDirectory("processor");
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        try (Stream<Path> files = Files.walk(workDir)) {
+            files.sorted(Comparator.reverseOrder()).map(Path::toFile).forEach(File::delete);
+        }
+    }
+
+    @Test
+    public void testGeneratedSourceCompiles() throws IOException {
+        Path output = compile("sample/Person.java", MODEL);
+
+        Assert.assertTrue(Files.exists(output.resolve("sample/PersonFormBinder.class")));
+        List<String> services = Files.readAllLines(output.resolve("META-INF/services/" + FormBinder.class.getName()), StandardCharsets.UTF_8);
+        Assert.assertEquals(Collections.singletonList("sample.PersonFormBinder"), services);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testGeneratedBinder() throws Exception {
+        Path output = compile("sample/Person.java", MODEL);
+
+        try (URLClassLoader loader = new URLClassLoader(new URL[]{output.toUri().toURL()}, getClass().getClassLoader())) {
+            FormBinder<FormModel> binder = (FormBinder<FormModel>) loader.loadClass("sample.PersonFormBinder").newInstance();
+            Class<FormModel> modelClass = (Class<FormModel>) loader.loadClass("sample.Person");
+            Assert.assertEquals(modelClass, binder.getModelClass());
+
+            // all annotated fields are listed, even the ones without accessors
+            Assert.assertEquals(Arrays.asList("name", "age", "hidden"), binder.getFieldNames());
+            FormField name = binder.getAnnotation("name");
+            Assert.assertNotNull(name);
+            Assert.assertEquals(FormField.class, name.annotationType());
+            Assert.assertEquals("Name \"quoted\"", name.caption());
+            Assert.assertEquals("Main", name.section());
+            Assert.assertEquals(WStringTextField.class, name.type());
+            Assert.assertEquals(DefaultColorTheme.class, name.theme());
+            Assert.assertEquals(FormField.SpinnerType.LONG, name.spinnerType());
+            Assert.assertEquals(FormField.DEFAULT_COLUMNS, name.columns());
+            FormField age = binder.getAnnotation("age");
+            Assert.assertNotNull(age);
+            Assert.assertTrue(age.readonly());
+            Assert.assertEquals(4, age.columns());
+            Assert.assertNull(binder.getAnnotation("unknown"));
+
+            FormModel model = modelClass.newInstance();
+            ModelAccessor nameAccessor = binder.getAccessor("name");
+            Assert.assertNotNull(nameAccessor);
+            nameAccessor.setValue(model, "foo");
+            Assert.assertEquals("foo", nameAccessor.getValue(model));
+            ModelAccessor ageAccessor = binder.getAccessor("age");
+            Assert.assertNotNull(ageAccessor);
+            Assert.assertEquals(42L, ageAccessor.getValue(model));
+            Assert.assertNull("no getter, left to reflection", binder.getAccessor("hidden"));
+
+            WComponent<?> component = binder.getComponentFactory("age").apply(42L);
+            Assert.assertTrue(component instanceof WLongTextField);
+            Assert.assertEquals(42L, component.getValue());
+            Assert.assertTrue(binder.getThemeFactory("name").get() instanceof DefaultColorTheme);
+        }
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testLombokBooleanAccessors() throws Exception {
+        // only this processor runs, so the accessors lombok would generate are written by hand
+        Path output = compile("sample/Flags.java", "package sample;\n"
+                + "\n"
+                + "import eu.fraho.libs.swing.widgets.WCheckBox;\n"
+                + "import eu.fraho.libs.swing.widgets.form.FormField;\n"
+                + "import eu.fraho.libs.swing.widgets.form.FormModel;\n"
+                + "\n"
+                + "@lombok.Getter\n"
+                + "@lombok.Setter\n"
+                + "public class Flags implements FormModel {\n"
+                + "    @FormField(type = WCheckBox.class, caption = \"Active\")\n"
+                + "    private boolean active;\n"
+                + "\n"
+                + "    @FormField(type = WCheckBox.class, caption = \"Enabled\")\n"
+                + "    private boolean isEnabled;\n"
+                + "\n"
+                + "    public boolean isActive() { return active; }\n"
+                + "    public void setActive(boolean active) { this.active = active; }\n"
+                + "    public boolean isEnabled() { return isEnabled; }\n"
+                + "    public void setEnabled(boolean enabled) { this.isEnabled = enabled; }\n"
+                + "}\n");
+
+        try (URLClassLoader loader = new URLClassLoader(new URL[]{output.toUri().toURL()}, getClass().getClassLoader())) {
+            FormBinder<FormModel> binder = (FormBinder<FormModel>) loader.loadClass("sample.FlagsFormBinder").newInstance();
+            FormModel model = ((Class<FormModel>) loader.loadClass("sample.Flags")).newInstance();
+
+            ModelAccessor active = binder.getAccessor("active");
+            Assert.assertNotNull(active);
+            Assert.assertEquals(false, active.getValue(model));
+
+            ModelAccessor enabled = binder.getAccessor("isEnabled");
+            Assert.assertNotNull(enabled);
+            enabled.setValue(model, true);
+            Assert.assertEquals(true, enabled.getValue(model));
+        }
+    }
+
+    @Test
+    public void testNoBinderWithoutAnnotations() throws IOException {
+        Path output = compile("sample/Plain.java", "package sample;\n"
+                + "public class Plain implements eu.fraho.libs.swing.widgets.form.FormModel {\n"
+                + "    private String name;\n"
+                + "}\n");
+
+        Assert.assertFalse(Files.exists(output.resolve("sample/PlainFormBinder.class")));
+        Assert.assertFalse(Files.exists(output.resolve("META-INF/services/" + FormBinder.class.getName())));
+    }
+
+    private Path compile(String fileName, String source) throws IOException {
+        Path sourceFile = workDir.resolve("src").resolve(fileName);
+        Files.createDirectories(sourceFile.getParent());
+        Files.write(sourceFile, source.getBytes(StandardCharsets.UTF_8));
+        Path output = Files.createDirectories(workDir.resolve("out"));
+
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
+        try (StandardJavaFileManager fileManager = compiler.getStandardFileManager(diagnostics, null, StandardCharsets.UTF_8)) {
+            List<String> options = Arrays.asList(
+                    "-classpath", System.getProperty("java.class.path"),
+                    "-d", output.toString(),
+                    "-s", output.toString());
+            JavaCompiler.CompilationTask task = compiler.getTask(new StringWriter(), fileManager, diagnostics, options, null,
+                    fileManager.getJavaFileObjects(sourceFile.toFile()));
+            task.setProcessors(Collections.singletonList(new FormBinderProcessor()));
+            Assert.assertTrue("Compilation failed: " + diagnostics.getDiagnostics(), task.call());
+        }
+        return output;
+    }
+}
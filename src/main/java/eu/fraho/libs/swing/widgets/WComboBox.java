@@ -3,6 +3,12 @@ package eu.fraho.libs.swing.widgets;
 import eu.fraho.libs.swing.exceptions.ChangeVetoException;
 import eu.fraho.libs.swing.widgets.base.AbstractWComponent;
 import eu.fraho.libs.swing.widgets.base.WNullable;
+import eu.fraho.libs.swing.widgets.list.AbstractWListModel;
+import eu.fraho.libs.swing.widgets.list.DataProvider;
+import eu.fraho.libs.swing.widgets.list.FilteringListModel;
+import eu.fraho.libs.swing.widgets.list.ListBackedModel;
+import eu.fraho.libs.swing.widgets.list.MutableList;
+import eu.fraho.libs.swing.widgets.list.PagedListModel;
 import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.NonNull;
@@ -10,22 +16,35 @@ import lombok.extern.slf4j.Slf4j;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import javax.accessibility.Accessible;
 import javax.swing.*;
+import javax.swing.event.ListDataEvent;
+import javax.swing.plaf.basic.ComboPopup;
+import javax.swing.text.JTextComponent;
+import java.awt.*;
+import java.awt.event.KeyAdapter;
+import java.awt.event.KeyEvent;
+import java.awt.event.KeyListener;
 import java.util.*;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
 
 @SuppressWarnings("unused")
 @Slf4j
 @Getter(AccessLevel.PROTECTED)
 public class WComboBox<E> extends AbstractWComponent<E, JComboBox<E>> implements WNullable {
-    private final DefaultComboBoxModel<E> model = new DefaultComboBoxModel<>();
-    private boolean nullable = false;
+    @Getter(AccessLevel.NONE)
+    private final AtomicBoolean ignoreListener = new AtomicBoolean(false);
+    @NotNull
+    private final AbstractWListModel<E> model;
 
     public WComboBox(@NotNull @NonNull E[] items) {
         this(items, null);
     }
 
     public WComboBox(@NotNull @NonNull E[] items, @Nullable E value) {
-        this(Arrays.asList(items), value);
+        this(ListBackedModel.copyOf(Arrays.asList(items)), value);
     }
 
     public WComboBox(@NotNull @NonNull Collection<E> items) {
@@ -33,25 +52,103 @@ public class WComboBox<E> extends AbstractWComponent<E, JComboBox<E>> implements
     }
 
     public WComboBox(@NotNull @NonNull Collection<E> items, @Nullable E value) {
-        this(new ArrayList<>(items), value);
+        this(ListBackedModel.copyOf(items), value);
     }
 
     public WComboBox(@NotNull @NonNull List<E> items) {
         this(items, null);
     }
 
-    @SuppressWarnings("unchecked")
+    /**
+     * Create a new combobox showing a copy of the given items. Null values are skipped.
+     * To show a list which is modified later on, pass a {@link ListBackedModel} instead.
+     *
+     * @param items The items to show
+     * @param value The selected value
+     */
     public WComboBox(@NotNull @NonNull List<E> items, @Nullable E value) {
-        super(new JComboBox<>(), value);
-        JComboBox<E> component = getComponent();
-        setElements(items);
-        component.setModel(model);
-        setValue(value);
-        component.addActionListener(event -> setValue((E) model.getSelectedItem()));
+        this(ListBackedModel.copyOf(items), value);
+    }
+
+    public WComboBox(@NotNull @NonNull DataProvider<E> provider) {
+        this(provider, null);
+    }
+
+    public WComboBox(@NotNull @NonNull DataProvider<E> provider, @Nullable E value) {
+        this(new PagedListModel<>(provider), value);
+    }
+
+    /**
+     * Create a new combobox showing the items of the given model.<br>
+     * If a {@link FilteringListModel} is given, the combobox is editable and
+     * the typed text filters the items. Pressing enter selects the first match.
+     *
+     * @param model The model with the items
+     * @param value The selected value
+     */
+    public WComboBox(@NotNull @NonNull AbstractWListModel<E> model, @Nullable E value) {
+        super(new ModelComboBox<>(model), value);
+        this.model = model;
+        selectValue(value);
+        getComponent().addActionListener(event -> {
+            if (ignoreListener.get()) {
+                log.debug("{}: Ignoring action event {}", getName(), event);
+                return;
+            }
+            handleSelection();
+        });
+
+        if (model instanceof FilteringListModel) {
+            JComboBox<E> component = getComponent();
+            KeyListener filterListener = new FilterKeyListener((FilteringListModel<E>) model);
+            component.setEditable(true);
+            component.getEditor().getEditorComponent().addKeyListener(filterListener);
+            component.addPropertyChangeListener("editor", event -> {
+                Optional.ofNullable((ComboBoxEditor) event.getOldValue()).ifPresent(editor -> editor.getEditorComponent().removeKeyListener(filterListener));
+                Optional.ofNullable((ComboBoxEditor) event.getNewValue()).ifPresent(editor -> editor.getEditorComponent().addKeyListener(filterListener));
+            });
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void handleSelection() {
+        Object item = model.getSelectedItem();
+        if (Objects.equals(item, getValue())) {
+            return;
+        }
+        if (item != null && model.indexOf(item) < 0) {
+            // free text typed into the editor, use the first match
+            E match = null;
+            for (int i = 0; i < model.getSize() && match == null; i++) {
+                match = model.getElementAt(i);
+            }
+            log.debug("{}: Replacing typed text '{}' with first match '{}'", getName(), item, match);
+            if (match == null) {
+                selectValue(getValue());
+                return;
+            }
+            item = match;
+        }
+
+        try {
+            setValue((E) item);
+        } finally {
+            if (model instanceof FilteringListModel) {
+                SwingUtilities.invokeLater(() -> ((FilteringListModel<E>) model).setFilter(null));
+            }
+        }
+    }
+
+    /**
+     * @return The model with the shown items
+     */
+    @NotNull
+    public AbstractWListModel<E> getListModel() {
+        return model;
     }
 
     public void addElement(@NotNull @NonNull E element) {
-        model.addElement(element);
+        getMutableModel().addElement(element);
     }
 
     public void setElements(@NotNull @NonNull E[] elements) {
@@ -59,24 +156,82 @@ public class WComboBox<E> extends AbstractWComponent<E, JComboBox<E>> implements
     }
 
     public void setElements(@NotNull @NonNull List<E> items) {
-        removeAllElements();
-        items.stream().sequential().filter(Objects::nonNull).forEach(model::addElement);
+        getMutableModel().setElements(items);
     }
 
     @Override
     public void setValue(@Nullable E value) throws ChangeVetoException {
         super.setValue(value);
-        getComponent().setSelectedItem(value);
+        selectValue(value);
     }
 
     public void removeAllElements() {
-        model.removeAllElements();
+        getMutableModel().removeAllElements();
+    }
+
+    public void addAll(@NotNull @NonNull Collection<? extends E> elements) {
+        getMutableModel().addAll(elements);
+    }
+
+    public void removeAll(@NotNull @NonNull Collection<?> elements) {
+        getMutableModel().removeAll(elements);
+    }
+
+    public void retainAll(@NotNull @NonNull Collection<?> elements) {
+        getMutableModel().retainAll(elements);
+    }
+
+    public void replaceRange(int fromIndex, int toIndex, @NotNull @NonNull Collection<? extends E> elements) {
+        getMutableModel().replaceRange(fromIndex, toIndex, elements);
+    }
+
+    /**
+     * Modify the elements by the given action, publishing only one event afterwards.
+     *
+     * @param action The modifications to do
+     * @see ListBackedModel#batchUpdate(Consumer)
+     */
+    public void batchUpdate(@NotNull @NonNull Consumer<? super MutableList<E>> action) {
+        getMutableModel().batchUpdate(action);
     }
 
     @Override
     protected void currentValueChanging(@Nullable E newVal) throws ChangeVetoException {
         log.debug("{}: Got value changing event to '{}'", getName(), newVal);
-        getComponent().setSelectedItem(newVal);
+        selectValue(newVal);
+    }
+
+    /**
+     * Select the given value in the model, without the linear search of
+     * {@link JComboBox#setSelectedItem(Object)}. Values not contained in the
+     * model are selected and displayed nevertheless, without a selected index.
+     *
+     * @param value The value to select
+     */
+    private void selectValue(@Nullable E value) {
+        if (value != null && model.indexOf(value) < 0) {
+            // still show the value, so the combobox does not contradict getValue()
+            log.debug("{}: Value {} is not part of the model", getName(), value);
+        }
+
+        boolean oldFlag = ignoreListener.compareAndSet(false, true);
+        model.setSelectedItem(value);
+        if (oldFlag) {
+            ignoreListener.set(false);
+        }
+    }
+
+    /**
+     * @return The model, if it may be modified
+     * @throws UnsupportedOperationException If the model is not modifiable
+     */
+    @NotNull
+    private ListBackedModel<E> getMutableModel() throws UnsupportedOperationException {
+        AbstractWListModel<E> target = model instanceof FilteringListModel ? ((FilteringListModel<E>) model).getSource() : model;
+        if (!(target instanceof ListBackedModel)) {
+            throw new UnsupportedOperationException("The model " + target.getClass() + " is not modifiable");
+        }
+        return (ListBackedModel<E>) target;
     }
 
     @Override
@@ -90,23 +245,126 @@ public class WComboBox<E> extends AbstractWComponent<E, JComboBox<E>> implements
     }
 
     public void removeElement(@NotNull @NonNull E element) {
-        model.removeElement(element);
+        getMutableModel().removeElement(element);
     }
 
     @Override
     public boolean isNullable() {
-        return nullable;
+        return model.isNullable();
     }
 
     @Override
     public void setNullable(boolean flag) {
         log.debug("{}: Setting nullable to {}", getName(), flag);
-        if (flag != nullable) {
-            model.removeElement(null);
-            if (flag) {
-                model.insertElementAt(null, 0);
+        model.setNullable(flag);
+    }
+
+    /**
+     * Filters the items by the text in the editor, as it is typed.
+     */
+    private final class FilterKeyListener extends KeyAdapter {
+        @NotNull
+        private final FilteringListModel<E> filteringModel;
+
+        private FilterKeyListener(@NotNull @NonNull FilteringListModel<E> filteringModel) {
+            this.filteringModel = filteringModel;
+        }
+
+        @Override
+        public void keyReleased(@NotNull @NonNull KeyEvent event) {
+            Component editor = event.getComponent();
+            if (!(editor instanceof JTextComponent)) {
+                return;
+            }
+
+            String oldFilter = filteringModel.getFilter();
+            filteringModel.setFilter(((JTextComponent) editor).getText());
+            if (!Objects.equals(oldFilter, filteringModel.getFilter()) && getComponent().isShowing()) {
+                log.debug("{}: Filtered items by '{}'", getName(), filteringModel.getFilter());
+                // let the popup adapt its size to the new items
+                getComponent().hidePopup();
+                getComponent().showPopup();
+            }
+        }
+    }
+
+    /**
+     * Uses the index lookup of the model, instead of comparing all items
+     * with the selected one. The index is looked up once after the selection
+     * or the items around it changed, as the look and feel asks for it on every
+     * repaint. The prototype item of the model is used to size the combobox
+     * and its popup, so not all items have to be measured.
+     */
+    private static class ModelComboBox<E> extends JComboBox<E> {
+        /**
+         * the index of the selected item, if {@link #selectedIndexValid}
+         */
+        private int selectedIndex;
+
+        /**
+         * false, if the selected index has to be looked up again
+         */
+        private boolean selectedIndexValid;
+
+        private ModelComboBox(@NotNull @NonNull AbstractWListModel<E> model) {
+            super(model);
+        }
+
+        @Override
+        public int getSelectedIndex() {
+            if (!(dataModel instanceof AbstractWListModel)) {
+                return super.getSelectedIndex();
+            }
+            if (!selectedIndexValid) {
+                Object selected = dataModel.getSelectedItem();
+                // like JComboBox, a null selection is no selection, even if the virtual null entry is shown
+                selectedIndex = selected == null ? -1 : ((AbstractWListModel<?>) dataModel).indexOf(selected);
+                selectedIndexValid = true;
+            }
+            return selectedIndex;
+        }
+
+        @Override
+        public void setModel(@NotNull @NonNull ComboBoxModel<E> model) {
+            selectedIndexValid = false;
+            super.setModel(model);
+        }
+
+        @Override
+        public void contentsChanged(@NotNull @NonNull ListDataEvent event) {
+            // index -1 is a changed selection, changes of other items keep a found index
+            if (event.getIndex0() < 0 || selectedIndex < 0 || (selectedIndex >= event.getIndex0() && selectedIndex <= event.getIndex1())) {
+                selectedIndexValid = false;
+            }
+            super.contentsChanged(event);
+        }
+
+        @Override
+        public void intervalAdded(@NotNull @NonNull ListDataEvent event) {
+            selectedIndexValid = false;
+            super.intervalAdded(event);
+        }
+
+        @Override
+        public void intervalRemoved(@NotNull @NonNull ListDataEvent event) {
+            selectedIndexValid = false;
+            super.intervalRemoved(event);
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public void updateUI() {
+            super.updateUI();
+            if (dataModel instanceof AbstractWListModel) {
+                Object prototype = ((AbstractWListModel<?>) dataModel).getPrototypeItem();
+                if (prototype != null) {
+                    setPrototypeDisplayValue((E) prototype);
+                    Accessible popup = getUI().getAccessibleChild(this, 0);
+                    if (popup instanceof ComboPopup) {
+                        ((ComboPopup) popup).getList().setPrototypeCellValue(prototype);
+                    }
+                }
             }
-            nullable = flag;
         }
     }
 }
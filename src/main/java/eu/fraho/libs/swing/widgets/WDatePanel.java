@@ -19,8 +19,6 @@ import java.awt.event.MouseAdapter;
 import java.awt.event.MouseEvent;
 import java.time.LocalDate;
 import java.time.Period;
-import java.time.format.DateTimeFormatter;
-import java.time.format.FormatStyle;
 import java.time.format.TextStyle;
 import java.util.Collections;
 import java.util.Locale;
@@ -230,6 +228,6 @@ public class WDatePanel extends AbstractWPickerPanel<LocalDate> {
     @NotNull
     @Override
     protected String getNow() {
-        return LocalDate.now().format(DateTimeFormatter.ofLocalizedDate(FormatStyle.MEDIUM));
+        return ClockFormat.DATE.formatNow();
     }
 }
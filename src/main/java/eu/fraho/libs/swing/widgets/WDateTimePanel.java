@@ -16,9 +16,6 @@ import java.awt.event.MouseEvent;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
-import java.time.format.DateTimeFormatter;
-import java.time.format.FormatStyle;
-import java.util.Locale;
 import java.util.Optional;
 
 @SuppressWarnings("unused")
@@ -32,7 +29,6 @@ public class WDateTimePanel extends AbstractWPickerPanel<LocalDateTime> {
     @NotNull
     private final WTimePanel pnlTime;
 
-    private final DateTimeFormatter dtf = DateTimeFormatter.ofLocalizedDateTime(FormatStyle.MEDIUM).withLocale(Locale.getDefault());
     private boolean massUpdateRunning = false;
 
     public WDateTimePanel() {
@@ -163,7 +159,7 @@ public class WDateTimePanel extends AbstractWPickerPanel<LocalDateTime> {
     @NotNull
     @Override
     protected String getNow() {
-        return dtf.format(LocalDateTime.now());
+        return ClockFormat.DATE_TIME.formatNow();
     }
 
     private void timeChanged(@NotNull @NonNull DataChangedEvent event) {
@@ -3,18 +3,27 @@ package eu.fraho.libs.swing.widgets;
 import eu.fraho.libs.swing.exceptions.ChangeVetoException;
 import eu.fraho.libs.swing.widgets.base.AbstractWComponent;
 import eu.fraho.libs.swing.widgets.base.WNullable;
+import eu.fraho.libs.swing.widgets.form.FormField;
+import eu.fraho.libs.swing.widgets.list.AbstractWListModel;
+import eu.fraho.libs.swing.widgets.list.DataProvider;
+import eu.fraho.libs.swing.widgets.list.ListBackedModel;
+import eu.fraho.libs.swing.widgets.list.MutableList;
+import eu.fraho.libs.swing.widgets.list.PagedListModel;
 import lombok.NonNull;
 import lombok.extern.slf4j.Slf4j;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import javax.swing.*;
+import javax.swing.event.ListDataEvent;
+import javax.swing.event.ListDataListener;
 import javax.swing.event.ListSelectionEvent;
 import javax.swing.event.ListSelectionListener;
 import java.awt.*;
 import java.util.*;
 import java.util.List;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
 
 @Slf4j
 @SuppressWarnings("unused")
@@ -24,15 +33,21 @@ public class WList<E> extends AbstractWComponent<E, JScrollPane> implements WNul
     @NotNull
     private final JList<E> list;
     @NotNull
-    private final List<E> items;
-    private boolean nullable = false;
+    private final AbstractWListModel<E> model;
+    @NotNull
+    private final MyListCellRenderer renderer = new MyListCellRenderer();
+
+    /**
+     * the selected index whose item was still loading, -1 if none
+     */
+    private int unloadedSelection = -1;
 
     public WList(@NotNull @NonNull E[] items) {
         this(items, null);
     }
 
     public WList(@NotNull @NonNull E[] items, @Nullable E value) {
-        this(Arrays.asList(items), value);
+        this(ListBackedModel.copyOf(Arrays.asList(items)), value);
     }
 
     public WList(@NotNull @NonNull Collection<E> items) {
@@ -40,18 +55,47 @@ public class WList<E> extends AbstractWComponent<E, JScrollPane> implements WNul
     }
 
     public WList(@NotNull @NonNull Collection<E> items, @Nullable E value) {
-        this(new ArrayList<>(items), value);
+        this(ListBackedModel.copyOf(items), value);
     }
 
     public WList(@NotNull @NonNull List<E> items) {
         this(items, null);
     }
 
-    @SuppressWarnings("unchecked")
+    /**
+     * Create a new list showing a copy of the given items. Null values are skipped.
+     * To show a list which is modified later on, pass a {@link ListBackedModel} instead.
+     *
+     * @param items The items to show
+     * @param currentValue The selected value
+     */
     public WList(@NotNull @NonNull List<E> items, @Nullable E currentValue) {
-        super(new JScrollPane(new JList<>(new DefaultListModel<>())), currentValue);
+        this(ListBackedModel.copyOf(items), currentValue);
+    }
+
+    public WList(@NotNull @NonNull DataProvider<E> provider) {
+        this(provider, null);
+    }
+
+    public WList(@NotNull @NonNull DataProvider<E> provider, @Nullable E currentValue) {
+        this(new PagedListModel<>(provider), currentValue);
+    }
+
+    public WList(@NotNull @NonNull AbstractWListModel<E> model) {
+        this(model, null);
+    }
 
-        this.items = items;
+    /**
+     * Create a new list showing the items of the given model.
+     *
+     * @param model        The model with the items
+     * @param currentValue The selected value
+     */
+    @SuppressWarnings("unchecked")
+    public WList(@NotNull @NonNull AbstractWListModel<E> model, @Nullable E currentValue) {
+        super(new JScrollPane(new JList<>(model)), currentValue);
+
+        this.model = model;
         this.list = (JList<E>) getComponent().getViewport().getView();
         ListSelectionListener listListener = event -> {
             if (ignoreListener.get()) {
@@ -66,9 +110,11 @@ public class WList<E> extends AbstractWComponent<E, JScrollPane> implements WNul
             }
         };
         list.addListSelectionListener(listListener);
-        list.setCellRenderer(new MyListCellRenderer());
+        list.setCellRenderer(renderer);
+        model.addListDataListener(new ModelListener());
+        Optional.ofNullable(model.getPrototypeItem()).ifPresent(list::setPrototypeCellValue);
 
-        rebuild();
+        selectValue(currentValue);
         removeAll();
         setLayout(new BorderLayout());
         add(getComponent());
@@ -77,10 +123,71 @@ public class WList<E> extends AbstractWComponent<E, JScrollPane> implements WNul
     @Override
     protected void currentValueChanging(@Nullable E newVal) throws ChangeVetoException {
         log.debug("{}: Got value changing event to '{}'", getName(), newVal);
-        if (newVal == null && list.getModel().getSize() > 0 && list.getModel().getElementAt(0) == null) {
-            list.setSelectedIndex(0);
-        } else {
-            list.setSelectedValue(newVal, true);
+        selectValue(newVal);
+    }
+
+    /**
+     * Use the given width for all cells, instead of measuring each item.
+     *
+     * @param width The width of the cells, -1 to measure the items
+     */
+    public void setFixedCellWidth(int width) {
+        log.debug("{}: Setting fixed cell width to {}", getName(), width);
+        list.setFixedCellWidth(width);
+    }
+
+    public int getFixedCellWidth() {
+        return list.getFixedCellWidth();
+    }
+
+    /**
+     * Use the given height for all cells, instead of measuring each item.
+     *
+     * @param height The height of the cells, -1 to measure the items
+     */
+    public void setFixedCellHeight(int height) {
+        log.debug("{}: Setting fixed cell height to {}", getName(), height);
+        list.setFixedCellHeight(height);
+    }
+
+    public int getFixedCellHeight() {
+        return list.getFixedCellHeight();
+    }
+
+    /**
+     * Size all cells like the given value, instead of measuring each item.
+     *
+     * @param value The prototype value
+     * @see JList#setPrototypeCellValue(Object)
+     */
+    public void setPrototypeCellValue(@NotNull @NonNull E value) {
+        log.debug("{}: Setting prototype cell value to {}", getName(), value);
+        list.setPrototypeCellValue(value);
+    }
+
+    /**
+     * Size all cells like an item showing the given text, instead of measuring each item.
+     *
+     * @param text The text of the prototype cell, an empty text is measured like the null entry
+     */
+    public void setPrototypeCellText(@NotNull @NonNull String text) {
+        log.debug("{}: Setting prototype cell text to '{}'", getName(), text);
+        Dimension size = renderer.getListCellRendererComponent(list, text.isEmpty() ? null : text, 0, false, false).getPreferredSize();
+        list.setFixedCellWidth(size.width);
+        list.setFixedCellHeight(size.height);
+    }
+
+    @Override
+    public void setupByAnnotation(@NotNull @NonNull FormField anno) {
+        super.setupByAnnotation(anno);
+        if (!anno.prototypeCellValue().isEmpty()) {
+            setPrototypeCellText(anno.prototypeCellValue());
+        }
+        if (anno.cellWidth() > 0) {
+            setFixedCellWidth(anno.cellWidth());
+        }
+        if (anno.cellHeight() > 0) {
+            setFixedCellHeight(anno.cellHeight());
         }
     }
 
@@ -89,12 +196,37 @@ public class WList<E> extends AbstractWComponent<E, JScrollPane> implements WNul
         return list.getSelectionModel();
     }
 
+    /**
+     * @return The model with the shown items
+     */
+    @NotNull
+    public AbstractWListModel<E> getListModel() {
+        return model;
+    }
+
     private void handleSelection(@NotNull @NonNull ListSelectionEvent event) {
         if (!event.getValueIsAdjusting()) {
-            setValue(list.getSelectedValue());
+            selectRow(list.getSelectedIndex());
         }
     }
 
+    /**
+     * Take the item at the given row as value. If the item is still loading, the value
+     * is kept until the item has arrived.
+     *
+     * @param index The selected row, -1 if none
+     */
+    private void selectRow(int index) {
+        unloadedSelection = -1;
+        E value = index < 0 ? null : model.getElementAt(index);
+        if (value == null && index >= 0 && !model.isLoaded(index)) {
+            log.debug("{}: Item at index {} is still loading, keeping the value", getName(), index);
+            unloadedSelection = index;
+            return;
+        }
+        setValue(value);
+    }
+
     @Override
     public boolean isReadonly() {
         return !list.isEnabled();
@@ -106,33 +238,46 @@ public class WList<E> extends AbstractWComponent<E, JScrollPane> implements WNul
         list.setEnabled(!readonly);
     }
 
-    private void rebuild() {
-        rebuild(getValue());
-    }
-
-    private void rebuild(@Nullable E newVal) {
-        log.debug("{}: Rebuilding for new value {}", getName(), newVal);
-        DefaultListModel<E> model = (DefaultListModel<E>) list.getModel();
+    private void selectValue(@Nullable E newVal) {
+        unloadedSelection = -1;
+        int index = model.indexOf(newVal);
+        log.debug("{}: Selecting value {} at index {}", getName(), newVal, index);
 
-        // rebuild list
         boolean oldFlag = ignoreListener.compareAndSet(false, true);
-        model.removeAllElements();
-        items.stream().sequential().forEach(model::addElement);
-
-        if (newVal == null && list.getModel().getSize() > 0 && list.getModel().getElementAt(0) == null) {
-            list.setSelectedIndex(0);
+        if (index < 0) {
+            list.clearSelection();
         } else {
-            list.setSelectedValue(newVal, true);
+            list.setSelectedIndex(index);
+            list.ensureIndexIsVisible(index);
         }
         if (oldFlag) {
             ignoreListener.set(false);
         }
     }
 
+    /**
+     * Modify the model without reacting on the resulting selection events.
+     *
+     * @param action The modification to run
+     */
+    private void modifyModel(@NotNull @NonNull Consumer<ListBackedModel<E>> action) {
+        if (!(model instanceof ListBackedModel)) {
+            throw new UnsupportedOperationException("The model " + model.getClass() + " is not modifiable");
+        }
+
+        boolean oldFlag = ignoreListener.compareAndSet(false, true);
+        try {
+            action.accept((ListBackedModel<E>) model);
+        } finally {
+            if (oldFlag) {
+                ignoreListener.set(false);
+            }
+        }
+    }
+
     public void setElements(@NotNull @NonNull List<E> elements) {
-        this.items.clear();
-        elements.stream().filter(Objects::nonNull).forEach(items::add);
-        rebuild();
+        modifyModel(m -> m.setElements(elements));
+        selectValue(getValue());
     }
 
     public void setElements(@NotNull @NonNull E[] elements) {
@@ -140,35 +285,93 @@ public class WList<E> extends AbstractWComponent<E, JScrollPane> implements WNul
     }
 
     public void addElement(@NotNull @NonNull E element) {
-        this.items.add(element);
-        rebuild();
+        modifyModel(m -> m.addElement(element));
     }
 
     public void removeElement(@NotNull @NonNull E element) {
-        this.items.remove(element);
-        rebuild();
+        modifyModel(m -> m.removeElement(element));
     }
 
     public void removeAllElements() {
-        this.items.clear();
-        rebuild();
+        modifyModel(ListBackedModel::removeAllElements);
+    }
+
+    public void addAll(@NotNull @NonNull Collection<? extends E> elements) {
+        batchUpdate(list -> list.addAll(elements));
+    }
+
+    public void removeAll(@NotNull @NonNull Collection<?> elements) {
+        batchUpdate(list -> list.removeAll(elements));
+    }
+
+    public void retainAll(@NotNull @NonNull Collection<?> elements) {
+        batchUpdate(list -> list.retainAll(elements));
+    }
+
+    public void replaceRange(int fromIndex, int toIndex, @NotNull @NonNull Collection<? extends E> elements) {
+        batchUpdate(list -> list.replaceRange(fromIndex, toIndex, elements));
+    }
+
+    /**
+     * Modify the elements by the given action, publishing only one event afterwards.
+     *
+     * @param action The modifications to do
+     * @see ListBackedModel#batchUpdate(Consumer)
+     */
+    public void batchUpdate(@NotNull @NonNull Consumer<? super MutableList<E>> action) {
+        modifyModel(m -> m.batchUpdate(action));
+        selectValue(getValue());
     }
 
     @Override
     public boolean isNullable() {
-        return nullable;
+        return model.isNullable();
     }
 
     @Override
     public void setNullable(boolean flag) {
         log.debug("{}: Setting nullable to {}", getName(), flag);
-        if (flag != nullable) {
-            items.remove(null);
-            if (flag) {
-                items.add(0, null);
+        if (flag != model.isNullable()) {
+            boolean oldFlag = ignoreListener.compareAndSet(false, true);
+            model.setNullable(flag);
+            if (oldFlag) {
+                ignoreListener.set(false);
+            }
+            selectValue(getValue());
+        }
+    }
+
+    /**
+     * Takes the item of a row selected while loading as value, once it has arrived.
+     */
+    private final class ModelListener implements ListDataListener {
+        @Override
+        public void intervalAdded(@NotNull @NonNull ListDataEvent event) {
+            // the selection model moves the selection and publishes it again
+            unloadedSelection = -1;
+        }
+
+        @Override
+        public void intervalRemoved(@NotNull @NonNull ListDataEvent event) {
+            unloadedSelection = -1;
+        }
+
+        @Override
+        public void contentsChanged(@NotNull @NonNull ListDataEvent event) {
+            int index = unloadedSelection;
+            if (index < 0 || index < event.getIndex0() || index > event.getIndex1()) {
+                return;
+            }
+            if (list.getSelectedIndex() != index) {
+                unloadedSelection = -1;
+                return;
+            }
+            log.debug("{}: Item at selected index {} has been loaded", getName(), index);
+            try {
+                selectRow(index);
+            } catch (ChangeVetoException cve) {
+                log.debug(cve.getLocalizedMessage(), cve);
             }
-            rebuild();
-            nullable = flag;
         }
     }
 
@@ -0,0 +1,238 @@
+package eu.fraho.libs.swing.widgets;
+
+import eu.fraho.libs.swing.exceptions.ChangeVetoException;
+import eu.fraho.libs.swing.widgets.base.AbstractWComponent;
+import eu.fraho.libs.swing.widgets.list.AbstractWListModel;
+import eu.fraho.libs.swing.widgets.list.ListBackedModel;
+import eu.fraho.libs.swing.widgets.list.SelectionSet;
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import javax.swing.*;
+import javax.swing.event.ListDataEvent;
+import javax.swing.event.ListDataListener;
+import javax.swing.event.ListSelectionEvent;
+import java.awt.*;
+import java.util.*;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * A list allowing to select multiple items.<br>
+ * The value is a {@link SelectionSet}, which stores the selection as a {@link BitSet}
+ * of indices. So comparing and rolling back the selection does not depend on the number
+ * of selected items. Selection changes of the user are read from the changed range of
+ * the {@link ListSelectionModel} only.<br>
+ * The committed selection is a {@link SelectionSet#snapshot()} of the selected items.
+ * When the contents of the model change, these items are selected again at their new
+ * indices. A selection which was not committed yet keeps its indices.
+ *
+ * @param <E> Type of the items
+ * @author Simon Frankenberger
+ */
+@Slf4j
+@SuppressWarnings("unused")
+public class WMultiList<E> extends AbstractWComponent<Set<E>, JScrollPane> {
+    private final AtomicBoolean ignoreListener = new AtomicBoolean(false);
+    @NotNull
+    private final JList<E> list;
+    @NotNull
+    private final AbstractWListModel<E> model;
+    /**
+     * the selected indices of the list, updated by the selection events
+     */
+    @NotNull
+    private final BitSet selection = new BitSet();
+
+    public WMultiList(@NotNull @NonNull E[] items) {
+        this(items, null);
+    }
+
+    public WMultiList(@NotNull @NonNull E[] items, @Nullable Set<E> value) {
+        this(ListBackedModel.copyOf(Arrays.asList(items)), value);
+    }
+
+    public WMultiList(@NotNull @NonNull Collection<E> items) {
+        this(items, null);
+    }
+
+    public WMultiList(@NotNull @NonNull Collection<E> items, @Nullable Set<E> value) {
+        this(ListBackedModel.copyOf(items), value);
+    }
+
+    public WMultiList(@NotNull @NonNull List<E> items) {
+        this(items, null);
+    }
+
+    /**
+     * Create a new list showing a copy of the given items. Null values are skipped.
+     * To show a list which is modified later on, pass a {@link ListBackedModel} instead.
+     *
+     * @param items The items to show
+     * @param value The selected values
+     */
+    public WMultiList(@NotNull @NonNull List<E> items, @Nullable Set<E> value) {
+        this(ListBackedModel.copyOf(items), value);
+    }
+
+    /**
+     * Create a new list showing the items of the given model.
+     *
+     * @param model The model with the items
+     * @param value The selected items, null for none
+     */
+    @SuppressWarnings("unchecked")
+    public WMultiList(@NotNull @NonNull AbstractWListModel<E> model, @Nullable Set<E> value) {
+        super(new JScrollPane(new JList<>(model)), SelectionSet.of(model, value));
+
+        this.model = model;
+        this.list = (JList<E>) getComponent().getViewport().getView();
+        list.setSelectionMode(ListSelectionModel.MULTIPLE_INTERVAL_SELECTION);
+        list.addListSelectionListener(event -> {
+            if (ignoreListener.get()) {
+                log.debug("{}: Ignoring list selection event {}", getName(), event);
+                return;
+            }
+            log.debug("{}: Got list selection event {}", getName(), event);
+            try {
+                handleSelection(event);
+            } catch (ChangeVetoException cve) {
+                log.debug(cve.getLocalizedMessage(), cve);
+            }
+        });
+        // registered after the list ui, so this listener is called first
+        model.addListDataListener(new ModelListener());
+        Optional.ofNullable(model.getPrototypeItem()).ifPresent(list::setPrototypeCellValue);
+
+        remapValues(selected -> ((SelectionSet<E>) selected).snapshot());
+        selectIndices(((SelectionSet<E>) Objects.requireNonNull(getValue())).getIndices());
+        removeAll();
+        setLayout(new BorderLayout());
+        add(getComponent());
+    }
+
+    @NotNull
+    public ListSelectionModel getListSelectionModel() {
+        return list.getSelectionModel();
+    }
+
+    /**
+     * @return The model with the shown items
+     */
+    @NotNull
+    public AbstractWListModel<E> getListModel() {
+        return model;
+    }
+
+    /**
+     * @return Never null, an empty set if nothing is selected
+     */
+    @Override
+    @NotNull
+    public Set<E> getValue() {
+        return Objects.requireNonNull(super.getValue());
+    }
+
+    /**
+     * Select the given items. Items not contained in the list are skipped.
+     *
+     * @param value The items to select, null to select nothing
+     * @param force Ignore eventually raised {@link ChangeVetoException}s?
+     * @throws ChangeVetoException If the new value is invalid.
+     */
+    @Override
+    protected void setValue(@Nullable Set<E> value, boolean force) throws ChangeVetoException {
+        super.setValue(SelectionSet.of(model, value), force);
+    }
+
+    @Override
+    protected void currentValueChanging(@Nullable Set<E> newVal) throws ChangeVetoException {
+        log.debug("{}: Got value changing event", getName());
+        selectIndices(SelectionSet.of(model, newVal).getIndices());
+    }
+
+    private void handleSelection(@NotNull @NonNull ListSelectionEvent event) {
+        ListSelectionModel selectionModel = list.getSelectionModel();
+        int last = Math.min(event.getLastIndex(), model.getSize() - 1);
+        for (int i = event.getFirstIndex(); i <= last; i++) {
+            selection.set(i, selectionModel.isSelectedIndex(i));
+        }
+        if (!event.getValueIsAdjusting()) {
+            setValue(new SelectionSet<>(model, selection));
+        }
+    }
+
+    private void selectIndices(@NotNull @NonNull BitSet indices) {
+        log.debug("{}: Selecting {} items", getName(), indices.cardinality());
+        ListSelectionModel selectionModel = list.getSelectionModel();
+        boolean oldFlag = ignoreListener.compareAndSet(false, true);
+        try {
+            selectionModel.setValueIsAdjusting(true);
+            selectionModel.clearSelection();
+            for (int start = indices.nextSetBit(0); start >= 0; start = indices.nextSetBit(start)) {
+                int end = indices.nextClearBit(start);
+                selectionModel.addSelectionInterval(start, end - 1);
+                start = end;
+            }
+            selectionModel.setValueIsAdjusting(false);
+        } finally {
+            if (oldFlag) {
+                ignoreListener.set(false);
+            }
+        }
+        selection.clear();
+        selection.or(indices);
+    }
+
+    @Override
+    protected void valueCommitted() throws ChangeVetoException {
+        super.valueCommitted();
+        remapValues(selected -> ((SelectionSet<E>) selected).snapshot());
+    }
+
+    @Override
+    public boolean isReadonly() {
+        return !list.isEnabled();
+    }
+
+    @Override
+    public void setReadonly(boolean readonly) {
+        log.debug("{}: Setting readonly to {}", getName(), readonly);
+        list.setEnabled(!readonly);
+    }
+
+    /**
+     * Moves the selected indices, when items are inserted or removed, and selects
+     * the committed items again, when the contents change.
+     */
+    private final class ModelListener implements ListDataListener {
+        @Override
+        public void intervalAdded(@NotNull @NonNull ListDataEvent event) {
+            int count = event.getIndex1() - event.getIndex0() + 1;
+            remapValues(value -> ((SelectionSet<E>) value).inserted(event.getIndex0(), count));
+            selection.clear();
+            selection.or(((SelectionSet<E>) getValue()).getIndices());
+        }
+
+        @Override
+        public void intervalRemoved(@NotNull @NonNull ListDataEvent event) {
+            int count = event.getIndex1() - event.getIndex0() + 1;
+            remapValues(value -> ((SelectionSet<E>) value).removed(event.getIndex0(), count));
+            selection.clear();
+            selection.or(((SelectionSet<E>) getValue()).getIndices());
+        }
+
+        @Override
+        public void contentsChanged(@NotNull @NonNull ListDataEvent event) {
+            int from = Math.max(Math.min(event.getIndex0(), event.getIndex1()), 0);
+            int to = Math.max(event.getIndex0(), event.getIndex1());
+            remapValues(value -> ((SelectionSet<E>) value).changed(from, to));
+            BitSet indices = ((SelectionSet<E>) getValue()).getIndices();
+            if (!indices.equals(selection)) {
+                selectIndices(indices);
+            }
+        }
+    }
+}
@@ -0,0 +1,259 @@
+package eu.fraho.libs.swing.widgets;
+
+import eu.fraho.libs.swing.exceptions.ChangeVetoException;
+import eu.fraho.libs.swing.widgets.base.AbstractWComponent;
+import eu.fraho.libs.swing.widgets.events.DataChangedEvent.ChangeType;
+import eu.fraho.libs.swing.widgets.events.TableEditEvent;
+import eu.fraho.libs.swing.widgets.table.ColumnarCellRenderer;
+import eu.fraho.libs.swing.widgets.table.ColumnarTableModel;
+import eu.fraho.libs.swing.widgets.table.TableCell;
+import eu.fraho.libs.swing.widgets.table.TableColumn;
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import javax.swing.*;
+import javax.swing.border.LineBorder;
+import javax.swing.table.TableCellRenderer;
+import java.awt.*;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.time.format.FormatStyle;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A table showing a list of rows, one {@link TableColumn} per property.<br>
+ * The values are stored column by column in primitive arrays where possible, see
+ * {@link ColumnarTableModel}. The value of this component is the list of rows. Edits
+ * of the user are kept in the columns until they are committed, then only the edited
+ * cells are written into the row objects. Rolling back the edits restores only the
+ * edited cells.<br>
+ * Each edit raises a {@link TableEditEvent} with {@link ChangeType#CHANGED}, committing
+ * and rolling back the edits raise one event with all affected cells. The old and new
+ * values of these events are maps of the affected cells, not lists of rows.<br>
+ * The {@link eu.fraho.libs.swing.widgets.events.ValueChangeListener typed listeners} are
+ * notified only when the list of rows is replaced and when such a replacement is
+ * committed or rolled back, as edits do not change the list of rows. Use a {@link eu.fraho.libs.swing.widgets.events.DataChangedListener}
+ * to be notified about edited cells.
+ *
+ * @param <R> Type of the rows
+ * @author Simon Frankenberger
+ */
+@Slf4j
+@SuppressWarnings("unused")
+public class WTable<R> extends AbstractWComponent<List<R>, JScrollPane> {
+    @NotNull
+    private final ColumnarTable table;
+    @NotNull
+    private final ColumnarTableModel<R> model;
+    /**
+     * the original values of the cells committed last, to undo a {@link #markCommitted()}
+     */
+    @Nullable
+    private Map<TableCell, Object> committedEdits = null;
+
+    public WTable(@NotNull @NonNull List<? extends TableColumn<R>> columns) {
+        this(columns, null);
+    }
+
+    /**
+     * Create a new table with the given columns and rows.
+     *
+     * @param columns The columns to show
+     * @param rows    The rows to show, null for none
+     */
+    @SuppressWarnings("unchecked")
+    public WTable(@NotNull @NonNull List<? extends TableColumn<R>> columns, @Nullable List<R> rows) {
+        super(new JScrollPane(new ColumnarTable(new ColumnarTableModel<>(columns))), rows);
+
+        table = (ColumnarTable) getComponent().getViewport().getView();
+        model = (ColumnarTableModel<R>) table.getModel();
+        model.setRows(rows == null ? Collections.emptyList() : rows);
+        model.setEditListener(this::cellEdited);
+        table.setDefaultEditor(LocalDate.class, new DateCellEditor());
+        table.setFillsViewportHeight(true);
+
+        removeAll();
+        setLayout(new BorderLayout());
+        add(getComponent());
+    }
+
+    /**
+     * @return The underlying table, e.g. to customize the columns
+     */
+    @NotNull
+    public JTable getTable() {
+        return table;
+    }
+
+    /**
+     * @return The model with the shown rows and pending edits
+     */
+    @NotNull
+    public ColumnarTableModel<R> getTableModel() {
+        return model;
+    }
+
+    private void cellEdited(int row, int column, @Nullable Object oldValue, @Nullable Object newValue) throws ChangeVetoException {
+        log.debug("{}: Cell {}/{} edited from '{}' to '{}'", getName(), row, column, oldValue, newValue);
+        TableCell cell = new TableCell(row, column);
+        invokeListeners(new TableEditEvent(this, Collections.singletonMap(cell, oldValue),
+                Collections.singletonMap(cell, newValue), ChangeType.CHANGED));
+    }
+
+    @Override
+    protected void currentValueChanging(@Nullable List<R> newVal) throws ChangeVetoException {
+        table.removeEditor();
+        model.setRows(newVal == null ? Collections.emptyList() : newVal);
+    }
+
+    /**
+     * @return Have the rows been replaced or have any cells been edited?
+     */
+    @Override
+    public boolean hasChanged() {
+        return super.hasChanged() || model.hasEdits();
+    }
+
+    @Override
+    protected void valueCommitted() throws ChangeVetoException {
+        committedEdits = null;
+        if (model.hasEdits()) {
+            Map<TableCell, Object> oldValues = model.getOriginalValues();
+            Map<TableCell, Object> newValues = model.getEditedValues();
+            try {
+                model.commit();
+            } catch (ChangeVetoException cve) {
+                throw cve;
+            } catch (RuntimeException re) {
+                log.warn("{}: Unable to commit edited cells: {}", getName(), re.getLocalizedMessage());
+                throw new ChangeVetoException(re);
+            }
+            try {
+                invokeListeners(new TableEditEvent(this, oldValues, newValues, ChangeType.COMMIT));
+            } catch (ChangeVetoException cve) {
+                model.restoreEdits(oldValues);
+                throw cve;
+            }
+            committedEdits = oldValues;
+        }
+        super.valueCommitted();
+    }
+
+    @Override
+    protected void valueCommitReverted() {
+        if (committedEdits != null) {
+            model.restoreEdits(committedEdits);
+            committedEdits = null;
+        }
+        super.valueCommitReverted();
+    }
+
+    @Override
+    protected void rollbackChanges(boolean force) throws ChangeVetoException {
+        table.removeEditor();
+        // replaced rows are reloaded completely, which discards the edits as well
+        if (super.hasChanged() || !model.hasEdits()) {
+            super.rollbackChanges(force);
+            return;
+        }
+
+        log.debug("{}: Rolling back {} edited cells", getName(), model.getEditCount());
+        Map<TableCell, Object> oldValues = model.getEditedValues();
+        Map<TableCell, Object> newValues = model.getOriginalValues();
+        model.rollback();
+        valueRolledBack();
+        invokeListeners(new TableEditEvent(this, oldValues, newValues, ChangeType.ROLLBACK));
+    }
+
+    @Override
+    public boolean isReadonly() {
+        return table.readonly;
+    }
+
+    @Override
+    public void setReadonly(boolean readonly) {
+        log.debug("{}: Setting readonly to {}", getName(), readonly);
+        if (readonly) {
+            table.removeEditor();
+        }
+        table.readonly = readonly;
+    }
+
+    /**
+     * A table rendering the cells of a {@link ColumnarTableModel} without boxing the values.
+     */
+    private static class ColumnarTable extends JTable {
+        @NotNull
+        private final ColumnarCellRenderer renderer = new ColumnarCellRenderer();
+        private boolean readonly = false;
+
+        private ColumnarTable(@NotNull @NonNull ColumnarTableModel<?> model) {
+            super(model);
+        }
+
+        @Override
+        public TableCellRenderer getCellRenderer(int row, int column) {
+            TableCellRenderer custom = getColumnModel().getColumn(column).getCellRenderer();
+            return custom == null ? renderer : custom;
+        }
+
+        @Override
+        public Component prepareRenderer(@NotNull TableCellRenderer cellRenderer, int row, int column) {
+            if (cellRenderer != renderer) {
+                return super.prepareRenderer(cellRenderer, row, column);
+            }
+            boolean isSelected = !isPaintingForPrint() && isCellSelected(row, column);
+            boolean hasFocus = !isPaintingForPrint() && isFocusOwner()
+                    && getSelectionModel().getLeadSelectionIndex() == row
+                    && getColumnModel().getSelectionModel().getLeadSelectionIndex() == column;
+            return renderer.getCellRendererComponent(this, (ColumnarTableModel<?>) getModel(), row, column, isSelected, hasFocus);
+        }
+
+        @Override
+        public boolean isCellEditable(int row, int column) {
+            return !readonly && super.isCellEditable(row, column);
+        }
+    }
+
+    /**
+     * Editor for {@link LocalDate} cells, using the same format as the {@link TableColumn}s.
+     * Invalid input is marked with a red border and not accepted.
+     */
+    private static class DateCellEditor extends DefaultCellEditor {
+        @NotNull
+        private final DateTimeFormatter formatter = DateTimeFormatter.ofLocalizedDate(FormatStyle.MEDIUM);
+
+        private DateCellEditor() {
+            super(new JTextField());
+        }
+
+        @Override
+        public Component getTableCellEditorComponent(JTable table, @Nullable Object value, boolean isSelected, int row, int column) {
+            ((JComponent) getComponent()).setBorder(new LineBorder(Color.black));
+            return super.getTableCellEditorComponent(table, value == null ? "" : formatter.format((LocalDate) value), isSelected, row, column);
+        }
+
+        @Override
+        @Nullable
+        public Object getCellEditorValue() {
+            String text = ((String) super.getCellEditorValue()).trim();
+            return text.isEmpty() ? null : LocalDate.parse(text, formatter);
+        }
+
+        @Override
+        public boolean stopCellEditing() {
+            try {
+                getCellEditorValue();
+            } catch (DateTimeParseException dtpe) {
+                ((JComponent) getComponent()).setBorder(new LineBorder(Color.red));
+                return false;
+            }
+            return super.stopCellEditing();
+        }
+    }
+}
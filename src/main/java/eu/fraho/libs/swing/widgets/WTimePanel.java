@@ -14,9 +14,6 @@ import java.awt.*;
 import java.awt.event.MouseAdapter;
 import java.awt.event.MouseEvent;
 import java.time.LocalTime;
-import java.time.format.DateTimeFormatter;
-import java.time.format.FormatStyle;
-import java.util.Locale;
 
 @SuppressWarnings("unused")
 @Slf4j
@@ -28,7 +25,6 @@ public class WTimePanel extends AbstractWPickerPanel<LocalTime> {
     private final WSpinner<Integer> spnMinute = new WSpinner<>(new SpinnerNumberModel(0, 0, 59, 1));
     private final WSpinner<Integer> spnSecond = new WSpinner<>(new SpinnerNumberModel(0, 0, 59, 1));
 
-    private final DateTimeFormatter dtf = DateTimeFormatter.ofLocalizedTime(FormatStyle.MEDIUM).withLocale(Locale.getDefault());
     private boolean massUpdateRunning = false;
 
     public WTimePanel() {
@@ -165,6 +161,6 @@ public class WTimePanel extends AbstractWPickerPanel<LocalTime> {
     @NotNull
     @Override
     protected String getNow() {
-        return dtf.format(LocalTime.now());
+        return ClockFormat.TIME.formatNow();
     }
 }
@@ -4,8 +4,12 @@ import eu.fraho.libs.swing.exceptions.ChangeVetoException;
 import eu.fraho.libs.swing.exceptions.ModelBindException;
 import eu.fraho.libs.swing.widgets.events.DataChangedEvent;
 import eu.fraho.libs.swing.widgets.events.DataChangedEvent.ChangeType;
+import eu.fraho.libs.swing.widgets.events.NonRetainingListener;
+import eu.fraho.libs.swing.widgets.events.ValueChangeListener;
 import eu.fraho.libs.swing.widgets.form.FormField;
 import eu.fraho.libs.swing.widgets.form.FormModel;
+import eu.fraho.libs.swing.widgets.form.ModelAccessor;
+import eu.fraho.libs.swing.widgets.form.WForm;
 import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.NonNull;
@@ -18,9 +22,10 @@ import java.awt.*;
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
 import java.util.*;
-import java.util.List;
+import java.util.concurrent.Executor;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Consumer;
+import java.util.function.UnaryOperator;
 
 /**
  * Base class for all widgets. Provides the basic functionality (like commit /
@@ -47,7 +52,66 @@ public abstract class AbstractWComponent<E, C extends JComponent> extends JCompo
      * a list with all DataChangedListeners
      */
     @NotNull
-    private final List<Consumer<DataChangedEvent>> eventHandlers;
+    private final ListenerList<Consumer<DataChangedEvent>> eventHandlers = new ListenerList<>();
+
+    /**
+     * a list with all DataChangedListeners, which are called asynchronously
+     */
+    @NotNull
+    private final ListenerList<AsyncListener> asyncEventHandlers = new ListenerList<>();
+
+    /**
+     * a list with all typed ValueChangeListeners
+     */
+    @NotNull
+    private final ListenerList<ValueChangeListener<? super E>> valueListeners = new ListenerList<>();
+
+    /**
+     * the number of registered listeners which are no {@link NonRetainingListener}
+     */
+    @NotNull
+    private final AtomicInteger retainingListeners = new AtomicInteger(0);
+
+    /**
+     * the event reused for value changes, while only {@link NonRetainingListener}s are registered
+     */
+    @Nullable
+    private ReusableDataChangedEvent reusableEvent = null;
+
+    /**
+     * is the {@link #reusableEvent} currently dispatched?
+     */
+    private boolean dispatchingReusableEvent = false;
+
+    /**
+     * when to notify the listeners about value changes
+     */
+    @NotNull
+    @Getter
+    private CoalescingPolicy coalescingPolicy = CoalescingPolicy.none();
+
+    /**
+     * the scheduler of the coalescing policy, null to notify immediately
+     */
+    @Nullable
+    private CoalescingPolicy.Coalescer coalescer = null;
+
+    /**
+     * is a coalesced value change waiting to be delivered?
+     */
+    private boolean changePending = false;
+
+    /**
+     * the listeners notified when a value change starts or stops to be held back
+     */
+    @NotNull
+    private final ListenerList<Consumer<Boolean>> pendingChangeListeners = new ListenerList<>();
+
+    /**
+     * the value before the pending value change
+     */
+    @Nullable
+    private E pendingOldValue = null;
 
     /**
      * the current value of this object
@@ -68,8 +132,11 @@ public abstract class AbstractWComponent<E, C extends JComponent> extends JCompo
     @Nullable
     private FormModel model = null;
 
+    /**
+     * the accessor of the bound model field, if present
+     */
     @Nullable
-    private Method modelSetter = null;
+    private ModelAccessor modelAccessor = null;
 
     public AbstractWComponent(@NotNull @NonNull C component, @Nullable E currentValue) {
         super();
@@ -85,9 +152,6 @@ public abstract class AbstractWComponent<E, C extends JComponent> extends JCompo
         component.setName(getName() + ".Component");
         setOpaque(false);
 
-        // initialize event handlers
-        eventHandlers = new ArrayList<>();
-
         // setup swing layout
         setLayout(new FlowLayout(FlowLayout.LEFT, 5, 0));
         add(component);
@@ -103,32 +167,52 @@ public abstract class AbstractWComponent<E, C extends JComponent> extends JCompo
     @Override
     public void addDataChangedListener(@NotNull @NonNull Consumer<DataChangedEvent> listener) {
         // add listener
-        synchronized (eventHandlers) {
-            eventHandlers.add(listener);
+        eventHandlers.add(listener);
+        if (!(listener instanceof NonRetainingListener)) {
+            retainingListeners.incrementAndGet();
         }
     }
 
+    @Override
+    public void addDataChangedListenerAsync(@NotNull @NonNull Consumer<DataChangedEvent> listener, @NotNull @NonNull Executor executor) {
+        asyncEventHandlers.add(new AsyncListener(listener, new SerialExecutor(executor)));
+    }
+
+    @Override
+    public void addValueChangeListener(@NotNull @NonNull ValueChangeListener<? super E> listener) {
+        valueListeners.add(listener);
+    }
+
     @Override
     public void bindModel(@NotNull @NonNull FormModel model, @NotNull @NonNull Class<?> type, @NotNull @NonNull String field) throws ModelBindException {
         log.debug("{}: Binding to {} {}.{}", getName(), type.getTypeName(), model.getClass().getTypeName(), field);
-        // save model
-        this.model = model;
         String name = "set" + Character.toUpperCase(field.charAt(0)) + field.substring(1);
         try {
-            modelSetter = model.getClass().getMethod(name, type);
+            Method setter = model.getClass().getMethod(name, type);
 
-            if (!Modifier.isPublic(modelSetter.getModifiers())) {
+            if (!Modifier.isPublic(setter.getModifiers())) {
                 throw new ModelBindException("Setter '" + name + "' has to be public!");
             }
-        } catch (@NotNull NoSuchElementException | SecurityException | NoSuchMethodException mbe) {
+
+            bindModel(model, WForm.getSetterAccessor(setter));
+        } catch (@NotNull NoSuchElementException | SecurityException | ReflectiveOperationException mbe) {
             throw new ModelBindException("Error in call to " + model.getClass() + "." + name + "(" + type + ")", mbe);
         }
+    }
 
-        log.debug("{}: Using setter {}", getName(), modelSetter);
+    @Override
+    public void bindModel(@NotNull @NonNull FormModel model, @NotNull @NonNull ModelAccessor accessor) {
+        // save model
+        this.model = model;
+        this.modelAccessor = accessor;
+        log.debug("{}: Using accessor {}", getName(), accessor);
     }
 
     @Override
     public void commitChanges() throws ChangeVetoException {
+        // give the listeners the chance to veto against the committed value
+        flushPendingChanges();
+
         // don't do anything if nothing changed
         if (!hasChanged()) {
             log.debug("{}: Ignoring commit, nothing changed", getName());
@@ -138,17 +222,16 @@ public abstract class AbstractWComponent<E, C extends JComponent> extends JCompo
         log.debug("{}: Committing changes", getName());
 
         // if a bound model is present, save the value into the model
-        if (model != null && modelSetter != null) {
+        if (model != null && modelAccessor != null) {
             try {
                 log.debug("{}: Invoking setter with {}", getName(), currentValue);
-                modelSetter.invoke(model, currentValue);
-            } catch (ReflectiveOperationException iae) {
-                log.warn("Unable to commit changes to model {}.{}: {}", model.getClass(), modelSetter.getName(), iae.getLocalizedMessage());
-                throw new ChangeVetoException(iae);
-            } catch (IllegalArgumentException iae) {
-                log.warn("Unable to commit changes to model {}.{}: {}. Expected type {}, but got {}", model.getClass(),
-                        modelSetter.getName(), iae.getLocalizedMessage(), modelSetter.getParameterTypes()[0], (currentValue == null ? "null" : currentValue.getClass()));
-                throw new ChangeVetoException(iae);
+                modelAccessor.setValue(model, currentValue);
+            } catch (ChangeVetoException cve) {
+                throw cve;
+            } catch (RuntimeException re) {
+                log.warn("Unable to commit changes to model {} using {}: {}. Value was {}", model.getClass(), modelAccessor,
+                        re.getLocalizedMessage(), (currentValue == null ? "null" : currentValue.getClass()));
+                throw new ChangeVetoException(re);
             }
         }
 
@@ -168,11 +251,38 @@ public abstract class AbstractWComponent<E, C extends JComponent> extends JCompo
         }
 
         // invoke listeners
-        if (!eventHandlers.isEmpty()) {
+        invokeValueListeners(oldValue, savedValue, ChangeType.COMMIT);
+        if (hasEventListeners()) {
             invokeListeners(new DataChangedEvent(this, oldValue, savedValue, ChangeType.COMMIT));
         }
     }
 
+    @Override
+    @NotNull
+    public Runnable markCommitted() throws ChangeVetoException {
+        flushPendingChanges();
+        if (!hasChanged()) {
+            log.debug("{}: Ignoring commit, nothing changed", getName());
+            return () -> {
+            };
+        }
+
+        log.debug("{}: Marking value as committed", getName());
+        E oldValue = savedValue;
+        savedValue = currentValue;
+        try {
+            valueCommitted();
+        } catch (ChangeVetoException cve) {
+            savedValue = oldValue;
+            throw cve;
+        }
+        return () -> {
+            log.debug("{}: Restoring committed value", getName());
+            savedValue = oldValue;
+            valueCommitReverted();
+        };
+    }
+
     /**
      * Helper method for subclasses to check the about to be set value. If the
      * value is invalid and should not be set, a {@link ChangeVetoException} is
@@ -218,19 +328,55 @@ public abstract class AbstractWComponent<E, C extends JComponent> extends JCompo
             log.debug("{}: Ignore notify, nothing changed by {}", getName(), event);
             return;
         }
+        fireListeners(event);
+    }
+
+    /**
+     * Publish the given event to all listeners, even if its old and new value are equal.
+     *
+     * @param event The event to broadcast.
+     * @throws ChangeVetoException When one of the listeners vetoes against this event.
+     */
+    protected final void fireListeners(@NotNull @NonNull DataChangedEvent event) throws ChangeVetoException {
         log.debug("{}: Notifying listeners about {}", getName(), event);
 
-        // broadcast event
-        synchronized (eventHandlers) {
-            eventHandlers.forEach(listener -> listener.accept(event));
+        // broadcast event to the listeners registered right now
+        eventHandlers.fire(Consumer::accept, event);
+
+        // the event passed all vetos, so hand it over to the asynchronous listeners
+        asyncEventHandlers.fire(AsyncListener::submit, event);
+    }
+
+    /**
+     * Publish the given change to all typed listeners.
+     *
+     * @param oldValue The old value
+     * @param newValue The new value
+     * @param why      The cause of this change
+     * @throws ChangeVetoException When one of the listeners vetoes against this change.
+     */
+    protected final void invokeValueListeners(@Nullable E oldValue, @Nullable E newValue, @NotNull @NonNull ChangeType why) throws ChangeVetoException {
+        if (valueListeners.isEmpty() || Objects.equals(oldValue, newValue)) {
+            return;
         }
+        log.debug("{}: Notifying typed listeners about {}", getName(), why);
+        valueListeners.fire(ValueChangeListener::valueChanged, oldValue, newValue, why);
+    }
+
+    @Override
+    public final void removeValueChangeListener(@NotNull @NonNull ValueChangeListener<? super E> listener) {
+        valueListeners.remove(listener);
     }
 
     @Override
     public final void removeDataChangedListener(@NotNull @NonNull Consumer<DataChangedEvent> consumer) {
         // remove the listener
-        synchronized (eventHandlers) {
-            eventHandlers.remove(consumer);
+        if (eventHandlers.remove(consumer)) {
+            if (!(consumer instanceof NonRetainingListener)) {
+                retainingListeners.decrementAndGet();
+            }
+        } else {
+            asyncEventHandlers.removeFirst(listener -> listener.delegate.equals(consumer));
         }
     }
 
@@ -246,6 +392,9 @@ public abstract class AbstractWComponent<E, C extends JComponent> extends JCompo
      * @throws ChangeVetoException If the rolledback-value is not valid.
      */
     protected void rollbackChanges(boolean force) throws ChangeVetoException {
+        // the rollback event replaces the pending change
+        discardPendingChange();
+
         if (!hasChanged()) {
             log.debug("{}: Ignoring rollback, nothing changed", getName());
             return;
@@ -266,7 +415,8 @@ public abstract class AbstractWComponent<E, C extends JComponent> extends JCompo
         valueRolledBack();
 
         // invoke listeners
-        if (!eventHandlers.isEmpty()) {
+        invokeValueListeners(oldValue, currentValue, ChangeType.ROLLBACK);
+        if (hasEventListeners()) {
             invokeListeners(new DataChangedEvent(this, oldValue, currentValue, ChangeType.ROLLBACK));
         }
     }
@@ -296,10 +446,23 @@ public abstract class AbstractWComponent<E, C extends JComponent> extends JCompo
         // set the new value
         currentValue = newValue;
 
+        // let the policy decide when to notify the listeners
+        if (coalescer != null && !force) {
+            if (!changePending) {
+                changePending = true;
+                pendingOldValue = oldValue;
+                pendingChangeListeners.fire(Consumer::accept, Boolean.TRUE);
+            }
+            coalescer.changed();
+            return;
+        }
+        discardPendingChange();
+
         try {
             // broadcast event that the value changed
-            if (!eventHandlers.isEmpty()) {
-                invokeListeners(new DataChangedEvent(this, oldValue, newValue, ChangeType.CHANGED));
+            invokeValueListeners(oldValue, newValue, ChangeType.CHANGED);
+            if (hasEventListeners()) {
+                invokeValueChanged(oldValue, newValue);
             }
         } catch (ChangeVetoException cve) {
             if (!force) {
@@ -321,6 +484,137 @@ public abstract class AbstractWComponent<E, C extends JComponent> extends JCompo
         }
     }
 
+    /**
+     * Replace the current and the saved value without any checks or events.
+     * Used by subclasses whose values refer to their internal state, like the
+     * indices of the shown items, after this state has been modified. If both
+     * values are the same instance, the mapping is applied only once.
+     *
+     * @param mapping The function to create the new values from the old ones
+     */
+    protected final void remapValues(@NotNull @NonNull UnaryOperator<E> mapping) {
+        log.debug("{}: Remapping values", getName());
+        E oldValue = currentValue;
+        currentValue = mapping.apply(currentValue);
+        savedValue = savedValue == oldValue ? currentValue : mapping.apply(savedValue);
+    }
+
+    /**
+     * Publish a {@link ChangeType#CHANGED} event to all listeners. If only
+     * {@link NonRetainingListener}s are registered, the same event instance is reused.
+     *
+     * @param oldValue The old value
+     * @param newValue The new value
+     * @throws ChangeVetoException When one of the listeners vetoes against this event.
+     */
+    private void invokeValueChanged(@Nullable E oldValue, @Nullable E newValue) throws ChangeVetoException {
+        // the event may be kept by a listener or is still in use by an outer dispatch
+        if (hasRetainingListeners() || dispatchingReusableEvent) {
+            invokeListeners(new DataChangedEvent(this, oldValue, newValue, ChangeType.CHANGED));
+            return;
+        }
+
+        if (reusableEvent == null) {
+            reusableEvent = new ReusableDataChangedEvent(this);
+        }
+        dispatchingReusableEvent = true;
+        try {
+            invokeListeners(reusableEvent.reuse(oldValue, newValue, ChangeType.CHANGED));
+        } finally {
+            // do not keep the values alive
+            reusableEvent.reuse(null, null, ChangeType.CHANGED);
+            dispatchingReusableEvent = false;
+        }
+    }
+
+    @Override
+    public void setCoalescingPolicy(@NotNull @NonNull CoalescingPolicy policy) {
+        log.debug("{}: Using {}", getName(), policy);
+        try {
+            flushPendingChanges();
+        } catch (ChangeVetoException cve) {
+            log.debug("{}: Pending change vetoed", getName(), cve);
+        }
+        coalescingPolicy = policy;
+        coalescer = policy.newCoalescer(this::deliverPendingChange);
+    }
+
+    @Override
+    public void flushPendingChanges() throws ChangeVetoException {
+        if (!changePending) {
+            return;
+        }
+
+        E oldValue = pendingOldValue;
+        discardPendingChange();
+        log.debug("{}: Delivering coalesced change from '{}'", getName(), oldValue);
+
+        try {
+            invokeValueListeners(oldValue, currentValue, ChangeType.CHANGED);
+            if (hasEventListeners()) {
+                invokeValueChanged(oldValue, currentValue);
+            }
+        } catch (ChangeVetoException cve) {
+            // the change already happened, so revert to the value before the burst
+            currentValue = oldValue;
+            try {
+                currentValueChanging(oldValue);
+            } catch (ChangeVetoException cve2) {
+                cve.addSuppressed(cve2);
+            }
+            throw cve;
+        }
+    }
+
+    @Override
+    public boolean hasPendingChanges() {
+        return changePending;
+    }
+
+    @Override
+    public void addPendingChangeListener(@NotNull @NonNull Consumer<Boolean> listener) {
+        pendingChangeListeners.add(listener);
+    }
+
+    @Override
+    public void removePendingChangeListener(@NotNull @NonNull Consumer<Boolean> listener) {
+        pendingChangeListeners.remove(listener);
+    }
+
+    /**
+     * @return Is any listener registered, which may keep the {@link DataChangedEvent}?
+     * All asynchronous listeners do.
+     */
+    protected final boolean hasRetainingListeners() {
+        return retainingListeners.get() > 0 || !asyncEventHandlers.isEmpty();
+    }
+
+    /**
+     * @return Is any {@link DataChangedEvent} listener registered, synchronous or asynchronous?
+     */
+    private boolean hasEventListeners() {
+        return !eventHandlers.isEmpty() || !asyncEventHandlers.isEmpty();
+    }
+
+    private void deliverPendingChange() {
+        try {
+            flushPendingChanges();
+        } catch (ChangeVetoException cve) {
+            log.debug("{}: Coalesced change vetoed", getName(), cve);
+        }
+    }
+
+    private void discardPendingChange() {
+        if (changePending) {
+            changePending = false;
+            pendingOldValue = null;
+            if (coalescer != null) {
+                coalescer.cancel();
+            }
+            pendingChangeListeners.fire(Consumer::accept, Boolean.FALSE);
+        }
+    }
+
     private void notifyNewValue(@Nullable E newValue, boolean force) {
         try {
             // notify component that the value is about to change
@@ -347,6 +641,15 @@ public abstract class AbstractWComponent<E, C extends JComponent> extends JCompo
         log.debug("{}: Value committed", getName());
     }
 
+    /**
+     * This method may be overriden in sub-classes to undo the stuff done by
+     * {@link #valueCommitted()}, when a batch commit restores the previously committed value.
+     */
+    @SuppressWarnings("EmptyMethod")
+    protected void valueCommitReverted() {
+        log.debug("{}: Value commit reverted", getName());
+    }
+
     /**
      * This method may be overriden in sub-classes to do some stuff after the
      * value has been rolled back.
@@ -387,4 +690,23 @@ public abstract class AbstractWComponent<E, C extends JComponent> extends JCompo
             component.setBackground(bg);
         }
     }
+
+    /**
+     * A listener called by its own {@link SerialExecutor}, so it gets the events in order.
+     */
+    private static final class AsyncListener {
+        @NotNull
+        private final Consumer<DataChangedEvent> delegate;
+        @NotNull
+        private final Executor lane;
+
+        private AsyncListener(@NotNull @NonNull Consumer<DataChangedEvent> delegate, @NotNull @NonNull Executor lane) {
+            this.delegate = delegate;
+            this.lane = lane;
+        }
+
+        private void submit(@NotNull @NonNull DataChangedEvent event) {
+            lane.execute(() -> delegate.accept(event));
+        }
+    }
 }
@@ -15,10 +15,15 @@ import org.jetbrains.annotations.Nullable;
 import javax.swing.*;
 import java.awt.*;
 import java.awt.event.HierarchyEvent;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.FormatStyle;
 import java.time.temporal.Temporal;
+import java.util.Locale;
+import java.util.Map;
 import java.util.Optional;
-import java.util.concurrent.ScheduledThreadPoolExecutor;
-import java.util.concurrent.TimeUnit;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
 
 @Slf4j
 @SuppressWarnings("unused")
@@ -35,8 +40,10 @@ public abstract class AbstractWPickerPanel<T extends Temporal> extends AbstractW
     @Nullable
     @Setter(AccessLevel.PROTECTED)
     private AbstractWPicker<T> parentPicker = null;
-    @Nullable
-    private ScheduledThreadPoolExecutor clock = null;
+    /**
+     * is this panel subscribed to the shared {@link ClockTicker}?
+     */
+    private boolean clockRunning = false;
 
     public AbstractWPickerPanel(@Nullable T defval) {
         super(new JPanel(new BorderLayout()), defval);
@@ -92,34 +99,42 @@ public abstract class AbstractWPickerPanel<T extends Temporal> extends AbstractW
 
     public void startClock() {
         synchronized (this) {
-            if (clock == null && !isInDateTimePanel()) {
+            if (!clockRunning && !isInDateTimePanel()) {
                 log.debug("{}: Starting clock", getName());
-                clock = new ScheduledThreadPoolExecutor(1);
-                clock.scheduleAtFixedRate(() -> {
-                    lblNow.setText(getNow());
-                    if (!isShowing()) {
-                        log.debug("{}: Stopping clock, no longer showing", getName());
-                        stopClock();
-                    }
-                }, 1001 - (System.currentTimeMillis() % 1000), 1_000, TimeUnit.MILLISECONDS);
+                clockRunning = true;
+                ClockTicker.getInstance().subscribe(this);
             }
         }
     }
 
     public void stopClock() {
         synchronized (this) {
-            if (clock != null) {
+            if (clockRunning) {
                 log.debug("{}: Stopping clock", getName());
-                clock.shutdown();
-                clock = null;
+                clockRunning = false;
+                ClockTicker.getInstance().unsubscribe(this);
             }
         }
     }
 
+    /**
+     * Called by the {@link ClockTicker} on the event dispatch thread every second.
+     */
+    void clockTicked() {
+        String now = getNow();
+        if (!now.equals(lblNow.getText())) {
+            lblNow.setText(now);
+        }
+        if (!isShowing()) {
+            log.debug("{}: Stopping clock, no longer showing", getName());
+            stopClock();
+        }
+    }
+
     protected void toggleClock() {
         synchronized (this) {
             log.debug("{}: Toggling clock", getName());
-            if (clock == null) {
+            if (!clockRunning) {
                 startClock();
             } else {
                 stopClock();
@@ -150,4 +165,33 @@ public abstract class AbstractWPickerPanel<T extends Temporal> extends AbstractW
         super.commitChanges();
         getParentPicker().ifPresent(AbstractWPicker::hidePopup);
     }
+
+    /**
+     * The formats of the clock label. The localized formatters are created once per
+     * {@link Locale} and then shared between all panels.
+     */
+    protected enum ClockFormat {
+        DATE(DateTimeFormatter::ofLocalizedDate),
+        TIME(DateTimeFormatter::ofLocalizedTime),
+        DATE_TIME(DateTimeFormatter::ofLocalizedDateTime);
+
+        @NotNull
+        private final Function<FormatStyle, DateTimeFormatter> factory;
+        @NotNull
+        private final Map<Locale, DateTimeFormatter> formatters = new ConcurrentHashMap<>();
+
+        ClockFormat(@NotNull @NonNull Function<FormatStyle, DateTimeFormatter> factory) {
+            this.factory = factory;
+        }
+
+        /**
+         * @return The current date and / or time, formatted for the default locale
+         */
+        @NotNull
+        public String formatNow() {
+            DateTimeFormatter formatter = formatters.computeIfAbsent(Locale.getDefault(),
+                    locale -> factory.apply(FormatStyle.MEDIUM).withLocale(locale));
+            return formatter.format(LocalDateTime.now());
+        }
+    }
 }
@@ -0,0 +1,101 @@
+package eu.fraho.libs.swing.widgets.base;
+
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import javax.swing.*;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Shared clock for all {@link AbstractWPickerPanel}s.<br>
+ * A single daemon thread ticks every second, as long as at least one panel is
+ * subscribed. Each tick updates all subscribed panels within one
+ * {@link SwingUtilities#invokeLater(Runnable)}. Ticks are skipped while the previous
+ * update is still pending on the event dispatch thread.
+ *
+ * @author Simon Frankenberger
+ */
+@Slf4j
+final class ClockTicker {
+    private static final ClockTicker instance = new ClockTicker();
+
+    /**
+     * all subscribed panels
+     */
+    @NotNull
+    private final Set<AbstractWPickerPanel<?>> panels = new CopyOnWriteArraySet<>();
+
+    /**
+     * is an update waiting on the event dispatch thread?
+     */
+    @NotNull
+    private final AtomicBoolean updatePending = new AtomicBoolean(false);
+
+    /**
+     * the executor, created on first subscription. Its thread terminates when idle.
+     */
+    @Nullable
+    private ScheduledThreadPoolExecutor executor = null;
+
+    /**
+     * the scheduled tick, while any panel is subscribed
+     */
+    @Nullable
+    private ScheduledFuture<?> ticker = null;
+
+    private ClockTicker() {
+    }
+
+    @NotNull
+    static ClockTicker getInstance() {
+        return instance;
+    }
+
+    synchronized void subscribe(@NotNull @NonNull AbstractWPickerPanel<?> panel) {
+        panels.add(panel);
+        if (ticker == null) {
+            log.debug("Starting clock for {}", panel.getName());
+            if (executor == null) {
+                executor = new ScheduledThreadPoolExecutor(1, runnable -> {
+                    Thread thread = new Thread(runnable, "swing-components-clock");
+                    thread.setDaemon(true);
+                    return thread;
+                });
+                executor.setKeepAliveTime(10, TimeUnit.SECONDS);
+                executor.allowCoreThreadTimeOut(true);
+                executor.setRemoveOnCancelPolicy(true);
+            }
+            ticker = executor.scheduleAtFixedRate(this::tick,
+                    1001 - (System.currentTimeMillis() % 1000), 1_000, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    synchronized void unsubscribe(@NotNull @NonNull AbstractWPickerPanel<?> panel) {
+        panels.remove(panel);
+        if (panels.isEmpty() && ticker != null) {
+            log.debug("Stopping clock, no more panels subscribed");
+            ticker.cancel(false);
+            ticker = null;
+        }
+    }
+
+    private void tick() {
+        if (updatePending.compareAndSet(false, true)) {
+            SwingUtilities.invokeLater(this::update);
+        } else {
+            log.debug("Skipping tick, previous update still pending");
+        }
+    }
+
+    private void update() {
+        updatePending.set(false);
+        panels.forEach(AbstractWPickerPanel::clockTicked);
+    }
+}
@@ -0,0 +1,175 @@
+package eu.fraho.libs.swing.widgets.base;
+
+import eu.fraho.libs.swing.widgets.events.DataChangedEvent.ChangeType;
+import lombok.NonNull;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import javax.swing.*;
+
+/**
+ * Defines when the listeners of a {@link WComponent} are notified about value changes.<br>
+ * The value of the component is always updated immediately. But instead of one
+ * {@link ChangeType#CHANGED} notification per change, a burst of changes is delivered
+ * as a single notification from the value before the burst to the latest value.
+ * If a listener vetoes against this notification, the component reverts to the value
+ * before the burst.<br>
+ * Pending changes are delivered synchronously before the value is committed, so
+ * listeners can still veto against the committed value. Rolling back discards
+ * pending changes.<br>
+ * All timers run on the event dispatch thread.
+ *
+ * @author Simon Frankenberger
+ */
+public abstract class CoalescingPolicy {
+    private static final CoalescingPolicy NONE = new CoalescingPolicy("none") {
+        @Override
+        @Nullable
+        Coalescer newCoalescer(@NotNull @NonNull Runnable delivery) {
+            return null;
+        }
+    };
+
+    @NotNull
+    private final String description;
+
+    private CoalescingPolicy(@NotNull @NonNull String description) {
+        this.description = description;
+    }
+
+    /**
+     * @return The default policy, notifying the listeners about each change immediately
+     */
+    @NotNull
+    public static CoalescingPolicy none() {
+        return NONE;
+    }
+
+    /**
+     * @param millis The time to wait after the last change
+     * @return A policy notifying the listeners when no further change happened for the given time
+     */
+    @NotNull
+    public static CoalescingPolicy debounce(int millis) {
+        return new TimerPolicy("debounce " + millis + "ms", millis, true);
+    }
+
+    /**
+     * @param millis The minimum time between two notifications
+     * @return A policy notifying the listeners at most once in the given time, about the latest value
+     */
+    @NotNull
+    public static CoalescingPolicy throttle(int millis) {
+        return new TimerPolicy("throttle " + millis + "ms", millis, false);
+    }
+
+    /**
+     * @return A policy notifying the listeners about the latest value once all
+     * currently queued events of the event dispatch thread are processed
+     */
+    @NotNull
+    public static CoalescingPolicy onIdle() {
+        return new IdlePolicy();
+    }
+
+    /**
+     * Create the scheduler for one component.
+     *
+     * @param delivery The action delivering the pending change
+     * @return The new scheduler, null to deliver each change immediately
+     */
+    @Nullable
+    abstract Coalescer newCoalescer(@NotNull Runnable delivery);
+
+    @Override
+    @NotNull
+    public String toString() {
+        return "CoalescingPolicy(" + description + ")";
+    }
+
+    /**
+     * Schedules the delivery of the pending change of one component.
+     */
+    interface Coalescer {
+        /**
+         * Called after each coalesced change.
+         */
+        void changed();
+
+        /**
+         * Called when the pending change was delivered or discarded.
+         */
+        void cancel();
+    }
+
+    private static final class TimerPolicy extends CoalescingPolicy {
+        private final int millis;
+        /**
+         * restart the timer on each change?
+         */
+        private final boolean restart;
+
+        private TimerPolicy(@NotNull @NonNull String description, int millis, boolean restart) {
+            super(description);
+            if (millis < 0) {
+                throw new IllegalArgumentException("Delay may not be negative: " + millis);
+            }
+            this.millis = millis;
+            this.restart = restart;
+        }
+
+        @Override
+        @NotNull
+        Coalescer newCoalescer(@NotNull @NonNull Runnable delivery) {
+            Timer timer = new Timer(millis, event -> delivery.run());
+            timer.setRepeats(false);
+            return new Coalescer() {
+                @Override
+                public void changed() {
+                    if (restart) {
+                        timer.restart();
+                    } else if (!timer.isRunning()) {
+                        timer.start();
+                    }
+                }
+
+                @Override
+                public void cancel() {
+                    timer.stop();
+                }
+            };
+        }
+    }
+
+    private static final class IdlePolicy extends CoalescingPolicy {
+        private IdlePolicy() {
+            super("idle");
+        }
+
+        @Override
+        @NotNull
+        Coalescer newCoalescer(@NotNull @NonNull Runnable delivery) {
+            return new Coalescer() {
+                private boolean scheduled = false;
+
+                @Override
+                public void changed() {
+                    if (!scheduled) {
+                        scheduled = true;
+                        SwingUtilities.invokeLater(() -> {
+                            if (scheduled) {
+                                scheduled = false;
+                                delivery.run();
+                            }
+                        });
+                    }
+                }
+
+                @Override
+                public void cancel() {
+                    scheduled = false;
+                }
+            };
+        }
+    }
+}
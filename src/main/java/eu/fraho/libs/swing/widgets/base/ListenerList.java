@@ -0,0 +1,151 @@
+package eu.fraho.libs.swing.widgets.base;
+
+import lombok.NonNull;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Arrays;
+import java.util.function.BiConsumer;
+import java.util.function.Predicate;
+
+/**
+ * Copy-on-write list of listeners.<br>
+ * The listeners are dispatched from an immutable snapshot without any lock, so a
+ * slow listener does not block the registration of others and listeners may remove
+ * themselves while being called. Dispatching does not allocate anything.<br>
+ * New listeners are appended into the spare capacity of the current array, which
+ * the published snapshots never read, so adding is amortized O(1). Only removing a
+ * listener copies the array. Modifications are serialized by a private lock.
+ *
+ * @param <L> Type of the listeners
+ * @author Simon Frankenberger
+ */
+final class ListenerList<L> {
+    private static final Snapshot EMPTY = new Snapshot(new Object[0], 0);
+
+    @NotNull
+    private final Object lock = new Object();
+
+    /**
+     * the currently registered listeners
+     */
+    @NotNull
+    private volatile Snapshot snapshot = EMPTY;
+
+    /**
+     * Register the given listener. A listener may be registered multiple times.
+     *
+     * @param listener The listener to add
+     */
+    void add(@NotNull @NonNull L listener) {
+        synchronized (lock) {
+            Snapshot current = snapshot;
+            Object[] listeners = current.listeners;
+            if (current.size == listeners.length) {
+                listeners = Arrays.copyOf(listeners, Math.max(4, current.size * 2));
+            }
+            listeners[current.size] = listener;
+            snapshot = new Snapshot(listeners, current.size + 1);
+        }
+    }
+
+    /**
+     * Remove the first registration of the given listener.
+     *
+     * @param listener The listener to remove
+     * @return Was the listener registered?
+     */
+    boolean remove(@NotNull @NonNull Object listener) {
+        return removeFirst(listener::equals);
+    }
+
+    /**
+     * Remove the first listener matching the given filter.
+     *
+     * @param filter The filter to test the listeners with
+     * @return Was a matching listener registered?
+     */
+    @SuppressWarnings("unchecked")
+    boolean removeFirst(@NotNull @NonNull Predicate<? super L> filter) {
+        synchronized (lock) {
+            Snapshot current = snapshot;
+            for (int i = 0; i < current.size; i++) {
+                if (filter.test((L) current.listeners[i])) {
+                    Object[] listeners = new Object[Math.max(4, current.size - 1)];
+                    System.arraycopy(current.listeners, 0, listeners, 0, i);
+                    System.arraycopy(current.listeners, i + 1, listeners, i, current.size - i - 1);
+                    snapshot = current.size == 1 ? EMPTY : new Snapshot(listeners, current.size - 1);
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    /**
+     * @return Is no listener registered?
+     */
+    boolean isEmpty() {
+        return snapshot.size == 0;
+    }
+
+    /**
+     * Call the given action for each listener registered at the time of this call,
+     * in the order of registration. An exception thrown by the action stops the
+     * dispatch and is rethrown.
+     *
+     * @param action The action to call, should be non-capturing to avoid allocations
+     * @param event  The event to pass to the action
+     * @param <T>    Type of the event
+     */
+    @SuppressWarnings("unchecked")
+    <T> void fire(@NotNull @NonNull BiConsumer<? super L, ? super T> action, T event) {
+        Snapshot current = snapshot;
+        Object[] listeners = current.listeners;
+        for (int i = 0; i < current.size; i++) {
+            action.accept((L) listeners[i], event);
+        }
+    }
+
+    /**
+     * Call the given action for each listener registered at the time of this call,
+     * like {@link #fire(BiConsumer, Object)}, but with three arguments.
+     *
+     * @param action The action to call, should be non-capturing to avoid allocations
+     * @param first  The first argument to pass to the action
+     * @param second The second argument to pass to the action
+     * @param third  The third argument to pass to the action
+     * @param <A>    Type of the first argument
+     * @param <B>    Type of the second argument
+     * @param <C>    Type of the third argument
+     */
+    @SuppressWarnings("unchecked")
+    <A, B, C> void fire(@NotNull @NonNull Action<? super L, A, B, C> action, A first, B second, C third) {
+        Snapshot current = snapshot;
+        Object[] listeners = current.listeners;
+        for (int i = 0; i < current.size; i++) {
+            action.call((L) listeners[i], first, second, third);
+        }
+    }
+
+    /**
+     * A call of a listener method with three arguments.
+     */
+    @FunctionalInterface
+    interface Action<L, A, B, C> {
+        void call(L listener, A first, B second, C third);
+    }
+
+    /**
+     * An immutable view on the first {@code size} elements of the array.
+     */
+    private static final class Snapshot {
+        @NotNull
+        private final Object[] listeners;
+        private final int size;
+
+        private Snapshot(@NotNull Object[] listeners, int size) {
+            this.listeners = listeners;
+            this.size = size;
+        }
+    }
+}
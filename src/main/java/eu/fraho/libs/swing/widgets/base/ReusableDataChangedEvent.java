@@ -0,0 +1,74 @@
+package eu.fraho.libs.swing.widgets.base;
+
+import eu.fraho.libs.swing.widgets.events.DataChangedEvent;
+import eu.fraho.libs.swing.widgets.events.NonRetainingListener;
+import lombok.NonNull;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * The event instance reused by a component, as long as only {@link NonRetainingListener}s
+ * are registered. The data of the event is held here, so the fields of the
+ * {@link DataChangedEvent} itself stay immutable.
+ *
+ * @author Simon Frankenberger
+ */
+final class ReusableDataChangedEvent extends DataChangedEvent {
+    private long timestamp;
+    @NotNull
+    private ChangeType why = ChangeType.CHANGED;
+    @Nullable
+    private Object oldValue;
+    @Nullable
+    private Object newValue;
+
+    ReusableDataChangedEvent(@NotNull @NonNull AbstractWComponent<?, ?> source) {
+        super(source, null, null, ChangeType.CHANGED);
+    }
+
+    /**
+     * Fill this event with new data, so it can be raised again.
+     *
+     * @param oldVal The old value
+     * @param newVal The new value
+     * @param why    The cause of this event
+     * @return This event
+     */
+    @NotNull
+    ReusableDataChangedEvent reuse(@Nullable Object oldVal, @Nullable Object newVal, @NotNull @NonNull ChangeType why) {
+        this.oldValue = oldVal;
+        this.newValue = newVal;
+        this.why = why;
+        timestamp = System.currentTimeMillis();
+        return this;
+    }
+
+    @Override
+    public long getTimestamp() {
+        return timestamp;
+    }
+
+    @Override
+    @NotNull
+    public ChangeType getWhy() {
+        return why;
+    }
+
+    @Override
+    @Nullable
+    public Object getOldValue() {
+        return oldValue;
+    }
+
+    @Override
+    @Nullable
+    public Object getNewValue() {
+        return newValue;
+    }
+
+    @Override
+    @NotNull
+    public DataChangedEvent detach() {
+        return new DataChangedEvent(getSource(), oldValue, newValue, why);
+    }
+}
@@ -0,0 +1,77 @@
+package eu.fraho.libs.swing.widgets.base;
+
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayDeque;
+import java.util.Queue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Runs the submitted tasks one after another in submission order, using the
+ * threads of another executor. At most one task is queued at the underlying
+ * executor at any time.
+ *
+ * @author Simon Frankenberger
+ */
+@Slf4j
+final class SerialExecutor implements Executor {
+    @NotNull
+    private final Executor executor;
+
+    /**
+     * the tasks waiting to be run
+     */
+    @NotNull
+    private final Queue<Runnable> tasks = new ArrayDeque<>();
+
+    /**
+     * is a drain of the queue submitted to the executor?
+     */
+    private boolean active = false;
+
+    SerialExecutor(@NotNull @NonNull Executor executor) {
+        this.executor = executor;
+    }
+
+    @Override
+    public void execute(@NotNull @NonNull Runnable task) {
+        synchronized (tasks) {
+            tasks.add(task);
+            if (active) {
+                return;
+            }
+            active = true;
+        }
+
+        try {
+            executor.execute(this::drain);
+        } catch (RejectedExecutionException ree) {
+            log.warn("Executor {} rejected the listener dispatch, dropping queued events", executor, ree);
+            synchronized (tasks) {
+                tasks.clear();
+                active = false;
+            }
+        }
+    }
+
+    private void drain() {
+        while (true) {
+            Runnable next;
+            synchronized (tasks) {
+                next = tasks.poll();
+                if (next == null) {
+                    active = false;
+                    return;
+                }
+            }
+            try {
+                next.run();
+            } catch (RuntimeException re) {
+                log.warn("Asynchronous listener failed", re);
+            }
+        }
+    }
+}
@@ -4,14 +4,17 @@ import eu.fraho.libs.swing.exceptions.ChangeVetoException;
 import eu.fraho.libs.swing.exceptions.ModelBindException;
 import eu.fraho.libs.swing.widgets.events.DataChangedEvent;
 import eu.fraho.libs.swing.widgets.events.DataChangedListener;
+import eu.fraho.libs.swing.widgets.events.ValueChangeListener;
 import eu.fraho.libs.swing.widgets.form.FormField;
 import eu.fraho.libs.swing.widgets.form.FormModel;
+import eu.fraho.libs.swing.widgets.form.ModelAccessor;
 import eu.fraho.libs.swing.widgets.form.WForm;
 import lombok.NonNull;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import javax.swing.*;
+import java.util.concurrent.Executor;
 import java.util.function.Consumer;
 
 /**
@@ -32,6 +35,28 @@ public interface WComponent<E> {
      */
     void addDataChangedListener(@NotNull Consumer<DataChangedEvent> listener);
 
+    /**
+     * Add a {@link DataChangedListener} which is called asynchronously, using the
+     * given executor. The listener gets the events in the order they were raised,
+     * but only after all synchronous listeners accepted them. So it can't veto
+     * against any change, a thrown {@link ChangeVetoException} is just logged.<br>
+     * The listener is removed with {@link #removeDataChangedListener(Consumer)}.
+     *
+     * @param listener The listener to add
+     * @param executor The executor to call the listener with
+     */
+    void addDataChangedListenerAsync(@NotNull Consumer<DataChangedEvent> listener, @NotNull Executor executor);
+
+    /**
+     * Add a typed {@link ValueChangeListener} to this component. Typed listeners
+     * are notified about the same changes as the {@link DataChangedListener}s,
+     * but before them and without creating an event. They may veto against the
+     * new value as well.
+     *
+     * @param listener The listener to add
+     */
+    void addValueChangeListener(@NotNull ValueChangeListener<? super E> listener);
+
     /**
      * Bind a model value to this component. When committing the changes in this
      * component, the model value is automatically updated to the current value.<br>
@@ -46,6 +71,16 @@ public interface WComponent<E> {
      */
     void bindModel(@NotNull FormModel model, @NotNull Class<?> type, @NotNull String field) throws ModelBindException;
 
+    /**
+     * Bind a model value to this component, using an already created accessor
+     * of the model property.
+     *
+     * @param model    The model instance to bind to.
+     * @param accessor The accessor used to write the value when committing the changes.
+     * @see #bindModel(FormModel, Class, String)
+     */
+    void bindModel(@NotNull FormModel model, @NotNull ModelAccessor accessor);
+
     /**
      * Commit any outstanding changes from this component and set the model value
      * if a bound model is present.
@@ -55,6 +90,17 @@ public interface WComponent<E> {
      */
     void commitChanges() throws ChangeVetoException;
 
+    /**
+     * Commit any outstanding changes from this component, without setting the model
+     * value and without notifying the listeners. Used by {@link WForm#commitBatch()},
+     * which writes the values to the model and publishes one event for all fields.
+     *
+     * @return An action to restore the previously committed value, if the batch fails afterwards.
+     * @throws ChangeVetoException If the component declines the new committed value.
+     */
+    @NotNull
+    Runnable markCommitted() throws ChangeVetoException;
+
     /**
      * @return The underlying swing component
      */
@@ -99,6 +145,49 @@ public interface WComponent<E> {
      */
     void removeDataChangedListener(@NotNull Consumer<DataChangedEvent> listener);
 
+    /**
+     * Remove the given typed listener.
+     *
+     * @param listener the listener to remove.
+     */
+    void removeValueChangeListener(@NotNull ValueChangeListener<? super E> listener);
+
+    /**
+     * Define when the listeners are notified about value changes, see {@link CoalescingPolicy}.
+     * Pending changes of the previous policy are delivered first.
+     *
+     * @param policy The new policy
+     */
+    void setCoalescingPolicy(@NotNull CoalescingPolicy policy);
+
+    /**
+     * Notify the listeners about a value change held back by the {@link CoalescingPolicy}.
+     *
+     * @throws ChangeVetoException If a listener vetoes against the change. The value is reverted then.
+     */
+    void flushPendingChanges() throws ChangeVetoException;
+
+    /**
+     * @return Is a value change held back by the {@link CoalescingPolicy}, waiting to be delivered?
+     */
+    boolean hasPendingChanges();
+
+    /**
+     * Register a listener, which is called with true when a value change starts to be
+     * held back by the {@link CoalescingPolicy}, and with false when the held back change
+     * is delivered or discarded.
+     *
+     * @param listener the listener to add.
+     */
+    void addPendingChangeListener(@NotNull Consumer<Boolean> listener);
+
+    /**
+     * Remove the given pending change listener.
+     *
+     * @param listener the listener to remove.
+     */
+    void removePendingChangeListener(@NotNull Consumer<Boolean> listener);
+
     /**
      * Rollback any user-made changes and set the value to the last committed
      * value.
@@ -12,7 +12,9 @@ import java.text.DateFormatSymbols;
 import java.time.LocalDate;
 import java.time.temporal.WeekFields;
 import java.util.Locale;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Model for the table in the {@link WDatePanel}. This Model is
@@ -22,26 +24,27 @@ import java.util.Optional;
  * This model is {@link Locale}-aware, so RTL layout, weekday-names and
  * first day of week are considered and correctly interpreted.<br>
  * This Model works internally with the new {@link LocalDate} instances,
- * provided by Java 8.
+ * provided by Java 8. All dates of the shown month are calculated once per
+ * month change, the locale dependant information once per {@link Locale}.
  *
  * @author Simon Frankenberger
  */
 @Slf4j
 public class CalendarTableModel extends AbstractTableModel {
-    private final DateFormatSymbols dateFormatSymbols = new DateFormatSymbols();
     /**
-     * does this model represent right to left (RTL) layout, depending on locale?
+     * cache with the locale dependant information, by locale
      */
-    private boolean isRightToLeft;
+    private static final Map<Locale, LocaleInfo> localeInfos = new ConcurrentHashMap<>();
     /**
-     * the first day of week, depending on locale
+     * the locale dependant information of the current month
      */
-    private int firstDayOfWeek = 1;
+    @NotNull
+    private LocaleInfo localeInfo = LocaleInfo.of(Locale.getDefault());
     /**
-     * offset depends on current locale and handles the drift to the left / right
-     * on the calendar. offset = amount of days till first day in calendar
+     * all shown dates, row by row in the order of the columns
      */
-    private int offset = 0;
+    @NotNull
+    private final LocalDate[] grid = new LocalDate[6 * 7];
     /**
      * the base date for this model, always the first of a specific month
      */
@@ -74,16 +77,15 @@ public class CalendarTableModel extends AbstractTableModel {
         baseDate = Optional.ofNullable(selectedDate).orElse(LocalDate.now()).withDayOfMonth(1);
         log.debug("Using basedate {}", baseDate);
 
+        /* fetch first day of week and RTL layout */
+        localeInfo = LocaleInfo.of(Locale.getDefault());
+
         /* calculate weekday of first day of month */
         int weekdayFirstOfMonth = baseDate.getDayOfWeek().getValue();
         log.debug("Weekday of basedate is {}", weekdayFirstOfMonth);
 
-        /* calculate first day of week */
-        firstDayOfWeek = WeekFields.of(Locale.getDefault()).getFirstDayOfWeek().getValue();
-        log.debug("First day of week is {}", firstDayOfWeek);
-
         /* calculate offset (drift to left / right) of first day */
-        offset = firstDayOfWeek - weekdayFirstOfMonth;
+        int offset = localeInfo.firstDayOfWeek - weekdayFirstOfMonth;
         log.debug("Offset is {}", offset);
 
         /*
@@ -94,9 +96,13 @@ public class CalendarTableModel extends AbstractTableModel {
             offset -= 7;
         }
 
-        /* set RTL layout */
-        isRightToLeft = !ComponentOrientation.getOrientation(Locale.getDefault()).isLeftToRight();
-        log.debug("Setting RTL to {}", isRightToLeft);
+        /* calculate all shown dates */
+        LocalDate first = baseDate.plusDays(offset);
+        for (int row = 0; row < 6; row++) {
+            for (int column = 0; column < 7; column++) {
+                grid[row * 7 + column] = first.plusDays(localeInfo.getRtLColIndex(column) + row * 7);
+            }
+        }
     }
 
     @Override
@@ -113,7 +119,7 @@ public class CalendarTableModel extends AbstractTableModel {
     @Override
     @NotNull
     public String getColumnName(int column) {
-        return dateFormatSymbols.getShortWeekdays()[1 + (getRtLColIndex(column) + firstDayOfWeek) % 7];
+        return localeInfo.columnNames[column];
     }
 
     @Override
@@ -121,24 +127,9 @@ public class CalendarTableModel extends AbstractTableModel {
         return 6;
     }
 
-    /**
-     * Recalculate the index of a column when using RTL layout.
-     *
-     * @param columnIndex the LTR column index to convert
-     * @return new index, when using RTL layout or the given index, when using
-     * standard LTR layout
-     */
-    private int getRtLColIndex(int columnIndex) {
-        if (isRightToLeft) {
-            return 6 - columnIndex;
-        } else {
-            return columnIndex;
-        }
-    }
-
     /**
      * Selects a new value in this model. Recalculates the whole table, including
-     * {@link Locale} dependant information.
+     * {@link Locale} dependant information, when the month changes.
      *
      * @param date the new date to select, may be null
      */
@@ -146,7 +137,8 @@ public class CalendarTableModel extends AbstractTableModel {
         log.debug("Setting selected date to {}", date);
         boolean rebuildRequired = baseDate == null
                 || date == null
-                || date.getMonthValue() != baseDate.getMonthValue();
+                || date.getMonthValue() != baseDate.getMonthValue()
+                || date.getYear() != baseDate.getYear();
         selectedDate = date;
         if (rebuildRequired) {
             dateChanged();
@@ -159,6 +151,58 @@ public class CalendarTableModel extends AbstractTableModel {
         if (rowIndex == -1) {
             return null;
         }
-        return baseDate.plusDays(getRtLColIndex(columnIndex) + rowIndex * 7 + offset);
+        return grid[rowIndex * 7 + columnIndex];
+    }
+
+    /**
+     * The {@link Locale} dependant information of the calendar.
+     */
+    private static final class LocaleInfo {
+        /**
+         * does this locale use right to left (RTL) layout?
+         */
+        private final boolean isRightToLeft;
+        /**
+         * the first day of week
+         */
+        private final int firstDayOfWeek;
+        /**
+         * the short weekday names, in the order of the columns
+         */
+        @NotNull
+        private final String[] columnNames = new String[7];
+
+        private LocaleInfo(@NotNull Locale locale) {
+            firstDayOfWeek = WeekFields.of(locale).getFirstDayOfWeek().getValue();
+            log.debug("First day of week is {}", firstDayOfWeek);
+
+            isRightToLeft = !ComponentOrientation.getOrientation(locale).isLeftToRight();
+            log.debug("Setting RTL to {}", isRightToLeft);
+
+            String[] weekdays = new DateFormatSymbols(locale).getShortWeekdays();
+            for (int column = 0; column < 7; column++) {
+                columnNames[column] = weekdays[1 + (getRtLColIndex(column) + firstDayOfWeek) % 7];
+            }
+        }
+
+        @NotNull
+        private static LocaleInfo of(@NotNull Locale locale) {
+            return localeInfos.computeIfAbsent(locale, LocaleInfo::new);
+        }
+
+        /**
+         * Recalculate the index of a column when using RTL layout.
+         *
+         * @param columnIndex the LTR column index to convert
+         * @return new index, when using RTL layout or the given index, when using
+         * standard LTR layout
+         */
+        private int getRtLColIndex(int columnIndex) {
+            if (isRightToLeft) {
+                return 6 - columnIndex;
+            } else {
+                return columnIndex;
+            }
+        }
     }
 }
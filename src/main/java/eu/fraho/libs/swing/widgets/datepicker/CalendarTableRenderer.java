@@ -5,22 +5,37 @@ import lombok.Getter;
 import lombok.NonNull;
 import lombok.extern.slf4j.Slf4j;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 import javax.swing.*;
 import javax.swing.table.DefaultTableCellRenderer;
 import java.awt.*;
 import java.time.LocalDate;
-import java.util.Objects;
+import java.time.ZoneId;
 
 /**
  * Renderer for the table in the {@link WDatePanel}.<br>
  * This renderer is initialized with a {@link ColorTheme} which is used to
- * customize the Look &amp; Feel of the table.
+ * customize the Look &amp; Feel of the table.<br>
+ * The colors of each cell state are resolved once per theme, the current date
+ * is only recalculated after midnight and the labels of the days are shared
+ * constants. So rendering a cell does not allocate anything.
  *
  * @author Simon Frankenberger
  */
 @Slf4j
 public class CalendarTableRenderer extends DefaultTableCellRenderer implements ThemeSupport {
+    /**
+     * the labels of all days, by day of month - 1
+     */
+    private static final String[] DAY_LABELS = new String[31];
+
+    static {
+        for (int i = 0; i < DAY_LABELS.length; i++) {
+            DAY_LABELS[i] = String.valueOf(i + 1);
+        }
+    }
+
     /**
      * the underlying ColorTheme
      */
@@ -28,6 +43,34 @@ public class CalendarTableRenderer extends DefaultTableCellRenderer implements T
     @Getter
     private ColorTheme theme;
 
+    /**
+     * the foreground colors of the theme, by {@link CellState}
+     */
+    @NotNull
+    private final Color[] foregrounds = new Color[CellState.values().length];
+
+    /**
+     * the background colors of the theme, by {@link CellState}
+     */
+    @NotNull
+    private final Color[] backgrounds = new Color[CellState.values().length];
+
+    /**
+     * the background color of the theme for disabled tables
+     */
+    @Nullable
+    private Color disabledBackground;
+
+    /**
+     * the current date as epoch day
+     */
+    private long today;
+
+    /**
+     * the time in millis, when {@link #today} has to be recalculated
+     */
+    private long todayValidUntil = Long.MIN_VALUE;
+
     /**
      * Create a new renderer using the given theme.
      *
@@ -35,77 +78,97 @@ public class CalendarTableRenderer extends DefaultTableCellRenderer implements T
      */
     public CalendarTableRenderer(@NotNull @NonNull ColorTheme theme) {
         this.theme = theme;
+        resolveColors();
+        // center the text in the label
+        setHorizontalAlignment(SwingConstants.CENTER);
+    }
+
+    private void resolveColors() {
+        foregrounds[CellState.HEADER.ordinal()] = theme.fgGridHeader();
+        backgrounds[CellState.HEADER.ordinal()] = theme.bgGridHeader();
+        foregrounds[CellState.THIS_MONTH.ordinal()] = theme.fgGridThisMonth();
+        backgrounds[CellState.THIS_MONTH.ordinal()] = theme.bgGrid();
+        foregrounds[CellState.TODAY.ordinal()] = theme.fgGridToday();
+        backgrounds[CellState.TODAY.ordinal()] = theme.bgGrid();
+        foregrounds[CellState.SELECTED.ordinal()] = theme.fgGridSelected();
+        backgrounds[CellState.SELECTED.ordinal()] = theme.bgGridSelected();
+        foregrounds[CellState.TODAY_SELECTED.ordinal()] = theme.fgGridTodaySelected();
+        backgrounds[CellState.TODAY_SELECTED.ordinal()] = theme.bgGridTodaySelected();
+        foregrounds[CellState.OTHER_MONTH.ordinal()] = theme.fgGridOtherMonth();
+        backgrounds[CellState.OTHER_MONTH.ordinal()] = theme.bgGrid();
+        disabledBackground = theme.bgDisabled();
+    }
+
+    /**
+     * @return The current date as epoch day, recalculated after midnight only
+     */
+    private long getToday() {
+        long now = System.currentTimeMillis();
+        if (now >= todayValidUntil) {
+            ZoneId zone = ZoneId.systemDefault();
+            LocalDate date = LocalDate.now(zone);
+            today = date.toEpochDay();
+            todayValidUntil = date.plusDays(1).atStartOfDay(zone).toInstant().toEpochMilli();
+            log.debug("{}: Today is {}", getName(), date);
+        }
+        return today;
     }
 
     @Override
     @NotNull
     public Component getTableCellRendererComponent(@NotNull @NonNull JTable table, @NotNull @NonNull Object pValue, boolean isSelected, boolean hasFocus, int row, int column) {
-        // fetch selected date
-        LocalDate selected = ((CalendarTableModel) table.getModel()).getSelectedDate();
-
-        // fetch base date
-        LocalDate base = ((CalendarTableModel) table.getModel()).getBaseDate();
-
-        // calculate the current date
-        LocalDate today = LocalDate.now();
-
-        // generate the displayed label
-        JLabel label = (JLabel) super.getTableCellRendererComponent(table, pValue, isSelected, hasFocus, row, column);
-
-        // center the text in the label
-        label.setHorizontalAlignment(SwingConstants.CENTER);
-
         if (row == -1) {
             // header
-            label.setForeground(theme.fgGridHeader());
-            label.setBackground(theme.bgGridHeader());
-            return label;
-        } else {
-            // cell
-            label.setForeground(theme.fgGridThisMonth());
-            label.setBackground(theme.bgGrid());
-        }
-
-        LocalDate value = (LocalDate) pValue;
-
-        // current cell is today
-        if (today.isEqual(value)) {
-            label.setForeground(theme.fgGridToday());
-            label.setBackground(theme.bgGrid());
+            super.getTableCellRendererComponent(table, pValue, isSelected, hasFocus, row, column);
+            setColors(CellState.HEADER);
+            return this;
         }
 
-        // current cell is selected
-        if (Objects.equals(value, selected)) {
-            label.setForeground(theme.fgGridSelected());
-            label.setBackground(theme.bgGridSelected());
+        // the text is set below, so skip the formatting of the date
+        super.getTableCellRendererComponent(table, null, isSelected, hasFocus, row, column);
 
-            // current cell is today
-            if (Objects.equals(value, today)) {
-                label.setForeground(theme.fgGridTodaySelected());
-                label.setBackground(theme.bgGridTodaySelected());
-            }
-        }
-
-        // current cell is another month
-        if (value.getMonthValue() != base.getMonthValue()) {
-            label.setForeground(theme.fgGridOtherMonth());
-            label.setBackground(theme.bgGrid());
+        CalendarTableModel model = (CalendarTableModel) table.getModel();
+        LocalDate value = (LocalDate) pValue;
+        LocalDate selected = model.getSelectedDate();
+        boolean isToday = value.toEpochDay() == getToday();
+
+        CellState state;
+        if (value.getMonthValue() != model.getBaseDate().getMonthValue()) {
+            state = CellState.OTHER_MONTH;
+        } else if (value.equals(selected)) {
+            state = isToday ? CellState.TODAY_SELECTED : CellState.SELECTED;
+        } else {
+            state = isToday ? CellState.TODAY : CellState.THIS_MONTH;
         }
+        setColors(state);
 
         // table is disabled
         if (!table.isEnabled()) {
-            label.setBackground(theme.bgDisabled());
+            setBackground(disabledBackground);
         }
 
         // set the text of the cell
-        label.setText(String.valueOf(value.getDayOfMonth()));
+        setText(DAY_LABELS[value.getDayOfMonth() - 1]);
 
         // all done, return the cell
-        return label;
+        return this;
+    }
+
+    private void setColors(@NotNull @NonNull CellState state) {
+        setForeground(foregrounds[state.ordinal()]);
+        setBackground(backgrounds[state.ordinal()]);
     }
 
     public void setTheme(@NotNull @NonNull ColorTheme theme) {
         log.debug("{}: Changing theme to {}", getName(), theme.getClass());
         this.theme = theme;
+        resolveColors();
+    }
+
+    /**
+     * The possible states of a rendered cell, each with its own colors.
+     */
+    private enum CellState {
+        HEADER, THIS_MONTH, TODAY, SELECTED, TODAY_SELECTED, OTHER_MONTH
     }
 }
@@ -0,0 +1,36 @@
+package eu.fraho.libs.swing.widgets.events;
+
+import eu.fraho.libs.swing.exceptions.ChangeVetoException;
+import eu.fraho.libs.swing.widgets.events.DataChangedEvent.ChangeType;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * {@link ValueChangeListener} receiving the values of {@code Boolean} components,
+ * like the {@code WCheckBox} and the {@code WSwitchBox}, as primitives.<br>
+ * Like these components, {@code null} is treated as {@code false}. So a change
+ * between {@code null} and {@code false} is not passed on.
+ *
+ * @author Simon Frankenberger
+ */
+@FunctionalInterface
+public interface BooleanChangeListener extends ValueChangeListener<Boolean> {
+    /**
+     * Called when the value changed.
+     *
+     * @param oldValue The old value
+     * @param newValue The new value
+     * @param why      The cause of this change
+     * @throws ChangeVetoException May be thrown from the listener when the new value is invalid.
+     */
+    void booleanChanged(boolean oldValue, boolean newValue, @NotNull ChangeType why) throws ChangeVetoException;
+
+    @Override
+    default void valueChanged(@Nullable Boolean oldValue, @Nullable Boolean newValue, @NotNull ChangeType why) throws ChangeVetoException {
+        boolean oldState = oldValue != null && oldValue;
+        boolean newState = newValue != null && newValue;
+        if (oldState != newState) {
+            booleanChanged(oldState, newState, why);
+        }
+    }
+}
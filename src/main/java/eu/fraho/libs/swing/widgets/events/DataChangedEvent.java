@@ -9,7 +9,9 @@ import lombok.ToString;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import java.time.Instant;
 import java.time.LocalDateTime;
+import java.time.ZoneId;
 import java.util.EventObject;
 
 /**
@@ -18,20 +20,22 @@ import java.util.EventObject;
  * All events define a {@link #getSource() source}, which component changed and
  * a {@link LocalDateTime}, {@link #when} this event occured.<br>
  * Each event also provides the {@link #oldValue old} and {@link #newValue new}
- * value. These events are normally handled by a {@link DataChangedListener}.
+ * value. These events are normally handled by a {@link DataChangedListener}.<br>
+ * Only the raw {@link #getTimestamp() timestamp} is captured on creation, the
+ * {@link LocalDateTime} is derived on demand. Events passed to
+ * {@link NonRetainingListener}s may be reused by the component, see there.
  *
  * @author Simon Frankenberger
  */
 @SuppressWarnings("DefaultAnnotationParam")
 @Getter
 @ToString
-@EqualsAndHashCode(exclude = "when", callSuper = false)
+@EqualsAndHashCode(exclude = "timestamp", callSuper = false)
 public class DataChangedEvent extends EventObject {
     /**
-     * when was this event created
+     * when was this event created, in milliseconds since the epoch
      */
-    @NotNull
-    private final LocalDateTime when;
+    private final long timestamp;
     /**
      * whats the cause of this event
      */
@@ -61,7 +65,27 @@ public class DataChangedEvent extends EventObject {
         this.oldValue = oldVal;
         this.newValue = newVal;
         this.why = why;
-        when = LocalDateTime.now();
+        timestamp = System.currentTimeMillis();
+    }
+
+    /**
+     * @return When was this event created, in the default time zone
+     */
+    @NotNull
+    public LocalDateTime getWhen() {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(getTimestamp()), ZoneId.systemDefault());
+    }
+
+    /**
+     * Get an event with the same data, which may be kept after the listener returned.
+     * Used by listeners which are {@link NonRetainingListener}s themselves, but pass
+     * the event on to other listeners.
+     *
+     * @return This event, or a copy if the event is reused by its component
+     */
+    @NotNull
+    public DataChangedEvent detach() {
+        return this;
     }
 
     @Override
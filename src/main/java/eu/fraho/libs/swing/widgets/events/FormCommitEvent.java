@@ -0,0 +1,61 @@
+package eu.fraho.libs.swing.widgets.events;
+
+import eu.fraho.libs.swing.widgets.base.AbstractWComponent;
+import lombok.NonNull;
+import lombok.ToString;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * This event is raised by a {@code WForm} when all changed fields are committed at
+ * once. Instead of one {@link DataChangedEvent} per field, this single event carries
+ * the {@link #getOldValues() old} and {@link #getNewValues() new} values of all
+ * committed fields, by field name.<br>
+ * Listeners may veto against this event, in which case no field is committed.
+ *
+ * @author Simon Frankenberger
+ */
+@ToString(callSuper = true)
+public class FormCommitEvent extends DataChangedEvent {
+    /**
+     * Create a new event with the given data.
+     *
+     * @param source    The form which raises this event.
+     * @param oldValues The model values before the commit, by field name
+     * @param newValues The committed values, by field name
+     */
+    public FormCommitEvent(@NotNull @NonNull AbstractWComponent<?, ?> source, @NotNull @NonNull Map<String, Object> oldValues, @NotNull @NonNull Map<String, Object> newValues) {
+        super(source, Collections.unmodifiableMap(new LinkedHashMap<>(oldValues)),
+                Collections.unmodifiableMap(new LinkedHashMap<>(newValues)), ChangeType.COMMIT);
+    }
+
+    /**
+     * @return The model values before the commit, by field name
+     */
+    @NotNull
+    @SuppressWarnings("unchecked")
+    public Map<String, Object> getOldValues() {
+        return (Map<String, Object>) getOldValue();
+    }
+
+    /**
+     * @return The committed values, by field name
+     */
+    @NotNull
+    @SuppressWarnings("unchecked")
+    public Map<String, Object> getNewValues() {
+        return (Map<String, Object>) getNewValue();
+    }
+
+    /**
+     * @return The names of all committed fields
+     */
+    @NotNull
+    public Set<String> getChangedFields() {
+        return getNewValues().keySet();
+    }
+}
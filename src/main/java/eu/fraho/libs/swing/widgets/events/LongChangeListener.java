@@ -0,0 +1,48 @@
+package eu.fraho.libs.swing.widgets.events;
+
+import eu.fraho.libs.swing.exceptions.ChangeVetoException;
+import eu.fraho.libs.swing.widgets.events.DataChangedEvent.ChangeType;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * {@link ValueChangeListener} receiving the values of {@code Long} components,
+ * like the {@code WLongTextField}, as primitives.<br>
+ * Changes from or to {@code null} are passed to {@link #nullChanged(Long, Long, ChangeType)}
+ * instead, which ignores them by default.
+ *
+ * @author Simon Frankenberger
+ */
+@FunctionalInterface
+public interface LongChangeListener extends ValueChangeListener<Long> {
+    /**
+     * Called when the value changed between two non-null values.
+     *
+     * @param oldValue The old value
+     * @param newValue The new value
+     * @param why      The cause of this change
+     * @throws ChangeVetoException May be thrown from the listener when the new value is invalid.
+     */
+    void longChanged(long oldValue, long newValue, @NotNull ChangeType why) throws ChangeVetoException;
+
+    /**
+     * Called when the old or the new value is null.
+     *
+     * @param oldValue The old value
+     * @param newValue The new value
+     * @param why      The cause of this change
+     * @throws ChangeVetoException May be thrown from the listener when the new value is invalid.
+     */
+    default void nullChanged(@Nullable Long oldValue, @Nullable Long newValue, @NotNull ChangeType why) throws ChangeVetoException {
+        // ignored by default
+    }
+
+    @Override
+    default void valueChanged(@Nullable Long oldValue, @Nullable Long newValue, @NotNull ChangeType why) throws ChangeVetoException {
+        if (oldValue == null || newValue == null) {
+            nullChanged(oldValue, newValue, why);
+        } else {
+            longChanged(oldValue, newValue, why);
+        }
+    }
+}
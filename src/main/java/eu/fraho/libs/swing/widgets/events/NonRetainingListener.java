@@ -0,0 +1,18 @@
+package eu.fraho.libs.swing.widgets.events;
+
+import eu.fraho.libs.swing.widgets.base.WComponent;
+
+import java.util.function.Consumer;
+
+/**
+ * Marker for listeners which do not keep a reference to the {@link DataChangedEvent}
+ * after they returned, neither directly nor by passing it on.<br>
+ * If all listeners of a {@link WComponent} are non-retaining, the component reuses a
+ * single event instance for its value changes instead of creating a new one each time.
+ * The values of such an event are cleared after the listeners have been called.
+ *
+ * @author Simon Frankenberger
+ */
+@FunctionalInterface
+public interface NonRetainingListener extends Consumer<DataChangedEvent> {
+}
@@ -0,0 +1,61 @@
+package eu.fraho.libs.swing.widgets.events;
+
+import eu.fraho.libs.swing.widgets.base.AbstractWComponent;
+import eu.fraho.libs.swing.widgets.table.TableCell;
+import lombok.NonNull;
+import lombok.ToString;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * This event is raised by a {@code WTable} when cells are edited, committed or
+ * rolled back. Instead of the rows, it carries the {@link #getOldValues() old}
+ * and {@link #getNewValues() new} values of the affected cells only.
+ *
+ * @author Simon Frankenberger
+ */
+@ToString(callSuper = true)
+public class TableEditEvent extends DataChangedEvent {
+    /**
+     * Create a new event with the given data.
+     *
+     * @param source    The table which raises this event.
+     * @param oldValues The values before the change, by cell
+     * @param newValues The values after the change, by cell
+     * @param why       The cause of this event
+     */
+    public TableEditEvent(@NotNull @NonNull AbstractWComponent<?, ?> source, @NotNull @NonNull Map<TableCell, Object> oldValues, @NotNull @NonNull Map<TableCell, Object> newValues, @NotNull @NonNull ChangeType why) {
+        super(source, Collections.unmodifiableMap(new LinkedHashMap<>(oldValues)),
+                Collections.unmodifiableMap(new LinkedHashMap<>(newValues)), why);
+    }
+
+    /**
+     * @return The values before the change, by cell
+     */
+    @NotNull
+    @SuppressWarnings("unchecked")
+    public Map<TableCell, Object> getOldValues() {
+        return (Map<TableCell, Object>) getOldValue();
+    }
+
+    /**
+     * @return The values after the change, by cell
+     */
+    @NotNull
+    @SuppressWarnings("unchecked")
+    public Map<TableCell, Object> getNewValues() {
+        return (Map<TableCell, Object>) getNewValue();
+    }
+
+    /**
+     * @return All affected cells
+     */
+    @NotNull
+    public Set<TableCell> getEditedCells() {
+        return getNewValues().keySet();
+    }
+}
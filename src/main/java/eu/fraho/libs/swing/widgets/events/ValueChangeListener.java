@@ -0,0 +1,32 @@
+package eu.fraho.libs.swing.widgets.events;
+
+import eu.fraho.libs.swing.exceptions.ChangeVetoException;
+import eu.fraho.libs.swing.widgets.base.WComponent;
+import eu.fraho.libs.swing.widgets.events.DataChangedEvent.ChangeType;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.EventListener;
+
+/**
+ * Typed listener for the value changes of a {@link WComponent}.<br>
+ * In contrast to the {@link DataChangedEvent} listeners, the values are passed
+ * directly with the type of the component and no event object is created.
+ * Typed listeners are notified before the {@link DataChangedEvent} listeners and
+ * may veto against the change the same way.
+ *
+ * @param <E> Type of the values
+ * @author Simon Frankenberger
+ */
+@FunctionalInterface
+public interface ValueChangeListener<E> extends EventListener {
+    /**
+     * Called from a {@link WComponent} when its value changed, is committed or rolled back.
+     *
+     * @param oldValue The old value
+     * @param newValue The new value
+     * @param why      The cause of this change
+     * @throws ChangeVetoException May be thrown from the listener when the new value is invalid.
+     */
+    void valueChanged(@Nullable E oldValue, @Nullable E newValue, @NotNull ChangeType why) throws ChangeVetoException;
+}
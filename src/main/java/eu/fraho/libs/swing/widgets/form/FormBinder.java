@@ -0,0 +1,87 @@
+package eu.fraho.libs.swing.widgets.form;
+
+import eu.fraho.libs.swing.widgets.base.WComponent;
+import eu.fraho.libs.swing.widgets.datepicker.ColorTheme;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.List;
+import java.util.ServiceLoader;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Binds the fields of a specific {@link FormModel} class without reflection.<br>
+ * Implementations are usually generated at compile time by the annotation processor
+ * of the {@code swing-components-processor} module and registered for the
+ * {@link ServiceLoader}. When the {@link WForm} finds a binder for a model class, the
+ * values are accessed and the components are created by direct calls. Fields not
+ * handled by the binder fall back to reflection.<br>
+ * If the binder provides the {@link #getFieldNames() field names} and their
+ * {@link #getAnnotation(String) annotations}, the model class is not scanned at all.
+ *
+ * @param <T> The bound model type
+ * @author Simon Frankenberger
+ */
+public interface FormBinder<T extends FormModel> {
+    /**
+     * @return The model class handled by this binder
+     */
+    @NotNull
+    Class<T> getModelClass();
+
+    /**
+     * Get the accessor for the named model field.
+     *
+     * @param field The name of the field
+     * @return The accessor, or null if the field is not handled by this binder.
+     */
+    @Nullable
+    ModelAccessor getAccessor(@NotNull String field);
+
+    /**
+     * Get the names of all annotated fields, ordered from the topmost superclass down
+     * to the model class. The default implementation returns null, so the fields are
+     * looked up by reflection.
+     *
+     * @return The names of all annotated fields, or null if this binder provides no field metadata.
+     */
+    @Nullable
+    default List<String> getFieldNames() {
+        return null;
+    }
+
+    /**
+     * Get the annotation of the named model field. Has to return a non-null value for
+     * every field returned by {@link #getFieldNames()}.
+     *
+     * @param field The name of the field
+     * @return The annotation, or null if this binder provides no field metadata.
+     */
+    @Nullable
+    default FormField getAnnotation(@NotNull String field) {
+        return null;
+    }
+
+    /**
+     * Get the factory for the {@link FormField#theme()} of the named model field.
+     *
+     * @param field The name of the field
+     * @return The factory, or null if the theme should be created by reflection.
+     */
+    @Nullable
+    default Supplier<ColorTheme> getThemeFactory(@NotNull String field) {
+        return null;
+    }
+
+    /**
+     * Get the factory for the components of the named model field, as defined by
+     * {@link FormField#type()}. The factory is called with the initial value of the
+     * component.
+     *
+     * @param field The name of the field
+     * @return The factory, or null if the field is not handled by this binder.
+     */
+    @Nullable
+    Function<Object, WComponent<?>> getComponentFactory(@NotNull String field);
+}
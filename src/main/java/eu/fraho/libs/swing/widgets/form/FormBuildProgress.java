@@ -0,0 +1,17 @@
+package eu.fraho.libs.swing.widgets.form;
+
+/**
+ * Callback to track the progress of {@link WForm#buildAsync(FormModel, int, boolean, java.util.concurrent.Executor, FormBuildProgress)}.
+ *
+ * @author Simon Frankenberger
+ */
+@FunctionalInterface
+public interface FormBuildProgress {
+    /**
+     * Called after every prepared field.
+     *
+     * @param prepared The number of fields prepared so far
+     * @param total    The total number of fields to prepare
+     */
+    void fieldPrepared(int prepared, int total);
+}
@@ -0,0 +1,365 @@
+package eu.fraho.libs.swing.widgets.form;
+
+import eu.fraho.libs.swing.exceptions.FormCreateException;
+import eu.fraho.libs.swing.exceptions.ModelBindException;
+import eu.fraho.libs.swing.widgets.base.WComponent;
+import eu.fraho.libs.swing.widgets.datepicker.ColorTheme;
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Reflection metadata of a {@link FormModel} class, as needed by the {@link WForm}
+ * to build its components.<br>
+ * The class hierarchy is scanned only once per model class, the result is cached
+ * and shared between all forms. Instances are immutable and thus thread-safe.<br>
+ * If a {@link FormBinder} provides the field metadata, the class hierarchy is not
+ * scanned at all and reflection is only used for the fields the binder can't handle.
+ *
+ * @author Simon Frankenberger
+ */
+@Slf4j
+final class FormDescriptor {
+    /**
+     * cache with all descriptors, by model class
+     */
+    private static final Map<Class<?>, FormDescriptor> descriptors = new ConcurrentHashMap<>();
+
+    /**
+     * cache with the accessors of single setters, for components bound without a form
+     */
+    private static final Map<Method, ModelAccessor> setterAccessors = new ConcurrentHashMap<>();
+
+    /**
+     * the factory to create the model accessors with
+     */
+    @NotNull
+    private static volatile ModelAccessorFactory accessorFactory = new LambdaModelAccessorFactory();
+
+    /**
+     * all {@link FormBinder}s found by the {@link ServiceLoader}, by model class.
+     * Loaded on first access.
+     */
+    @Nullable
+    private static volatile Map<Class<?>, FormBinder<?>> binders = null;
+
+    /**
+     * the described model class
+     */
+    @NotNull
+    @Getter
+    private final Class<? extends FormModel> modelClass;
+
+    /**
+     * all annotated fields, ordered from the topmost superclass down to the model class
+     */
+    @NotNull
+    @Getter
+    private final List<FieldDescriptor> fields;
+
+    /**
+     * all annotated fields, by name
+     */
+    @NotNull
+    private final Map<String, FieldDescriptor> fieldsByName = new HashMap<>();
+
+    /**
+     * all annotated fields, grouped by {@link FormField#section()} in order of the first field
+     */
+    @NotNull
+    @Getter
+    private final Map<String, List<FieldDescriptor>> sections;
+
+    private FormDescriptor(@NotNull @NonNull Class<? extends FormModel> modelClass) throws FormCreateException {
+        log.debug("Building descriptor for {}", modelClass);
+        this.modelClass = modelClass;
+        FormBinder<?> binder = getBinders().get(modelClass);
+        log.debug("Using binder {}", binder);
+
+        List<FieldDescriptor> result = new ArrayList<>();
+        List<String> names = binder == null ? null : binder.getFieldNames();
+        if (names != null) {
+            for (String name : names) {
+                FormField anno = binder.getAnnotation(name);
+                if (anno == null) {
+                    throw new FormCreateException("Binder " + binder.getClass().getName() + " has no annotation for field " + name);
+                }
+                result.add(new FieldDescriptor(modelClass, name, anno, binder));
+            }
+        } else {
+            for (Class<?> clazz : buildClassTree(modelClass)) {
+                for (Field field : clazz.getDeclaredFields()) {
+                    FormField anno = field.getAnnotation(FormField.class);
+                    if (anno != null) {
+                        result.add(new FieldDescriptor(modelClass, field.getName(), anno, binder));
+                    }
+                }
+            }
+        }
+        result.forEach(descriptor -> fieldsByName.put(descriptor.getName(), descriptor));
+        this.fields = Collections.unmodifiableList(result);
+
+        Map<String, List<FieldDescriptor>> grouped = new LinkedHashMap<>();
+        result.forEach(field -> grouped.computeIfAbsent(field.getAnnotation().section(), k -> new ArrayList<>()).add(field));
+        grouped.replaceAll((section, list) -> Collections.unmodifiableList(list));
+        this.sections = Collections.unmodifiableMap(grouped);
+    }
+
+    /**
+     * Get the descriptor for the given model class. The descriptor is created on
+     * first access and then served from the cache.
+     *
+     * @param modelClass The model class to describe
+     * @return The descriptor of the given class
+     * @throws FormCreateException If the model contains invalid field definitions.
+     */
+    @NotNull
+    static FormDescriptor of(@NotNull @NonNull Class<? extends FormModel> modelClass) throws FormCreateException {
+        return descriptors.computeIfAbsent(modelClass, FormDescriptor::create);
+    }
+
+    /**
+     * Use the given factory to create the {@link ModelAccessor}s of all further
+     * descriptors. Already cached descriptors are discarded.
+     *
+     * @param factory The new factory to use
+     */
+    static void setAccessorFactory(@NotNull @NonNull ModelAccessorFactory factory) {
+        log.debug("Using accessor factory {}", factory);
+        accessorFactory = factory;
+        descriptors.clear();
+        setterAccessors.clear();
+    }
+
+    /**
+     * Get the write-only accessor for the given setter, created by the configured
+     * {@link ModelAccessorFactory} on first access and then served from the cache.
+     *
+     * @param setter The public setter of the property
+     * @return The accessor of the setter
+     * @throws ReflectiveOperationException If the setter is not accessible.
+     */
+    @NotNull
+    static ModelAccessor getSetterAccessor(@NotNull @NonNull Method setter) throws ReflectiveOperationException {
+        ModelAccessor result = setterAccessors.get(setter);
+        if (result == null) {
+            result = accessorFactory.create(null, setter);
+            ModelAccessor existing = setterAccessors.putIfAbsent(setter, result);
+            if (existing != null) {
+                result = existing;
+            }
+        }
+        return result;
+    }
+
+    @SuppressWarnings("unchecked")
+    @NotNull
+    private static FormDescriptor create(@NotNull @NonNull Class<?> modelClass) {
+        return new FormDescriptor((Class<? extends FormModel>) modelClass);
+    }
+
+    @NotNull
+    private static Map<Class<?>, FormBinder<?>> getBinders() {
+        Map<Class<?>, FormBinder<?>> result = binders;
+        if (result == null) {
+            result = new HashMap<>();
+            try {
+                for (FormBinder<?> binder : ServiceLoader.load(FormBinder.class)) {
+                    log.debug("Found binder {} for {}", binder.getClass(), binder.getModelClass());
+                    result.put(binder.getModelClass(), binder);
+                }
+            } catch (ServiceConfigurationError sce) {
+                log.warn("Unable to load form binders, falling back to reflection", sce);
+            }
+            binders = result;
+        }
+        return result;
+    }
+
+    @NotNull
+    private static List<Class<?>> buildClassTree(@NotNull @NonNull Class<?> modelClass) {
+        List<Class<?>> classes = new ArrayList<>();
+        Class<?> clazz = modelClass;
+        do {
+            classes.add(0, clazz);
+            clazz = clazz.getSuperclass();
+        } while (clazz != null && FormModel.class.isAssignableFrom(clazz));
+        return classes;
+    }
+
+    /**
+     * Find the descriptor for the named field.
+     *
+     * @param name The name of the field
+     * @return The descriptor of the field
+     * @throws NoSuchElementException The named field is not part of the model.
+     */
+    @NotNull
+    FieldDescriptor getField(@NotNull @NonNull String name) throws NoSuchElementException {
+        return Optional.ofNullable(fieldsByName.get(name)).orElseThrow(NoSuchElementException::new);
+    }
+
+    /**
+     * Metadata of a single annotated field: the annotation itself, the
+     * accessor of the model property and the factory of the component to create.
+     */
+    @Getter
+    static final class FieldDescriptor {
+        @NotNull
+        private final String name;
+        @NotNull
+        private final FormField annotation;
+        /**
+         * the accessor of the field, without setter for readonly fields
+         */
+        @NotNull
+        private final ModelAccessor accessor;
+        /**
+         * the generated component factory, if a {@link FormBinder} handles this field
+         */
+        @Nullable
+        private final Function<Object, WComponent<?>> componentFactory;
+        /**
+         * the generated theme factory, if a {@link FormBinder} handles this field
+         */
+        @Nullable
+        private final Supplier<ColorTheme> themeFactory;
+        /**
+         * the component constructor, if no generated component factory is present
+         */
+        @Nullable
+        private final Constructor<? extends WComponent<?>> constructor;
+        /**
+         * all constants, if this field is an enum. Otherwise null.
+         */
+        @Nullable
+        private final Object[] enumConstants;
+
+        @SuppressWarnings("unchecked")
+        private FieldDescriptor(@NotNull @NonNull Class<?> modelClass, @NotNull @NonNull String name, @NotNull @NonNull FormField annotation, @Nullable FormBinder<?> binder) throws FormCreateException {
+            log.debug("Describing field '{}' with annotation '{}'", name, annotation);
+            this.name = name;
+            this.annotation = annotation;
+
+            ModelAccessor boundAccessor = binder == null ? null : binder.getAccessor(name);
+            componentFactory = binder == null ? null : binder.getComponentFactory(name);
+            themeFactory = binder == null ? null : binder.getThemeFactory(name);
+            Method getter = null;
+            if (boundAccessor == null || componentFactory == null) {
+                getter = FormElementFactory.findGetter(modelClass, name);
+                log.debug("Found getter {}", getter);
+            }
+
+            try {
+                if (componentFactory != null) {
+                    constructor = null;
+                    enumConstants = null;
+                } else {
+                    Class<?> getterType = getter.getReturnType();
+                    Class<? extends WComponent<?>> type = (Class<? extends WComponent<?>>) annotation.type();
+                    if (Enum.class.isAssignableFrom(getterType)) {
+                        constructor = type.getConstructor(List.class, Object.class);
+                        enumConstants = getterType.getEnumConstants();
+                    } else {
+                        constructor = type.getConstructor(getterType);
+                        enumConstants = null;
+                    }
+                    log.debug("Found constructor {}", constructor);
+                }
+
+                if (boundAccessor != null) {
+                    accessor = boundAccessor;
+                } else {
+                    Method setter = annotation.readonly() ? null : findSetter(modelClass, name);
+                    log.debug("Found setter {}", setter);
+
+                    accessor = accessorFactory.create(getter, setter);
+                }
+            } catch (@NotNull SecurityException | ReflectiveOperationException | ModelBindException e) {
+                throw new FormCreateException("Error creating form element " + name, e);
+            }
+        }
+
+        @NotNull
+        private static Method findSetter(@NotNull @NonNull Class<?> modelClass, @NotNull @NonNull String field) throws ModelBindException, NoSuchFieldException {
+            Class<?> fieldType = findField(modelClass, field).getType();
+            String name = "set" + Character.toUpperCase(field.charAt(0)) + field.substring(1);
+            try {
+                Method result = modelClass.getMethod(name, fieldType);
+                if (!Modifier.isPublic(result.getModifiers())) {
+                    throw new ModelBindException("Setter '" + name + "' has to be public!");
+                }
+                return result;
+            } catch (@NotNull SecurityException | NoSuchMethodException nsme) {
+                throw new ModelBindException("Error in call to " + modelClass + "." + name + "(" + fieldType + ")", nsme);
+            }
+        }
+
+        @NotNull
+        private static Field findField(@NotNull @NonNull Class<?> modelClass, @NotNull @NonNull String name) throws NoSuchFieldException {
+            for (Class<?> clazz = modelClass; clazz != null; clazz = clazz.getSuperclass()) {
+                for (Field field : clazz.getDeclaredFields()) {
+                    if (field.getName().equals(name)) {
+                        return field;
+                    }
+                }
+            }
+            throw new NoSuchFieldException(modelClass.getName() + "." + name);
+        }
+
+        /**
+         * Create the theme of this field, as defined by {@link FormField#theme()}.
+         *
+         * @return The new theme
+         * @throws ReflectiveOperationException If the theme could not be created.
+         */
+        @NotNull
+        ColorTheme newTheme() throws ReflectiveOperationException {
+            if (themeFactory != null) {
+                return themeFactory.get();
+            }
+            return annotation.theme().newInstance();
+        }
+
+        /**
+         * @return A new, modifiable list with all enum constants. Null, if this field is no enum.
+         */
+        @Nullable
+        List<Object> newEnumList() {
+            return enumConstants == null ? null : new ArrayList<>(Arrays.asList(enumConstants));
+        }
+
+        /**
+         * Create a new component for this field.
+         *
+         * @param value    The initial value of the component
+         * @param enumList The list from {@link #newEnumList()}, if this field is an enum
+         * @return The new component
+         * @throws ReflectiveOperationException If the component could not be created.
+         */
+        @NotNull
+        WComponent<?> newComponent(@Nullable Object value, @Nullable List<Object> enumList) throws ReflectiveOperationException {
+            if (componentFactory != null) {
+                return componentFactory.apply(value);
+            }
+            if (constructor == null) {
+                throw new IllegalStateException("No constructor present for field " + getName());
+            }
+            if (enumConstants != null) {
+                return constructor.newInstance(enumList == null ? newEnumList() : enumList, value);
+            }
+            return constructor.newInstance(value);
+        }
+    }
+}
@@ -4,17 +4,17 @@ import eu.fraho.libs.swing.exceptions.FormCreateException;
 import eu.fraho.libs.swing.exceptions.ModelBindException;
 import eu.fraho.libs.swing.widgets.base.WComponent;
 import eu.fraho.libs.swing.widgets.base.WNullable;
+import eu.fraho.libs.swing.widgets.datepicker.ColorTheme;
 import eu.fraho.libs.swing.widgets.datepicker.ThemeSupport;
 import eu.fraho.libs.swing.widgets.events.DataChangedEvent;
+import eu.fraho.libs.swing.widgets.form.FormDescriptor.FieldDescriptor;
 import lombok.NonNull;
+import lombok.Value;
 import lombok.extern.slf4j.Slf4j;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
-import java.lang.reflect.Constructor;
-import java.lang.reflect.Field;
 import java.lang.reflect.Method;
-import java.util.ArrayList;
-import java.util.EnumSet;
 import java.util.List;
 import java.util.function.Consumer;
 import java.util.stream.Stream;
@@ -30,50 +30,72 @@ final class FormElementFactory {
      * Create a {@link WComponent} suitable for a field in the given model.
      *
      * @param model              The model to use
-     * @param field              The field to create the component for
+     * @param descriptor         The cached metadata of the field to create the component for
      * @param dataChangedHandler The form which contains the created element and should handle the
      *                           {@link DataChangedEvent}s.
      * @return A component, describing the model field
-     * @throws FormCreateException If no getter for the field can be found in the model, or the
-     *                             method is not accessible.
+     * @throws FormCreateException If the getter of the field is not accessible or the component
+     *                             could not be created.
      */
-    @SuppressWarnings({"rawtypes", "unchecked"})
-    public static <E> WComponent<E> createComponent(@NotNull @NonNull FormModel model, @NotNull @NonNull Field field, @NotNull @NonNull Consumer<DataChangedEvent> dataChangedHandler) throws FormCreateException {
-        log.debug("Creating component for field {}", field);
-        try {
-            FormField anno = field.getAnnotation(FormField.class);
-            log.debug("Found annotation {}", anno);
-            Method getter = FormElementFactory.findGetter(model, field.getName());
-            log.debug("Found getter {}", getter);
-            Class<E> getterType = (Class<E>) getter.getReturnType();
-            log.debug("Found getter type {}", getterType);
-
-            Class<? extends WComponent<E>> type;
-            Constructor<? extends WComponent<E>> constr;
+    public static <E> WComponent<E> createComponent(@NotNull @NonNull FormModel model, @NotNull @NonNull FieldDescriptor descriptor, @NotNull @NonNull Consumer<DataChangedEvent> dataChangedHandler) throws FormCreateException {
+        return createComponent(model, prepare(model, descriptor), dataChangedHandler);
+    }
 
-            type = (Class<? extends WComponent<E>>) anno.type();
-            E value = (E) getter.invoke(model);
+    /**
+     * Do all the work to create the component of a field which does not need to run
+     * on the event dispatch thread: fetch the value from the model, copy the enum
+     * constants and instantiate the theme.
+     *
+     * @param model      The model to use
+     * @param descriptor The cached metadata of the field to prepare
+     * @return The prepared field
+     * @throws FormCreateException If the getter of the field is not accessible or the theme
+     *                             could not be created.
+     */
+    @NotNull
+    static PreparedField prepare(@NotNull @NonNull FormModel model, @NotNull @NonNull FieldDescriptor descriptor) throws FormCreateException {
+        log.debug("Preparing field {}", descriptor.getName());
+        try {
+            Object value = descriptor.getAccessor().getValue(model);
             log.debug("Got model value {}", value);
 
-            WComponent<E> instance;
+            List<Object> enumList = descriptor.newEnumList();
+            FormField anno = descriptor.getAnnotation();
+            ColorTheme theme = ThemeSupport.class.isAssignableFrom(anno.type()) ? descriptor.newTheme() : null;
+            return new PreparedField(descriptor, value, enumList, theme);
+        } catch (@NotNull RuntimeException | ReflectiveOperationException re) {
+            throw new FormCreateException("Error creating form element " + descriptor.getName(), re);
+        }
+    }
 
-            if (Enum.class.isAssignableFrom(getterType)) {
-                constr = type.getConstructor(List.class, Object.class);
-                List<Enum> elements = new ArrayList<>(EnumSet.allOf((Class<Enum>) getterType));
-                instance = constr.newInstance(elements, value);
-            } else {
-                constr = type.getConstructor(getter.getReturnType());
-                instance = constr.newInstance(value);
-            }
+    /**
+     * Create the {@link WComponent} for a prepared field. Has to be called on the
+     * event dispatch thread.
+     *
+     * @param model              The model to use
+     * @param field              The prepared field to create the component for
+     * @param dataChangedHandler The form which contains the created element and should handle the
+     *                           {@link DataChangedEvent}s.
+     * @return A component, describing the model field
+     * @throws FormCreateException If the component could not be created.
+     */
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    public static <E> WComponent<E> createComponent(@NotNull @NonNull FormModel model, @NotNull @NonNull PreparedField field, @NotNull @NonNull Consumer<DataChangedEvent> dataChangedHandler) throws FormCreateException {
+        FieldDescriptor descriptor = field.getDescriptor();
+        log.debug("Creating component for field {}", descriptor.getName());
+        try {
+            FormField anno = descriptor.getAnnotation();
+
+            WComponent<E> instance = (WComponent<E>) descriptor.newComponent(field.getValue(), field.getEnumList());
             log.debug("Created instance {}", instance);
 
             instance.setReadonly(anno.readonly());
             instance.setupByAnnotation(anno);
             log.debug("Setup by annotation finished");
 
-            if (instance instanceof ThemeSupport) {
+            if (instance instanceof ThemeSupport && field.getTheme() != null) {
                 log.debug("Setting theme");
-                ((ThemeSupport) instance).setTheme(anno.theme().newInstance());
+                ((ThemeSupport) instance).setTheme(field.getTheme());
             }
 
             if (instance instanceof WNullable) {
@@ -83,35 +105,51 @@ final class FormElementFactory {
 
             if (!anno.readonly()) {
                 log.debug("Binding to model and adding data change listener");
-                instance.bindModel(model, field.getType(), field.getName());
+                instance.bindModel(model, descriptor.getAccessor());
                 instance.addDataChangedListener(dataChangedHandler);
             }
 
             return instance;
         } catch (@NotNull IllegalArgumentException | ReflectiveOperationException | SecurityException | ModelBindException iae) {
-            throw new FormCreateException("Error creating form element " + field.getName(), iae);
+            throw new FormCreateException("Error creating form element " + descriptor.getName(), iae);
         }
     }
 
     /**
      * Find and return the getter method for a specific field.
      *
-     * @param model The model to search in
-     * @param field The field we want the getter
+     * @param modelClass The model class to search in
+     * @param field      The field we want the getter
      * @return The getter method for the given field.
      * @throws FormCreateException If no getter could be found.
      */
     @NotNull
-    public static Method findGetter(@NotNull @NonNull FormModel model, @NotNull @NonNull String field) throws FormCreateException {
+    public static Method findGetter(@NotNull @NonNull Class<?> modelClass, @NotNull @NonNull String field) throws FormCreateException {
         String getter = "get" + Character.toUpperCase(field.charAt(0)) + field.substring(1);
-        log.debug("Searching for {}.{}()", model.getClass().getName(), getter);
+        log.debug("Searching for {}.{}()", modelClass.getName(), getter);
 
         return Stream
-                .of(model.getClass().getMethods())
+                .of(modelClass.getMethods())
                 .filter(method -> method.getName().equals(getter))
                 .findAny()
                 .orElseThrow(
                         () -> new FormCreateException("No getter found: "
-                                + model.getClass() + "." + getter + "()"));
+                                + modelClass + "." + getter + "()"));
+    }
+
+    /**
+     * A field whose value, enum constants and theme are already fetched, ready to
+     * create the component from.
+     */
+    @Value
+    static class PreparedField {
+        @NotNull
+        private FieldDescriptor descriptor;
+        @Nullable
+        private Object value;
+        @Nullable
+        private List<Object> enumList;
+        @Nullable
+        private ColorTheme theme;
     }
 }
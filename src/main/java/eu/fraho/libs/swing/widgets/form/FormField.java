@@ -122,6 +122,39 @@ public @interface FormField {
      */
     int rows() default DEFAULT_ROWS;
 
+    /**
+     * Used for {@link WList} only.<br>
+     *
+     * @return The fixed width of all cells in pixels, or -1 to measure each item.
+     */
+    int cellWidth() default -1;
+
+    /**
+     * Used for {@link WList} only.<br>
+     *
+     * @return The fixed height of all cells in pixels, or -1 to measure each item.
+     */
+    int cellHeight() default -1;
+
+    /**
+     * Used for {@link WList} only.<br>
+     * All cells are sized like a cell showing this text. Overridden by
+     * {@link #cellWidth()} and {@link #cellHeight()}.
+     *
+     * @return The text of the prototype cell, or empty to measure each item.
+     */
+    @NotNull String prototypeCellValue() default "";
+
+    /**
+     * Used for lazy {@link WForm}s only.<br>
+     * All fields of the same section are grouped in a collapsible panel, whose
+     * components are created on first expansion. Fields without a section are
+     * always created.
+     *
+     * @return The caption of the section
+     */
+    @NotNull String section() default "";
+
     enum SpinnerType {
         LONG,
         BIGDECIMAL,
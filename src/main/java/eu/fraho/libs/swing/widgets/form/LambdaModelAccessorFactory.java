@@ -0,0 +1,165 @@
+package eu.fraho.libs.swing.widgets.form;
+
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.lang.invoke.*;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+/**
+ * Default {@link ModelAccessorFactory}.<br>
+ * The getter and setter are converted into method handles once and then bound to
+ * generated {@link Function} and {@link BiConsumer} implementations using the
+ * {@link LambdaMetafactory}, so calling the accessor is as fast as a direct call.
+ * If the model classes are not visible from the classloader of this library, plain
+ * method handles are used instead.
+ *
+ * @author Simon Frankenberger
+ */
+@Slf4j
+public class LambdaModelAccessorFactory implements ModelAccessorFactory {
+    private static final MethodType GETTER_TYPE = MethodType.methodType(Object.class, Object.class);
+    private static final MethodType SETTER_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
+
+    @NotNull
+    private final MethodHandles.Lookup lookup = MethodHandles.lookup();
+
+    @NotNull
+    private static Class<?> box(@NotNull @NonNull Class<?> type) {
+        return MethodType.methodType(type).wrap().returnType();
+    }
+
+    @Override
+    @NotNull
+    public ModelAccessor create(@Nullable Method getter, @Nullable Method setter) throws ReflectiveOperationException {
+        log.debug("Creating accessor for getter {} and setter {}", getter, setter);
+        return new LambdaModelAccessor(
+                getter == null ? null : createGetter(getter),
+                setter == null ? null : createSetter(setter),
+                getter == null ? String.valueOf(setter) : getter.toString());
+    }
+
+    @NotNull
+    @SuppressWarnings("unchecked")
+    private Function<Object, Object> createGetter(@NotNull @NonNull Method getter) throws ReflectiveOperationException {
+        MethodHandle handle = lookup.unreflect(getter);
+        if (isVisible(getter.getDeclaringClass(), getter.getReturnType())) {
+            try {
+                CallSite site = LambdaMetafactory.metafactory(lookup, "apply",
+                        MethodType.methodType(Function.class), GETTER_TYPE, handle,
+                        MethodType.methodType(box(getter.getReturnType()), getter.getDeclaringClass()));
+                return (Function<Object, Object>) site.getTarget().invoke();
+            } catch (Throwable t) {
+                log.debug("Unable to create lambda for {}, falling back to method handle", getter, t);
+            }
+        }
+
+        MethodHandle generic = handle.asType(GETTER_TYPE);
+        return model -> {
+            try {
+                return generic.invokeExact(model);
+            } catch (RuntimeException | Error e) {
+                throw e;
+            } catch (Throwable t) {
+                throw new IllegalStateException(t);
+            }
+        };
+    }
+
+    @NotNull
+    @SuppressWarnings("unchecked")
+    private BiConsumer<Object, Object> createSetter(@NotNull @NonNull Method setter) throws ReflectiveOperationException {
+        MethodHandle handle = lookup.unreflect(setter);
+        Class<?> type = setter.getParameterTypes()[0];
+        if (isVisible(setter.getDeclaringClass(), type)) {
+            try {
+                CallSite site = LambdaMetafactory.metafactory(lookup, "accept",
+                        MethodType.methodType(BiConsumer.class), SETTER_TYPE, handle,
+                        MethodType.methodType(void.class, setter.getDeclaringClass(), box(type)));
+                return (BiConsumer<Object, Object>) site.getTarget().invoke();
+            } catch (Throwable t) {
+                log.debug("Unable to create lambda for {}, falling back to method handle", setter, t);
+            }
+        }
+
+        MethodHandle generic = handle.asType(SETTER_TYPE);
+        return (model, value) -> {
+            try {
+                generic.invokeExact(model, value);
+            } catch (RuntimeException | Error e) {
+                throw e;
+            } catch (Throwable t) {
+                throw new IllegalStateException(t);
+            }
+        };
+    }
+
+    /**
+     * The generated lambda classes are defined in the classloader of this library,
+     * so they may only reference public classes visible from there.
+     */
+    private boolean isVisible(@NotNull @NonNull Class<?>... types) {
+        ClassLoader loader = lookup.lookupClass().getClassLoader();
+        for (Class<?> type : types) {
+            if (type.isPrimitive()) {
+                continue;
+            }
+            for (Class<?> clazz = type; clazz != null; clazz = clazz.getEnclosingClass()) {
+                if (!Modifier.isPublic(clazz.getModifiers())) {
+                    return false;
+                }
+            }
+            try {
+                if (Class.forName(type.getName(), false, loader) != type) {
+                    return false;
+                }
+            } catch (ClassNotFoundException cnfe) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static final class LambdaModelAccessor implements ModelAccessor {
+        @Nullable
+        private final Function<Object, Object> getter;
+        @Nullable
+        private final BiConsumer<Object, Object> setter;
+        @NotNull
+        private final String description;
+
+        private LambdaModelAccessor(@Nullable Function<Object, Object> getter, @Nullable BiConsumer<Object, Object> setter, @NotNull @NonNull String description) {
+            this.getter = getter;
+            this.setter = setter;
+            this.description = description;
+        }
+
+        @Override
+        @Nullable
+        public Object getValue(@NotNull @NonNull FormModel model) throws IllegalStateException {
+            if (getter == null) {
+                throw new IllegalStateException("No getter available for " + description);
+            }
+            return getter.apply(model);
+        }
+
+        @Override
+        public void setValue(@NotNull @NonNull FormModel model, @Nullable Object value) throws IllegalStateException {
+            if (setter == null) {
+                throw new IllegalStateException("No setter available for " + description);
+            }
+            setter.accept(model, value);
+        }
+
+        @Override
+        @NotNull
+        public String toString() {
+            return "LambdaModelAccessor(" + description + ")";
+        }
+    }
+}
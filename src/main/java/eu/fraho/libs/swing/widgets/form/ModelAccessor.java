@@ -0,0 +1,34 @@
+package eu.fraho.libs.swing.widgets.form;
+
+import eu.fraho.libs.swing.widgets.base.WComponent;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Reads and writes a single property of a {@link FormModel}.<br>
+ * Accessors are created once per model class and property by a
+ * {@link ModelAccessorFactory} and are then used by the {@link WForm} and the
+ * bound {@link WComponent}s to transfer the values between model and component.
+ *
+ * @author Simon Frankenberger
+ */
+public interface ModelAccessor {
+    /**
+     * Read the property value from the given model.
+     *
+     * @param model The model to read from
+     * @return The current value of the property
+     * @throws IllegalStateException If this accessor has no getter.
+     */
+    @Nullable
+    Object getValue(@NotNull FormModel model) throws IllegalStateException;
+
+    /**
+     * Write the property value into the given model.
+     *
+     * @param model The model to write to
+     * @param value The new value of the property
+     * @throws IllegalStateException If this accessor has no setter.
+     */
+    void setValue(@NotNull FormModel model, @Nullable Object value) throws IllegalStateException;
+}
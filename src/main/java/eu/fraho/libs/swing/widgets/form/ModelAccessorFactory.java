@@ -0,0 +1,27 @@
+package eu.fraho.libs.swing.widgets.form;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.lang.reflect.Method;
+
+/**
+ * Creates the {@link ModelAccessor}s used by a {@link WForm}.<br>
+ * The default implementation is the {@link LambdaModelAccessorFactory}, a different
+ * one may be set using {@link WForm#setModelAccessorFactory(ModelAccessorFactory)}.
+ *
+ * @author Simon Frankenberger
+ */
+@FunctionalInterface
+public interface ModelAccessorFactory {
+    /**
+     * Create an accessor for the given getter and setter methods.
+     *
+     * @param getter The public getter of the property, may be null for write-only access
+     * @param setter The public setter of the property, may be null for read-only access
+     * @return A new accessor
+     * @throws ReflectiveOperationException If the methods are not accessible.
+     */
+    @NotNull
+    ModelAccessor create(@Nullable Method getter, @Nullable Method setter) throws ReflectiveOperationException;
+}
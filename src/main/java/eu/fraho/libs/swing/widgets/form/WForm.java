@@ -7,10 +7,16 @@ import eu.fraho.libs.swing.widgets.WLabel;
 import eu.fraho.libs.swing.widgets.WPathChooser;
 import eu.fraho.libs.swing.widgets.WTextArea;
 import eu.fraho.libs.swing.widgets.base.AbstractWComponent;
+import eu.fraho.libs.swing.widgets.base.CoalescingPolicy;
 import eu.fraho.libs.swing.widgets.base.WComponent;
 import eu.fraho.libs.swing.widgets.datepicker.ColorTheme;
 import eu.fraho.libs.swing.widgets.datepicker.DefaultColorTheme;
 import eu.fraho.libs.swing.widgets.datepicker.ThemeSupport;
+import eu.fraho.libs.swing.widgets.events.DataChangedEvent;
+import eu.fraho.libs.swing.widgets.events.FormCommitEvent;
+import eu.fraho.libs.swing.widgets.events.NonRetainingListener;
+import eu.fraho.libs.swing.widgets.form.FormDescriptor.FieldDescriptor;
+import eu.fraho.libs.swing.widgets.form.FormElementFactory.PreparedField;
 import lombok.Getter;
 import lombok.NonNull;
 import lombok.Value;
@@ -20,47 +26,183 @@ import org.jetbrains.annotations.Nullable;
 
 import javax.swing.*;
 import java.awt.*;
-import java.lang.reflect.Field;
-import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
-import java.util.AbstractMap.SimpleEntry;
 import java.util.*;
 import java.util.List;
-import java.util.Map.Entry;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
 import java.util.concurrent.atomic.AtomicBoolean;
-import java.util.stream.Stream;
 
 @Slf4j
 @SuppressWarnings("unused")
 public class WForm<T extends FormModel> extends AbstractWComponent<T, JPanel> implements ThemeSupport {
     private final AtomicBoolean modelChangeRunning = new AtomicBoolean(false);
+    /**
+     * true while the components are rebound to a new model, their events are not forwarded then
+     */
+    private boolean rebinding = false;
     private final Map<String, FieldInfo> components = new HashMap<>();
+    /**
+     * names of all fields whose component may have changed, maintained by the {@link DataChangedEvent}s.
+     * This is a superset of the changed fields: names are only added while an event is
+     * dispatched, as another listener may still veto and revert the component.
+     * Entries are pruned when queried.
+     */
+    private final Set<String> dirtyFields = new LinkedHashSet<>();
+
+    /**
+     * the fields whose value change is held back by their {@link CoalescingPolicy}
+     */
+    private final Set<String> deferredFields = new HashSet<>();
+    /**
+     * all sections of a lazy form, by caption
+     */
+    private final Map<String, Section> sections = new LinkedHashMap<>();
+    /**
+     * the sections of all fields whose component is not yet created, by field name
+     */
+    private final Map<String, Section> pendingFields = new HashMap<>();
+    /**
+     * should the components of the {@link FormField#section() sections} be created on demand?
+     */
+    @Getter
+    private final boolean lazy;
     @Getter
     private int columns;
     @Getter
     private boolean readonly = false;
     @Getter
     private ColorTheme theme = new DefaultColorTheme();
+    /**
+     * was the theme explicitly set? If so, it's applied to lazily created components too
+     */
+    private boolean themeChanged = false;
+    /**
+     * fields prepared by {@link #buildAsync}, consumed while building the components
+     */
+    @Nullable
+    private Map<String, PreparedField> preparedFields;
 
     public WForm(@NotNull @NonNull T model) throws FormCreateException {
         this(model, 1);
     }
 
     public WForm(@NotNull @NonNull T model, int columns) throws FormCreateException {
+        this(model, columns, false);
+    }
+
+    /**
+     * Create a new form.<br>
+     * Lazy forms group the fields by their {@link FormField#section()} into collapsible
+     * sections. The components of a section are created, and their values read from the
+     * model, when the section is expanded or one of its components is requested by
+     * {@link #getComponent(String)}. Fields without a section are always created.
+     *
+     * @param model   The model to display
+     * @param columns The number of columns
+     * @param lazy    Create the components of the sections on demand?
+     * @throws FormCreateException If the model contains invalid field definitions.
+     */
+    public WForm(@NotNull @NonNull T model, int columns, boolean lazy) throws FormCreateException {
+        this(model, columns, lazy, null);
+    }
+
+    private WForm(@NotNull @NonNull T model, int columns, boolean lazy, @Nullable Map<String, PreparedField> preparedFields) throws FormCreateException {
         super(new JPanel(new GridBagLayout()), model);
         this.columns = columns;
-        log.debug("{}: Building form for model {}", getName(), model);
-        buildComponent(model);
+        this.lazy = lazy;
+        this.preparedFields = preparedFields;
+        log.debug("{}: Building {}form for model {}", getName(), lazy ? "lazy " : "", model);
+        try {
+            buildComponent(model);
+        } finally {
+            this.preparedFields = null;
+        }
+    }
+
+    /**
+     * Build a new form in the background.
+     *
+     * @param model The model to display
+     * @param <T>   The type of the model
+     * @return The future form
+     * @see #buildAsync(FormModel, int, boolean, Executor, FormBuildProgress)
+     */
+    @NotNull
+    public static <T extends FormModel> CompletableFuture<WForm<T>> buildAsync(@NotNull @NonNull T model) {
+        return buildAsync(model, 1, false, ForkJoinPool.commonPool(), null);
+    }
+
+    /**
+     * Build a new form in the background.<br>
+     * The model is scanned, all values are fetched and the enum constants and themes
+     * are prepared using the given executor. Only the swing components are then created
+     * on the event dispatch thread, which also completes the returned future.
+     * For lazy forms, only the fields without a section are prepared.
+     *
+     * @param model    The model to display
+     * @param columns  The number of columns
+     * @param lazy     Create the components of the sections on demand?
+     * @param executor The executor to prepare the fields with
+     * @param progress Notified about every prepared field, called from the executor.
+     * @param <T>      The type of the model
+     * @return The future form, completed exceptionally with a {@link FormCreateException}
+     * if the model contains invalid field definitions.
+     */
+    @NotNull
+    public static <T extends FormModel> CompletableFuture<WForm<T>> buildAsync(@NotNull @NonNull T model, int columns, boolean lazy, @NotNull @NonNull Executor executor, @Nullable FormBuildProgress progress) {
+        return CompletableFuture
+                .supplyAsync(() -> prepareFields(model, lazy, progress), executor)
+                .thenApplyAsync(prepared -> new WForm<>(model, columns, lazy, prepared), SwingUtilities::invokeLater);
     }
 
     @NotNull
-    private static Map.Entry<Field, FormField> mapToEntry(@NotNull @NonNull Field field) {
-        return new SimpleEntry<>(field, field.getAnnotation(FormField.class));
+    private static Map<String, PreparedField> prepareFields(@NotNull @NonNull FormModel model, boolean lazy, @Nullable FormBuildProgress progress) throws FormCreateException {
+        FormDescriptor descriptor = FormDescriptor.of(model.getClass());
+        List<FieldDescriptor> fields = lazy
+                ? descriptor.getSections().getOrDefault("", Collections.emptyList())
+                : descriptor.getFields();
+        log.debug("Preparing {} fields of {}", fields.size(), model.getClass());
+
+        Map<String, PreparedField> result = new HashMap<>();
+        for (FieldDescriptor field : fields) {
+            result.put(field.getName(), FormElementFactory.prepare(model, field));
+            if (progress != null) {
+                progress.fieldPrepared(result.size(), fields.size());
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Set the factory used to create the {@link ModelAccessor}s of all forms
+     * built afterwards. Defaults to the {@link LambdaModelAccessorFactory}.
+     *
+     * @param factory The factory to use
+     */
+    public static void setModelAccessorFactory(@NotNull @NonNull ModelAccessorFactory factory) {
+        FormDescriptor.setAccessorFactory(factory);
+    }
+
+    /**
+     * Get the write-only accessor for the given setter, as used by
+     * {@link WComponent#bindModel(FormModel, Class, String)}. The accessor is created
+     * by the configured {@link ModelAccessorFactory} once per setter.
+     *
+     * @param setter The public setter of the property
+     * @return The accessor of the setter
+     * @throws ReflectiveOperationException If the setter is not accessible.
+     */
+    @NotNull
+    public static ModelAccessor getSetterAccessor(@NotNull @NonNull Method setter) throws ReflectiveOperationException {
+        return FormDescriptor.getSetterAccessor(setter);
     }
 
     public void setTheme(ColorTheme theme) {
         log.debug("{}: Changing theme to {}", getName(), theme.getClass());
         this.theme = theme;
+        this.themeChanged = true;
 
         components.entrySet().stream()
                 .map(e -> e.getValue().getComponent())
@@ -70,46 +212,64 @@ public class WForm<T extends FormModel> extends AbstractWComponent<T, JPanel> im
     }
 
     @NotNull
-    private List<Class<?>> buildClassTree(@NotNull @NonNull T model) {
-        List<Class<?>> classes = new ArrayList<>();
-        Class<?> clazz = model.getClass();
-        do {
-            classes.add(0, clazz);
-            clazz = clazz.getSuperclass();
-        } while (clazz != null && FormModel.class.isAssignableFrom(clazz));
-        return classes;
-    }
-
-    private void buildComponent(@NotNull @NonNull T model) {
-        List<Class<?>> classes = buildClassTree(model);
+    private static GridBagConstraints createConstraints() {
         GridBagConstraints gbc = new GridBagConstraints();
 
         gbc.ipadx = 4;
         gbc.gridx = 0;
         gbc.gridy = 0;
         gbc.insets = new Insets(2, 2, 2, 2);
-
-        log.debug("{}: Got {} classes to build", getName(), classes.size());
-        classes.forEach(clazz -> buildDeeper(model, gbc, clazz.getDeclaredFields()));
+        return gbc;
     }
 
-    private void buildDeeper(@NotNull @NonNull T model, @NotNull @NonNull GridBagConstraints gbc, @NotNull @NonNull Field[] fields) {
+    private void buildComponent(@NotNull @NonNull T model) {
+        FormDescriptor descriptor = FormDescriptor.of(model.getClass());
         JPanel component = getComponent();
-        log.debug("{}: Building deeper for fields {}", getName(), Arrays.toString(fields));
-        Stream.of(fields)
-                .filter(f -> f.isAnnotationPresent(FormField.class))
-                .sequential()
-                .map(WForm::mapToEntry)
-                .forEach(entry -> createComponent(model, component, gbc, entry));
+        GridBagConstraints gbc = createConstraints();
+
+        log.debug("{}: Got {} fields to build", getName(), descriptor.getFields().size());
+        if (!lazy) {
+            descriptor.getFields().forEach(field -> createComponent(model, component, gbc, field));
+            return;
+        }
+
+        descriptor.getSections().forEach((caption, fields) -> {
+            if (caption.isEmpty()) {
+                fields.forEach(field -> createComponent(model, component, gbc, field));
+            } else {
+                createSection(component, gbc, caption, fields);
+            }
+        });
+    }
+
+    private void createSection(@NotNull @NonNull JPanel component, @NotNull @NonNull GridBagConstraints gbc, @NotNull @NonNull String caption, @NotNull @NonNull List<FieldDescriptor> fields) {
+        log.debug("{}: Creating section '{}' for {} fields", getName(), caption, fields.size());
+        Section section = new Section(caption, fields);
+        sections.put(caption, section);
+        fields.forEach(field -> pendingFields.put(field.getName(), section));
+
+        if (gbc.gridx > 0) {
+            gbc.gridy++;
+            gbc.gridx = 0;
+        }
+
+        GridBagConstraints row = (GridBagConstraints) gbc.clone();
+        row.gridwidth = GridBagConstraints.REMAINDER;
+        row.fill = GridBagConstraints.HORIZONTAL;
+        row.anchor = GridBagConstraints.NORTHWEST;
+        component.add(section.header, row);
+        row.gridy++;
+        component.add(section.content, row);
+
+        gbc.gridy = row.gridy + 1;
     }
 
-    private void createComponent(@NotNull @NonNull T model, @NotNull @NonNull JPanel component, @NotNull @NonNull GridBagConstraints gbc, @NotNull @NonNull Entry<Field, FormField> entry) {
+    private void createComponent(@NotNull @NonNull T model, @NotNull @NonNull JPanel component, @NotNull @NonNull GridBagConstraints gbc, @NotNull @NonNull FieldDescriptor field) {
         int maxColumnIndex = columns * 3 - 1;
 
-        Field field = entry.getKey();
-        FormField anno = entry.getValue();
+        FormField anno = field.getAnnotation();
 
-        log.debug("{}: Creating component for field '{}' with annotation '{}'", getName(), field, anno);
+        log.debug("{}: Creating component for field '{}' with annotation '{}'", getName(), field.getName(), anno);
         if (gbc.gridx >= maxColumnIndex) {
             gbc.gridy++;
             gbc.gridx = 0;
@@ -122,7 +282,27 @@ public class WForm<T extends FormModel> extends AbstractWComponent<T, JPanel> im
         component.add(new WLabel(anno.caption()), gbc);
         gbc.gridx++;
 
-        WComponent<?> wfield = FormElementFactory.createComponent(model, field, this::invokeListeners);
+        PreparedField prepared = preparedFields == null ? null : preparedFields.get(field.getName());
+        if (prepared == null) {
+            prepared = FormElementFactory.prepare(model, field);
+        }
+
+        NonRetainingListener forwarder = event -> fieldChanged(field.getName(), event);
+        WComponent<?> wfield = FormElementFactory.createComponent(model, prepared, forwarder);
+        if (anno.readonly()) {
+            // readonly fields are neither bound nor forwarded, but may still be changed by code
+            NonRetainingListener dirtyTracker = event -> updateDirty(field.getName(), event);
+            wfield.addDataChangedListener(dirtyTracker);
+        } else if (readonly) {
+            wfield.setReadonly(true);
+        }
+        if (themeChanged && wfield instanceof ThemeSupport) {
+            ((ThemeSupport) wfield).setTheme(theme);
+        }
+        wfield.addPendingChangeListener(pending -> fieldDeferred(field.getName(), wfield, pending));
+        if (getCoalescingPolicy() != CoalescingPolicy.none()) {
+            wfield.setCoalescingPolicy(getCoalescingPolicy());
+        }
         gbc.gridwidth = 2;
         gbc.anchor = GridBagConstraints.NORTHWEST;
 
@@ -135,7 +315,7 @@ public class WForm<T extends FormModel> extends AbstractWComponent<T, JPanel> im
         }
 
         // save field in map
-        components.put(field.getName(), new FieldInfo(wfield, anno.readonly()));
+        components.put(field.getName(), new FieldInfo(wfield, field));
 
         // add element to container if it's a component
         component.add((Component) wfield, gbc);
@@ -145,7 +325,7 @@ public class WForm<T extends FormModel> extends AbstractWComponent<T, JPanel> im
     @SuppressWarnings({"unchecked", "rawtypes"})
     private void checkAndUpdateFromModel(@NotNull @NonNull String key, @NotNull @NonNull FieldInfo value) {
         FormModel model = getValue();
-        Object modelValue = getModelValue(model, key);
+        Object modelValue = getModelValue(model, value.getDescriptor());
         if (!Objects.equals(modelValue, value.getComponent().getValue())) {
             log.debug("{}: Model field '{}' has changed, setting component value to '{}'.", getName(), key, modelValue);
             WComponent component = value.getComponent();
@@ -154,12 +334,81 @@ public class WForm<T extends FormModel> extends AbstractWComponent<T, JPanel> im
         }
     }
 
+    /**
+     * Use the given policy for this form and all of its fields, including the
+     * fields of sections built later. So the listeners of this form get the
+     * coalesced changes of the fields.
+     *
+     * @param policy The new policy
+     */
+    @Override
+    public void setCoalescingPolicy(@NotNull @NonNull CoalescingPolicy policy) {
+        super.setCoalescingPolicy(policy);
+        components.values().forEach(info -> info.getComponent().setCoalescingPolicy(policy));
+    }
+
+    /**
+     * Deliver the pending changes of this form and all of its fields.
+     *
+     * @throws ChangeVetoException If a listener vetoes against any change. All other pending changes are delivered nevertheless.
+     */
+    @Override
+    public void flushPendingChanges() throws ChangeVetoException {
+        ChangeVetoException veto = null;
+        for (FieldInfo info : new ArrayList<>(components.values())) {
+            try {
+                info.getComponent().flushPendingChanges();
+            } catch (ChangeVetoException cve) {
+                if (veto == null) {
+                    veto = cve;
+                } else {
+                    veto.addSuppressed(cve);
+                }
+            }
+        }
+        super.flushPendingChanges();
+        if (veto != null) {
+            throw veto;
+        }
+    }
+
+    /**
+     * @return Does this form or any of its fields hold back a value change?
+     */
+    @Override
+    public boolean hasPendingChanges() {
+        return super.hasPendingChanges() || !deferredFields.isEmpty();
+    }
+
+    private void fieldDeferred(@NotNull String name, @NotNull WComponent<?> wfield, boolean pending) {
+        FieldInfo info = components.get(name);
+        if (info == null || info.getComponent() != wfield) {
+            // component of a previous build
+            return;
+        }
+        if (pending) {
+            deferredFields.add(name);
+        } else {
+            deferredFields.remove(name);
+        }
+    }
+
+    /**
+     * Add the fields whose change is held back by their {@link CoalescingPolicy} to the
+     * dirty fields. They did not fire any event yet, but are changed nevertheless.
+     */
+    private void addPendingFields() {
+        dirtyFields.addAll(deferredFields);
+    }
+
     @Override
     public void commitChanges() {
         if (modelChangeRunning.compareAndSet(false, true)) {
             log.debug("{}: Committing changes", getName());
             try {
-                components.values().stream()
+                flushPendingChanges();
+                new ArrayList<>(dirtyFields).stream()
+                        .map(components::get)
                         .map(FieldInfo::getComponent)
                         .forEach(WComponent::commitChanges);
                 super.commitChanges();
@@ -169,6 +418,83 @@ public class WForm<T extends FormModel> extends AbstractWComponent<T, JPanel> im
         }
     }
 
+    /**
+     * Commit all changed fields as one transaction.<br>
+     * The values are written to the model in one pass and the listeners of this form
+     * get one {@link FormCommitEvent} with all changes, instead of one event per field.
+     * The components check their new committed values before the model is written.
+     * If a component, a setter of the model or a listener vetoes, the already written
+     * fields are restored and all components keep their uncommitted values.
+     *
+     * @throws ChangeVetoException If a component, a setter or a listener vetoes against the changes.
+     */
+    public void commitBatch() throws ChangeVetoException {
+        if (!modelChangeRunning.compareAndSet(false, true)) {
+            return;
+        }
+
+        try {
+            flushPendingChanges();
+            List<String> changed = new ArrayList<>(getDirtyFields());
+            if (changed.isEmpty()) {
+                log.debug("{}: Ignoring batch commit, nothing changed", getName());
+                return;
+            }
+
+            log.debug("{}: Committing {} fields in one batch", getName(), changed.size());
+            T model = getValue();
+            Map<String, Object> oldValues = new LinkedHashMap<>();
+            Map<String, Object> newValues = new LinkedHashMap<>();
+            List<Runnable> marked = new ArrayList<>();
+            List<FieldDescriptor> written = new ArrayList<>();
+            try {
+                for (String name : changed) {
+                    FieldInfo info = components.get(name);
+                    oldValues.put(name, getModelValue(model, info.getDescriptor()));
+                    newValues.put(name, info.getComponent().getValue());
+                }
+
+                // let the components decline their new values before anything is written
+                for (String name : changed) {
+                    marked.add(components.get(name).getComponent().markCommitted());
+                }
+
+                for (String name : changed) {
+                    FieldInfo info = components.get(name);
+                    if (!info.isAnnotationReadonly()) {
+                        info.getDescriptor().getAccessor().setValue(model, newValues.get(name));
+                        written.add(info.getDescriptor());
+                    }
+                }
+
+                // the model values may equal the new ones, the commit happened nevertheless
+                fireListeners(new FormCommitEvent(this, oldValues, newValues));
+            } catch (RuntimeException re) {
+                log.debug("{}: Batch commit failed, restoring {} fields and {} components", getName(), written.size(), marked.size());
+                ChangeVetoException cve = re instanceof ChangeVetoException ? (ChangeVetoException) re : new ChangeVetoException(re);
+                for (FieldDescriptor field : written) {
+                    try {
+                        field.getAccessor().setValue(model, oldValues.get(field.getName()));
+                    } catch (RuntimeException re2) {
+                        cve.addSuppressed(re2);
+                    }
+                }
+                for (Runnable undo : marked) {
+                    try {
+                        undo.run();
+                    } catch (RuntimeException re2) {
+                        cve.addSuppressed(re2);
+                    }
+                }
+                throw cve;
+            }
+
+            dirtyFields.removeAll(changed);
+        } finally {
+            modelChangeRunning.compareAndSet(true, false);
+        }
+    }
+
     @Override
     protected void currentValueChanging(@Nullable T newVal) throws ChangeVetoException {
         if (newVal == null) {
@@ -179,9 +505,13 @@ public class WForm<T extends FormModel> extends AbstractWComponent<T, JPanel> im
         if (Objects.equals(getValue(), newVal)) {
             return;
         }
-        log.debug("{}: Setting new value ", getName(), newVal);
+        log.debug("{}: Setting new value {}", getName(), newVal);
         try {
-            rebuild(newVal);
+            if (getValue().getClass() == newVal.getClass()) {
+                rebind(newVal);
+            } else {
+                rebuild(newVal);
+            }
         } catch (FormCreateException mbe) {
             throw new ChangeVetoException("Invalid model.", mbe);
         }
@@ -213,25 +543,82 @@ public class WForm<T extends FormModel> extends AbstractWComponent<T, JPanel> im
     @SuppressWarnings("unchecked")
     @NotNull
     public <E> WComponent<E> getComponent(@NotNull @NonNull String modelName) throws NoSuchElementException {
+        Section section = pendingFields.get(modelName);
+        if (section != null) {
+            section.build(getValue());
+        }
         return (WComponent<E>) Optional.ofNullable(components.get(modelName)).orElseThrow(NoSuchElementException::new).getComponent();
     }
 
+    /**
+     * Expand or collapse a section of a lazy form. The components of the section are
+     * created on first expansion.
+     *
+     * @param caption  The caption of the section
+     * @param expanded Expand the section?
+     * @throws NoSuchElementException The named section was not found in this form.
+     */
+    public void setSectionExpanded(@NotNull @NonNull String caption, boolean expanded) throws NoSuchElementException {
+        Optional.ofNullable(sections.get(caption)).orElseThrow(NoSuchElementException::new).setExpanded(getValue(), expanded);
+    }
+
+    /**
+     * @param caption The caption of the section
+     * @return Is the section expanded?
+     * @throws NoSuchElementException The named section was not found in this form.
+     */
+    public boolean isSectionExpanded(@NotNull @NonNull String caption) throws NoSuchElementException {
+        return Optional.ofNullable(sections.get(caption)).orElseThrow(NoSuchElementException::new).header.isSelected();
+    }
+
     @Nullable
-    private Object getModelValue(@NotNull @NonNull FormModel model, @NotNull @NonNull String field) {
-        Method getter = FormElementFactory.findGetter(model, field);
+    private Object getModelValue(@NotNull @NonNull FormModel model, @NotNull @NonNull FieldDescriptor field) {
+        ModelAccessor accessor = field.getAccessor();
         try {
-            log.debug("{}: Getting value from model with {}", getName(), getter);
-            return getter.invoke(model);
-        } catch (IllegalAccessException | IllegalArgumentException | InvocationTargetException e) {
-            throw new FormCreateException("Unable to fetch new value for field '" + field + " in model '" + model.getClass() + "::" + model + "'.", e);
+            log.debug("{}: Getting value from model with {}", getName(), accessor);
+            return accessor.getValue(model);
+        } catch (RuntimeException e) {
+            throw new FormCreateException("Unable to fetch new value for field '" + field.getName() + " in model '" + model.getClass() + "::" + model + "'.", e);
         }
     }
 
+    /**
+     * Checks if any field has uncommitted changes, including the changes still held
+     * back by the {@link CoalescingPolicy}. Pending changes are not delivered.
+     *
+     * @return Has any field changed?
+     */
     @Override
     public boolean hasChanged() {
-        return components.values().stream()
-                .map(FieldInfo::getComponent)
-                .anyMatch(WComponent::hasChanged);
+        Iterator<String> iterator = dirtyFields.iterator();
+        while (iterator.hasNext()) {
+            if (components.get(iterator.next()).getComponent().hasChanged()) {
+                return true;
+            }
+            iterator.remove();
+        }
+        for (String name : deferredFields) {
+            if (components.get(name).getComponent().hasChanged()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns the names of all model attributes whose component has uncommitted changes,
+     * including the changes still held back by the {@link CoalescingPolicy}. Pending
+     * changes are not delivered.
+     *
+     * @return The changed attributes, in order of their first change
+     */
+    @NotNull
+    public Set<String> getDirtyFields() {
+        addPendingFields();
+
+        // drop fields which were committed, rolled back or reverted by a veto
+        dirtyFields.removeIf(name -> !components.get(name).getComponent().hasChanged());
+        return Collections.unmodifiableSet(new LinkedHashSet<>(dirtyFields));
     }
 
     @Override
@@ -248,11 +635,83 @@ public class WForm<T extends FormModel> extends AbstractWComponent<T, JPanel> im
         JPanel component = getComponent();
         component.removeAll();
         components.clear();
+        dirtyFields.clear();
+        deferredFields.clear();
+        Set<String> expanded = new HashSet<>();
+        sections.forEach((caption, section) -> {
+            if (section.header.isSelected()) {
+                expanded.add(caption);
+            }
+        });
+        sections.clear();
+        pendingFields.clear();
         buildComponent(model);
+        expanded.stream()
+                .map(sections::get)
+                .filter(Objects::nonNull)
+                .forEach(section -> section.setExpanded(model, true));
         validate();
         repaint();
     }
 
+    /**
+     * Fast path for a new model of the same class: the existing components are kept,
+     * bound to the new model and only updated if their value differs.
+     * If any component vetoes against its new value, the form is rebuilt from scratch.
+     *
+     * @param model The new model
+     * @throws FormCreateException If the values of the new model could not be read.
+     */
+    private void rebind(@NotNull @NonNull T model) throws FormCreateException {
+        log.debug("{}: Rebinding components to new model", getName());
+        rebinding = true;
+        try {
+            components.values().forEach(info -> rebindComponent(model, info));
+        } catch (ChangeVetoException cve) {
+            log.info("{}: Component rejected value of new model, rebuilding form", getName(), cve);
+            rebuild(model);
+        } finally {
+            rebinding = false;
+        }
+    }
+
+    /**
+     * Handler for the {@link DataChangedEvent}s of all bound components. The event is
+     * passed on to the listeners of this form, detached if any of them may keep it.
+     *
+     * @param name  The name of the changed field
+     * @param event The event of the component
+     * @throws ChangeVetoException When one of the listeners vetoes against this event.
+     */
+    private void fieldChanged(@NotNull @NonNull String name, @NotNull @NonNull DataChangedEvent event) throws ChangeVetoException {
+        updateDirty(name, event);
+        if (!rebinding) {
+            invokeListeners(hasRetainingListeners() ? event.detach() : event);
+        }
+    }
+
+    private void updateDirty(@NotNull @NonNull String name, @NotNull @NonNull DataChangedEvent event) {
+        // never remove here, a later listener may veto and restore the changed value
+        if (event.getSource().hasChanged()) {
+            dirtyFields.add(name);
+        }
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private void rebindComponent(@NotNull @NonNull T model, @NotNull @NonNull FieldInfo info) throws ChangeVetoException {
+        FieldDescriptor field = info.getDescriptor();
+        Object modelValue = getModelValue(model, field);
+        WComponent component = info.getComponent();
+        if (!info.isAnnotationReadonly()) {
+            component.bindModel(model, field.getAccessor());
+        }
+        if (!Objects.equals(modelValue, component.getValue()) || component.hasChanged()) {
+            log.debug("{}: Model field '{}' differs, setting component value to '{}'.", getName(), field.getName(), modelValue);
+            component.setValue(modelValue);
+            component.commitChanges();
+        }
+    }
+
     public void resetFromModel() {
         if (modelChangeRunning.compareAndSet(false, true)) {
             log.debug("{}: Resetting from model");
@@ -269,7 +728,10 @@ public class WForm<T extends FormModel> extends AbstractWComponent<T, JPanel> im
         if (modelChangeRunning.compareAndSet(false, true)) {
             log.debug("{}: Rolling back changes");
             try {
-                components.values().stream()
+                // the components discard their pending changes on rollback
+                addPendingFields();
+                new ArrayList<>(dirtyFields).stream()
+                        .map(components::get)
                         .map(FieldInfo::getComponent)
                         .forEach(c -> {
                             try {
@@ -285,10 +747,61 @@ public class WForm<T extends FormModel> extends AbstractWComponent<T, JPanel> im
         }
     }
 
+    /**
+     * A collapsible group of fields in a lazy form.
+     */
+    private final class Section {
+        @NotNull
+        private final List<FieldDescriptor> fields;
+        @NotNull
+        private final JToggleButton header;
+        @NotNull
+        private final JPanel content = new JPanel(new GridBagLayout());
+        private boolean built = false;
+
+        private Section(@NotNull @NonNull String caption, @NotNull @NonNull List<FieldDescriptor> fields) {
+            this.fields = fields;
+            header = new JToggleButton(caption);
+            header.setName(WForm.this.getName() + ".Section." + caption);
+            header.setHorizontalAlignment(SwingConstants.LEADING);
+            header.addActionListener(e -> setExpanded(getValue(), header.isSelected()));
+            content.setOpaque(false);
+            content.setVisible(false);
+        }
+
+        private void setExpanded(@NotNull @NonNull T model, boolean expanded) {
+            if (expanded) {
+                build(model);
+            }
+            header.setSelected(expanded);
+            content.setVisible(expanded);
+            revalidate();
+            repaint();
+        }
+
+        private void build(@NotNull @NonNull T model) {
+            if (built) {
+                return;
+            }
+            built = true;
+            log.debug("{}: Building section '{}'", WForm.this.getName(), header.getText());
+            GridBagConstraints gbc = createConstraints();
+            fields.forEach(field -> {
+                pendingFields.remove(field.getName());
+                createComponent(model, content, gbc, field);
+            });
+        }
+    }
+
     @Value
     private static class FieldInfo {
         @NotNull
         private WComponent<?> component;
-        private boolean annotationReadonly;
+        @NotNull
+        private FieldDescriptor descriptor;
+
+        private boolean isAnnotationReadonly() {
+            return descriptor.getAnnotation().readonly();
+        }
     }
 }
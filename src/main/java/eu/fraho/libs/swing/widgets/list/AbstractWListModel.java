@@ -0,0 +1,181 @@
+package eu.fraho.libs.swing.widgets.list;
+
+import lombok.extern.slf4j.Slf4j;
+import org.jetbrains.annotations.Nullable;
+
+import javax.swing.*;
+import java.util.Objects;
+
+/**
+ * Base class for the models of the {@code WList} and {@code WComboBox}.<br>
+ * The items are not copied into the model, subclasses provide them on demand.
+ * If the model is {@link #isNullable() nullable}, a virtual null entry is shown
+ * in front of the items, without modifying the underlying data.<br>
+ * All changes are published with the smallest possible interval events.
+ *
+ * @param <E> Type of the items
+ * @author Simon Frankenberger
+ */
+@Slf4j
+public abstract class AbstractWListModel<E> extends AbstractListModel<E> implements ComboBoxModel<E> {
+    /**
+     * is the virtual null entry shown at index 0?
+     */
+    private boolean nullable = false;
+
+    /**
+     * the selected item, when used as a {@link ComboBoxModel}
+     */
+    @Nullable
+    private Object selectedItem = null;
+
+    /**
+     * @return The number of items, without the virtual null entry
+     */
+    protected abstract int getItemCount();
+
+    /**
+     * @param index The index of the item, without the virtual null entry
+     * @return The item at the given index
+     */
+    @Nullable
+    protected abstract E getItem(int index);
+
+    /**
+     * Search the given item. This default implementation does a linear search,
+     * subclasses should override this if they can do better.
+     *
+     * @param item The item to search, never null
+     * @return The index of the item without the virtual null entry, or -1 if not found
+     */
+    protected int indexOfItem(Object item) {
+        for (int i = 0; i < getItemCount(); i++) {
+            if (item.equals(getItem(i))) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * An item to compute the size of the cells with, instead of measuring all items.
+     * Models which are expensive to iterate should return one.
+     *
+     * @return The prototype item, or null to measure all items
+     */
+    @Nullable
+    public E getPrototypeItem() {
+        return null;
+    }
+
+    @Override
+    public final int getSize() {
+        return getItemCount() + getOffset();
+    }
+
+    @Override
+    @Nullable
+    public final E getElementAt(int index) {
+        if (nullable && index == 0) {
+            return null;
+        }
+        return getItem(index - getOffset());
+    }
+
+    /**
+     * Models fetching their items in the background return false for the items
+     * still loading, which are shown as null until they are available.
+     *
+     * @param index The index of the item, including the virtual null entry
+     * @return Is the item at the given index available?
+     */
+    public boolean isLoaded(int index) {
+        return true;
+    }
+
+    /**
+     * Search the index of the given value.
+     *
+     * @param value The value to search
+     * @return The index of the value, including the virtual null entry. -1 if not found.
+     */
+    public int indexOf(@Nullable Object value) {
+        if (value == null) {
+            return nullable ? 0 : -1;
+        }
+        int index = indexOfItem(value);
+        return index < 0 ? -1 : index + getOffset();
+    }
+
+    /**
+     * @return The offset of the items, 1 if the virtual null entry is shown
+     */
+    protected final int getOffset() {
+        return nullable ? 1 : 0;
+    }
+
+    public boolean isNullable() {
+        return nullable;
+    }
+
+    /**
+     * Show or hide the virtual null entry at index 0.
+     *
+     * @param nullable Show the null entry?
+     */
+    public void setNullable(boolean nullable) {
+        if (this.nullable != nullable) {
+            log.debug("Setting nullable to {}", nullable);
+            this.nullable = nullable;
+            if (nullable) {
+                fireIntervalAdded(this, 0, 0);
+            } else {
+                fireIntervalRemoved(this, 0, 0);
+            }
+        }
+    }
+
+    @Override
+    @Nullable
+    public Object getSelectedItem() {
+        return selectedItem;
+    }
+
+    @Override
+    public void setSelectedItem(@Nullable Object item) {
+        if (!Objects.equals(selectedItem, item)) {
+            selectedItem = item;
+            fireContentsChanged(this, -1, -1);
+        }
+    }
+
+    /**
+     * Notify the listeners about added items.
+     *
+     * @param first The index of the first added item, without the virtual null entry
+     * @param last  The index of the last added item, without the virtual null entry
+     */
+    protected void fireItemsAdded(int first, int last) {
+        fireIntervalAdded(this, first + getOffset(), last + getOffset());
+    }
+
+    /**
+     * Notify the listeners about removed items.
+     *
+     * @param first The index of the first removed item, without the virtual null entry
+     * @param last  The index of the last removed item, without the virtual null entry
+     */
+    protected void fireItemsRemoved(int first, int last) {
+        fireIntervalRemoved(this, first + getOffset(), last + getOffset());
+    }
+
+    /**
+     * Notify the listeners about changed items.
+     *
+     * @param first The index of the first changed item, without the virtual null entry
+     * @param last  The index of the last changed item, without the virtual null entry
+     */
+    protected void fireItemsChanged(int first, int last) {
+        fireContentsChanged(this, first + getOffset(), last + getOffset());
+    }
+}
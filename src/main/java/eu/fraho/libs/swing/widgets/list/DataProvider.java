@@ -0,0 +1,40 @@
+package eu.fraho.libs.swing.widgets.list;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.List;
+
+/**
+ * Source of the items of a {@link PagedListModel}. The items are fetched in pages,
+ * as they are displayed, so the whole data never has to be held in memory.<br>
+ * {@link #fetch(int, int)} is called from background threads. {@link #count()} and
+ * {@link #indexOf(Object)} are called on the event dispatch thread, so they should be cheap.
+ *
+ * @param <E> Type of the items
+ * @author Simon Frankenberger
+ */
+public interface DataProvider<E> {
+    /**
+     * @return The total number of items
+     */
+    int count();
+
+    /**
+     * Fetch a page of items.
+     *
+     * @param offset The index of the first item to fetch
+     * @param limit  The maximum number of items to fetch
+     * @return The fetched items, without null values
+     */
+    @NotNull
+    List<E> fetch(int offset, int limit);
+
+    /**
+     * Search the index of the given item, so it can be selected without
+     * fetching all pages.
+     *
+     * @param item The item to search
+     * @return The index of the item, or -1 if it is not part of the data
+     */
+    int indexOf(@NotNull E item);
+}
@@ -0,0 +1,298 @@
+package eu.fraho.libs.swing.widgets.list;
+
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import javax.swing.*;
+import javax.swing.event.ListDataEvent;
+import javax.swing.event.ListDataListener;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Function;
+
+/**
+ * A {@link AbstractWListModel} showing only the items of another model whose key
+ * starts with a filter text. The keys are taken from {@link Object#toString()} or a
+ * given key extractor and are compared case insensitive.<br>
+ * The keys are held in a sorted {@link PrefixIndex}, which is built in the background.
+ * Appended items are merged into the existing index, other changes rebuild it.
+ * Until the index is up to date, the items are filtered by a linear search.<br>
+ * The source model should hold its items in memory, like the {@link ListBackedModel}.
+ * This model has to be accessed from the event dispatch thread only.
+ *
+ * @param <E> Type of the items
+ * @author Simon Frankenberger
+ */
+@Slf4j
+public class FilteringListModel<E> extends AbstractWListModel<E> {
+    @NotNull
+    @Getter
+    private final AbstractWListModel<E> source;
+
+    @NotNull
+    private final Function<? super E, String> keyExtractor;
+
+    @NotNull
+    private final Executor executor;
+
+    /**
+     * the index of the source items, null while it is built
+     */
+    @Nullable
+    private PrefixIndex index = null;
+
+    /**
+     * the pending or completed index build, appends are chained on it
+     */
+    @NotNull
+    private CompletableFuture<PrefixIndex> indexBuild;
+
+    /**
+     * incremented on every change of the source, so outdated builds are discarded
+     */
+    private int generation = 0;
+
+    /**
+     * the normalized filter text, null if not filtered
+     */
+    @Nullable
+    private String filter = null;
+
+    /**
+     * the positions of the matching source items, null if not filtered
+     */
+    @Nullable
+    private int[] matches = null;
+
+    public FilteringListModel(@NotNull @NonNull AbstractWListModel<E> source) {
+        this(source, String::valueOf, ForkJoinPool.commonPool());
+    }
+
+    public FilteringListModel(@NotNull @NonNull List<E> items) {
+        this(new ListBackedModel<>(items));
+    }
+
+    /**
+     * Create a new model, filtering the given source.
+     *
+     * @param source       The model with all items
+     * @param keyExtractor The function to get the key of an item, which is compared with the filter
+     * @param executor     The executor to build the index with
+     */
+    public FilteringListModel(@NotNull @NonNull AbstractWListModel<E> source, @NotNull @NonNull Function<? super E, String> keyExtractor, @NotNull @NonNull Executor executor) {
+        this.source = source;
+        this.keyExtractor = keyExtractor;
+        this.executor = executor;
+        this.indexBuild = rebuildIndex();
+        source.addListDataListener(new SourceListener());
+    }
+
+    @Override
+    protected int getItemCount() {
+        return matches == null ? source.getItemCount() : matches.length;
+    }
+
+    @Override
+    @Nullable
+    protected E getItem(int index) {
+        return source.getItem(matches == null ? index : matches[index]);
+    }
+
+    @Override
+    protected int indexOfItem(@NotNull @NonNull Object item) {
+        int position = source.indexOfItem(item);
+        if (matches == null || position < 0) {
+            return position;
+        }
+        return Math.max(Arrays.binarySearch(matches, position), -1);
+    }
+
+    /**
+     * The cells are sized by the first source item, if the source names no prototype.
+     * Otherwise all matching items would be measured again on every change of the filter.
+     */
+    @Override
+    @Nullable
+    public E getPrototypeItem() {
+        E result = source.getPrototypeItem();
+        if (result == null && source.getItemCount() > 0) {
+            result = source.getItem(0);
+        }
+        return result;
+    }
+
+    /**
+     * @return The current filter text, null if not filtered
+     */
+    @Nullable
+    public String getFilter() {
+        return filter;
+    }
+
+    /**
+     * Show only the items whose key starts with the given text.
+     *
+     * @param text The filter text, null or empty to show all items
+     */
+    public void setFilter(@Nullable String text) {
+        String normalized = text == null || text.isEmpty() ? null : normalize(text);
+        if (normalized == null ? filter != null : !normalized.equals(filter)) {
+            log.debug("Setting filter to '{}'", normalized);
+            filter = normalized;
+            applyFilter();
+        }
+    }
+
+    /**
+     * @return Is the index up to date with the source?
+     */
+    public boolean isIndexReady() {
+        return index != null;
+    }
+
+    private void applyFilter() {
+        int oldSize = getItemCount();
+        if (filter == null) {
+            matches = null;
+        } else if (index != null) {
+            matches = index.find(filter);
+        } else {
+            matches = scan(filter);
+        }
+        fireResized(oldSize);
+    }
+
+    @NotNull
+    private int[] scan(@NotNull @NonNull String prefix) {
+        log.debug("Index not ready, scanning for '{}'", prefix);
+        int count = source.getItemCount();
+        int[] result = new int[count];
+        int found = 0;
+        for (int i = 0; i < count; i++) {
+            if (normalize(keyExtractor.apply(source.getItem(i))).startsWith(prefix)) {
+                result[found++] = i;
+            }
+        }
+        return Arrays.copyOf(result, found);
+    }
+
+    private void fireResized(int oldSize) {
+        int newSize = getItemCount();
+        int common = Math.min(oldSize, newSize);
+        if (common > 0) {
+            fireItemsChanged(0, common - 1);
+        }
+        if (newSize > oldSize) {
+            fireItemsAdded(oldSize, newSize - 1);
+        } else if (oldSize > newSize) {
+            fireItemsRemoved(newSize, oldSize - 1);
+        }
+    }
+
+    @NotNull
+    private static String normalize(@Nullable String key) {
+        return String.valueOf(key).toLowerCase(Locale.ROOT);
+    }
+
+    @NotNull
+    private List<E> snapshot(int from, int to) {
+        List<E> result = new ArrayList<>(to - from);
+        for (int i = from; i < to; i++) {
+            result.add(source.getItem(i));
+        }
+        return result;
+    }
+
+    @NotNull
+    private List<String> keysOf(@NotNull @NonNull List<E> items) {
+        List<String> keys = new ArrayList<>(items.size());
+        items.forEach(item -> keys.add(normalize(keyExtractor.apply(item))));
+        return keys;
+    }
+
+    @NotNull
+    private CompletableFuture<PrefixIndex> rebuildIndex() {
+        List<E> items = snapshot(0, source.getItemCount());
+        return publish(CompletableFuture.supplyAsync(() -> PrefixIndex.build(keysOf(items)), executor));
+    }
+
+    @NotNull
+    private CompletableFuture<PrefixIndex> appendIndex(int from, int to) {
+        List<E> items = snapshot(from, to);
+        return publish(indexBuild.thenApplyAsync(base -> base.append(keysOf(items), from), executor));
+    }
+
+    /**
+     * Use the index built by the given future, if no further change happened meanwhile.
+     */
+    @NotNull
+    private CompletableFuture<PrefixIndex> publish(@NotNull @NonNull CompletableFuture<PrefixIndex> build) {
+        index = null;
+        int expected = ++generation;
+        build.whenComplete((result, error) -> SwingUtilities.invokeLater(() -> {
+            if (error != null) {
+                log.warn("Unable to build the filter index", error);
+            } else if (expected == generation) {
+                log.debug("Filter index with {} items ready", result.size());
+                index = result;
+                if (filter != null) {
+                    applyFilter();
+                }
+            }
+        }));
+        return build;
+    }
+
+    /**
+     * Updates the index and forwards the events of the source.
+     */
+    private final class SourceListener implements ListDataListener {
+        @Override
+        public void intervalAdded(@NotNull @NonNull ListDataEvent event) {
+            int from = event.getIndex0() - source.getOffset();
+            int to = event.getIndex1() - source.getOffset() + 1;
+            if (to == source.getItemCount() && !indexBuild.isCompletedExceptionally()) {
+                indexBuild = appendIndex(from, to);
+            } else {
+                indexBuild = rebuildIndex();
+            }
+            if (matches == null) {
+                fireItemsAdded(from, to - 1);
+            } else {
+                applyFilter();
+            }
+        }
+
+        @Override
+        public void intervalRemoved(@NotNull @NonNull ListDataEvent event) {
+            indexBuild = rebuildIndex();
+            if (matches == null) {
+                fireItemsRemoved(event.getIndex0() - source.getOffset(), event.getIndex1() - source.getOffset());
+            } else {
+                applyFilter();
+            }
+        }
+
+        @Override
+        public void contentsChanged(@NotNull @NonNull ListDataEvent event) {
+            if (event.getIndex0() < 0) {
+                // selection of the source, not of interest here
+                return;
+            }
+            indexBuild = rebuildIndex();
+            if (matches == null) {
+                fireItemsChanged(event.getIndex0() - source.getOffset(), event.getIndex1() - source.getOffset());
+            } else {
+                applyFilter();
+            }
+        }
+    }
+}
@@ -0,0 +1,505 @@
+package eu.fraho.libs.swing.widgets.list;
+
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.*;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+/**
+ * A {@link AbstractWListModel} backed by a {@link List} of the caller. The list is
+ * neither copied nor iterated when creating the model, so the creation cost does not
+ * depend on the size of the list.<br>
+ * All modifications should be done through this model, so the listeners are notified.
+ * If the list is modified directly, {@link #refresh()} has to be called afterwards.
+ * The list may not contain null values.<br>
+ * The position of each item is held in a hash index, so selecting a value does not
+ * search the list. The index is built on the first lookup and patched by all
+ * modifications of this model. Only replacing all items or {@link #refresh()} discard
+ * it, so it is built again on the next lookup.
+ *
+ * @param <E> Type of the items
+ * @author Simon Frankenberger
+ */
+@Slf4j
+public class ListBackedModel<E> extends AbstractWListModel<E> {
+    @NotNull
+    private final List<E> items;
+
+    /**
+     * the position of the first occurrence of each item, null if not built
+     */
+    @Nullable
+    private Map<Object, Integer> positions = null;
+
+    /**
+     * Create a new model, backed by the given list.
+     *
+     * @param items The modifiable list with the items
+     */
+    public ListBackedModel(@NotNull @NonNull List<E> items) {
+        this.items = items;
+    }
+
+    /**
+     * Create a new model, backed by a copy of the given items. Null values are skipped.
+     *
+     * @param items The items to copy
+     * @param <E>   Type of the items
+     * @return The new model
+     */
+    @NotNull
+    public static <E> ListBackedModel<E> copyOf(@NotNull @NonNull Collection<? extends E> items) {
+        List<E> copy = new ArrayList<>(items.size());
+        items.stream().sequential().filter(Objects::nonNull).forEach(copy::add);
+        return new ListBackedModel<>(copy);
+    }
+
+    @Override
+    protected int getItemCount() {
+        return items.size();
+    }
+
+    @Override
+    @Nullable
+    protected E getItem(int index) {
+        return items.get(index);
+    }
+
+    @Override
+    protected int indexOfItem(@NotNull @NonNull Object item) {
+        if (positions == null) {
+            log.debug("Building position index of {} items", items.size());
+            positions = new HashMap<>(Math.max(16, items.size() * 4 / 3 + 1));
+            itemsReplaced(0, 0, items.size());
+        }
+        return positions.getOrDefault(item, -1);
+    }
+
+    /**
+     * Patch the position index, if it is built, after some items have been replaced.
+     * The positions of the removed items are dropped and the ones behind them are
+     * shifted. Afterwards the items from the given index are added again, which also
+     * restores later occurrences of the removed items.
+     *
+     * @param from    The index of the first replaced item
+     * @param removed The number of removed items
+     * @param added   The number of items inserted instead
+     */
+    private void itemsReplaced(int from, int removed, int added) {
+        if (positions == null) {
+            return;
+        }
+        int end = from + removed;
+        int shift = added - removed;
+        if (from < items.size() - shift) {
+            Iterator<Map.Entry<Object, Integer>> iterator = positions.entrySet().iterator();
+            while (iterator.hasNext()) {
+                Map.Entry<Object, Integer> entry = iterator.next();
+                int position = entry.getValue();
+                if (position >= end) {
+                    entry.setValue(position + shift);
+                } else if (position >= from) {
+                    iterator.remove();
+                }
+            }
+        }
+        for (int i = from; i < items.size(); i++) {
+            positions.merge(items.get(i), i, Math::min);
+        }
+    }
+
+    /**
+     * Discard the position index after all items have been replaced.
+     */
+    private void itemsModified() {
+        positions = null;
+    }
+
+    /**
+     * Append the given element.
+     *
+     * @param element The element to add
+     */
+    public void addElement(@NotNull @NonNull E element) {
+        int index = items.size();
+        items.add(element);
+        itemsReplaced(index, 0, 1);
+        fireItemsAdded(index, index);
+    }
+
+    /**
+     * Remove the first occurrence of the given element. If the element was selected,
+     * its neighbour gets selected, like the {@link javax.swing.DefaultComboBoxModel} does.
+     *
+     * @param element The element to remove
+     * @return Was the element found and removed?
+     */
+    public boolean removeElement(@NotNull @NonNull Object element) {
+        int index = indexOfItem(element);
+        if (index < 0) {
+            return false;
+        }
+
+        if (element.equals(getSelectedItem())) {
+            if (index > 0) {
+                setSelectedItem(items.get(index - 1));
+            } else {
+                setSelectedItem(items.size() == 1 ? null : items.get(index + 1));
+            }
+        }
+
+        items.remove(index);
+        if (index == items.size() && positions != null) {
+            // the last item was the first occurrence, so there is no other one
+            positions.remove(element);
+        } else {
+            itemsReplaced(index, 1, 0);
+        }
+        fireItemsRemoved(index, index);
+        return true;
+    }
+
+    /**
+     * Remove all elements.
+     */
+    public void removeAllElements() {
+        int size = items.size();
+        if (size > 0) {
+            items.clear();
+            itemsModified();
+            fireItemsRemoved(0, size - 1);
+        }
+        setSelectedItem(null);
+    }
+
+    /**
+     * Replace all elements with the given ones. Null values are skipped.
+     *
+     * @param elements The new elements
+     */
+    public void setElements(@NotNull @NonNull Collection<? extends E> elements) {
+        Collection<? extends E> source = elements == items ? new ArrayList<>(elements) : elements;
+        int oldSize = items.size();
+        items.clear();
+        source.stream().sequential().filter(Objects::nonNull).forEach(items::add);
+        itemsModified();
+        fireResized(oldSize);
+    }
+
+    /**
+     * Append all given elements.
+     *
+     * @param elements The elements to add
+     */
+    public void addAll(@NotNull @NonNull Collection<? extends E> elements) {
+        batchUpdate(list -> list.addAll(elements));
+    }
+
+    /**
+     * Remove all occurrences of the given elements.
+     *
+     * @param elements The elements to remove
+     */
+    public void removeAll(@NotNull @NonNull Collection<?> elements) {
+        batchUpdate(list -> list.removeAll(elements));
+    }
+
+    /**
+     * Remove all elements, which are not contained in the given ones.
+     *
+     * @param elements The elements to keep
+     */
+    public void retainAll(@NotNull @NonNull Collection<?> elements) {
+        batchUpdate(list -> list.retainAll(elements));
+    }
+
+    /**
+     * Replace the elements between the given indices with the given ones.
+     *
+     * @param fromIndex The index of the first element to replace, inclusive
+     * @param toIndex   The index of the last element to replace, exclusive
+     * @param elements  The new elements
+     */
+    public void replaceRange(int fromIndex, int toIndex, @NotNull @NonNull Collection<? extends E> elements) {
+        batchUpdate(list -> list.replaceRange(fromIndex, toIndex, elements));
+    }
+
+    /**
+     * Modify the elements by the given action. All modifications are published
+     * together afterwards: an added, removed or changed interval if the
+     * modifications form one. Otherwise the elements from the first modified one
+     * are published as changed, followed by an added or removed interval for the
+     * difference in size. The selected item is kept, as long as it is still contained.<br>
+     * The model itself may not be modified by the action.
+     *
+     * @param action The modifications to do
+     */
+    public void batchUpdate(@NotNull @NonNull Consumer<? super MutableList<E>> action) {
+        Batch batch = new Batch();
+        try {
+            action.accept(batch);
+        } finally {
+            batch.publish();
+        }
+    }
+
+    /**
+     * Notify the listeners after the backing list has been modified directly.
+     */
+    public void refresh() {
+        log.debug("Refreshing model with {} items", items.size());
+        itemsModified();
+        fireContentsChanged(this, 0, Math.max(getSize() - 1, 0));
+    }
+
+    /**
+     * Fire the minimal events after the contents of the list were replaced.
+     *
+     * @param oldSize The size of the list before the replacement
+     */
+    protected void fireResized(int oldSize) {
+        fireResized(0, oldSize);
+    }
+
+    /**
+     * Fire the minimal events after the items from the given index were replaced:
+     * a change of the items present before and after, and an addition or removal
+     * of the difference in size.
+     *
+     * @param from    The index of the first modified item
+     * @param oldSize The size of the list before the replacement
+     */
+    private void fireResized(int from, int oldSize) {
+        int newSize = items.size();
+        int common = Math.min(oldSize, newSize);
+        if (common > from) {
+            fireItemsChanged(from, common - 1);
+        }
+        if (newSize > oldSize) {
+            fireItemsAdded(oldSize, newSize - 1);
+        } else if (oldSize > newSize) {
+            fireItemsRemoved(newSize, oldSize - 1);
+        }
+    }
+
+    /**
+     * @return The backing list
+     */
+    @NotNull
+    protected List<E> getItems() {
+        return items;
+    }
+
+    /**
+     * View of the items, recording the modified range.
+     */
+    private final class Batch extends AbstractList<E> implements MutableList<E>, RandomAccess {
+        private final int oldSize = items.size();
+        @NotNull
+        private Change change = Change.NONE;
+        /**
+         * the first modified index
+         */
+        private int from = Integer.MAX_VALUE;
+        /**
+         * the last changed index, or the number of added / removed items
+         */
+        private int extent = 0;
+
+        @Override
+        @Nullable
+        public E get(int index) {
+            return items.get(index);
+        }
+
+        @Override
+        public int size() {
+            return items.size();
+        }
+
+        @Override
+        @Nullable
+        public E set(int index, @NotNull @NonNull E element) {
+            E result = items.set(index, element);
+            recordChanged(index, index);
+            return result;
+        }
+
+        @Override
+        public void add(int index, @NotNull @NonNull E element) {
+            items.add(index, element);
+            modCount++;
+            recordAdded(index, 1);
+        }
+
+        @Override
+        public boolean addAll(@NotNull @NonNull Collection<? extends E> elements) {
+            return addAll(items.size(), elements);
+        }
+
+        @Override
+        public boolean addAll(int index, @NotNull @NonNull Collection<? extends E> elements) {
+            if (elements.stream().anyMatch(Objects::isNull)) {
+                throw new NullPointerException("elements may not contain null");
+            }
+            if (elements.isEmpty()) {
+                return false;
+            }
+            items.addAll(index, elements);
+            modCount++;
+            recordAdded(index, elements.size());
+            return true;
+        }
+
+        @Override
+        @Nullable
+        public E remove(int index) {
+            E result = items.remove(index);
+            modCount++;
+            recordRemoved(index, 1);
+            return result;
+        }
+
+        @Override
+        protected void removeRange(int fromIndex, int toIndex) {
+            if (fromIndex < toIndex) {
+                items.subList(fromIndex, toIndex).clear();
+                modCount++;
+                recordRemoved(fromIndex, toIndex - fromIndex);
+            }
+        }
+
+        @Override
+        public boolean removeIf(@NotNull @NonNull Predicate<? super E> filter) {
+            int first = 0;
+            while (first < items.size() && !filter.test(items.get(first))) {
+                first++;
+            }
+            if (first == items.size()) {
+                return false;
+            }
+            items.removeIf(filter);
+            modCount++;
+            recordMixed(first);
+            return true;
+        }
+
+        @Override
+        public boolean removeAll(@NotNull @NonNull Collection<?> elements) {
+            return removeIf(elements::contains);
+        }
+
+        @Override
+        public boolean retainAll(@NotNull @NonNull Collection<?> elements) {
+            return removeIf(element -> !elements.contains(element));
+        }
+
+        @Override
+        public void replaceRange(int fromIndex, int toIndex, @NotNull @NonNull Collection<? extends E> elements) {
+            if (elements.stream().anyMatch(Objects::isNull)) {
+                throw new NullPointerException("elements may not contain null");
+            }
+            List<E> range = items.subList(fromIndex, toIndex);
+            range.clear();
+            range.addAll(elements);
+            modCount++;
+            if (elements.size() == toIndex - fromIndex) {
+                if (fromIndex < toIndex) {
+                    recordChanged(fromIndex, toIndex - 1);
+                }
+            } else {
+                recordMixed(fromIndex);
+            }
+        }
+
+        @Override
+        public void sort(@Nullable Comparator<? super E> comparator) {
+            items.sort(comparator);
+            modCount++;
+            if (!items.isEmpty()) {
+                recordChanged(0, items.size() - 1);
+            }
+        }
+
+        private void recordChanged(int first, int last) {
+            if (change == Change.NONE || change == Change.CHANGED) {
+                change = Change.CHANGED;
+                from = Math.min(from, first);
+                extent = Math.max(extent, last);
+            } else {
+                recordMixed(first);
+            }
+        }
+
+        private void recordAdded(int index, int count) {
+            if (change == Change.NONE) {
+                change = Change.ADDED;
+                from = index;
+                extent = count;
+            } else if (change == Change.ADDED && index >= from && index <= from + extent) {
+                extent += count;
+            } else {
+                recordMixed(index);
+            }
+        }
+
+        private void recordRemoved(int index, int count) {
+            if (change == Change.NONE) {
+                change = Change.REMOVED;
+                from = index;
+                extent = count;
+            } else if (change == Change.REMOVED && (index == from || index + count == from)) {
+                from = index;
+                extent += count;
+            } else {
+                recordMixed(index);
+            }
+        }
+
+        private void recordMixed(int index) {
+            change = Change.MIXED;
+            from = Math.min(from, index);
+        }
+
+        private void publish() {
+            log.debug("Publishing batch update {} from {}, extent {}", change, from, extent);
+            switch (change) {
+                case CHANGED:
+                    itemsReplaced(from, extent - from + 1, extent - from + 1);
+                    fireItemsChanged(from, extent);
+                    break;
+                case ADDED:
+                    itemsReplaced(from, 0, extent);
+                    fireItemsAdded(from, from + extent - 1);
+                    break;
+                case REMOVED:
+                    itemsReplaced(from, extent, 0);
+                    fireItemsRemoved(from, from + extent - 1);
+                    break;
+                case MIXED:
+                    itemsReplaced(from, oldSize - from, items.size() - from);
+                    fireResized(from, oldSize);
+                    break;
+                default:
+                    return;
+            }
+
+            Object selected = getSelectedItem();
+            if (selected != null && indexOfItem(selected) < 0) {
+                setSelectedItem(null);
+            }
+        }
+    }
+
+    private enum Change {
+        NONE,
+        CHANGED,
+        ADDED,
+        REMOVED,
+        MIXED,
+    }
+}
@@ -0,0 +1,26 @@
+package eu.fraho.libs.swing.widgets.list;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * The items of a {@link ListBackedModel}, as passed to
+ * {@link ListBackedModel#batchUpdate(java.util.function.Consumer)}.<br>
+ * All modifications are recorded and published as one event after the update.
+ * Null values are not allowed.
+ *
+ * @param <E> Type of the items
+ * @author Simon Frankenberger
+ */
+public interface MutableList<E> extends List<E> {
+    /**
+     * Replace the items between the given indices with the given ones.
+     *
+     * @param fromIndex The index of the first item to replace, inclusive
+     * @param toIndex   The index of the last item to replace, exclusive
+     * @param elements  The new items
+     */
+    void replaceRange(int fromIndex, int toIndex, @NotNull Collection<? extends E> elements);
+}
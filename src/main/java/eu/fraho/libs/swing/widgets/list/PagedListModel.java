@@ -0,0 +1,254 @@
+package eu.fraho.libs.swing.widgets.list;
+
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import javax.swing.*;
+import java.util.*;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * A {@link AbstractWListModel} loading its items page by page from a {@link DataProvider}.<br>
+ * Pages are fetched in the background when they are displayed and kept in a LRU cache
+ * of limited size. Until a page has arrived, its items are shown as null and the
+ * listeners are notified as soon as it is loaded. After a page has been loaded, the next
+ * page is prefetched as well.<br>
+ * The model has to be accessed from the event dispatch thread only. Only
+ * {@link DataProvider#count()} and {@link DataProvider#indexOf(Object)} are called
+ * on this thread.
+ *
+ * @param <E> Type of the items
+ * @author Simon Frankenberger
+ */
+@Slf4j
+public class PagedListModel<E> extends AbstractWListModel<E> {
+    public static final int DEFAULT_PAGE_SIZE = 100;
+    public static final int DEFAULT_CACHED_PAGES = 10;
+
+    @NotNull
+    @Getter
+    private final DataProvider<E> provider;
+
+    @Getter
+    private final int pageSize;
+
+    @NotNull
+    private final Executor executor;
+
+    /**
+     * the loaded pages by page number, in access order
+     */
+    @NotNull
+    private final LinkedHashMap<Integer, List<E>> pages;
+
+    /**
+     * all pages currently fetched in the background
+     */
+    @NotNull
+    private final Set<Integer> pendingPages = new HashSet<>();
+
+    /**
+     * all pending pages whose items were already requested and shown as null
+     */
+    @NotNull
+    private final Set<Integer> missedPages = new HashSet<>();
+
+    /**
+     * the number of items, as reported by the provider
+     */
+    private int count;
+
+    /**
+     * incremented on every {@link #refresh()}, so outdated prefetches are discarded
+     */
+    private int generation = 0;
+
+    public PagedListModel(@NotNull @NonNull DataProvider<E> provider) {
+        this(provider, DEFAULT_PAGE_SIZE, DEFAULT_CACHED_PAGES, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Create a new model, backed by the given provider.
+     *
+     * @param provider    The provider to fetch the items from
+     * @param pageSize    The number of items to fetch at once
+     * @param cachedPages The maximum number of pages to keep in memory
+     * @param executor    The executor to prefetch the pages with
+     */
+    public PagedListModel(@NotNull @NonNull DataProvider<E> provider, int pageSize, int cachedPages, @NotNull @NonNull Executor executor) {
+        if (pageSize < 1 || cachedPages < 1) {
+            throw new IllegalArgumentException("Page size and cached pages have to be positive");
+        }
+        this.provider = provider;
+        this.pageSize = pageSize;
+        this.executor = executor;
+        this.pages = new LinkedHashMap<Integer, List<E>>(cachedPages * 2, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Integer, List<E>> eldest) {
+                return size() > cachedPages;
+            }
+        };
+        this.count = provider.count();
+        log.debug("Created model with {} items", count);
+    }
+
+    @Override
+    protected int getItemCount() {
+        return count;
+    }
+
+    /**
+     * Get the item at the given index. If its page is not loaded yet, the page is
+     * fetched in the background and null is returned for now.
+     */
+    @Override
+    @Nullable
+    protected E getItem(int index) {
+        List<E> page = getPage(index / pageSize);
+        if (page == null) {
+            return null;
+        }
+        int pageIndex = index % pageSize;
+        if (pageIndex >= page.size()) {
+            log.warn("Provider returned too few items for index {}, data has changed?", index);
+            return null;
+        }
+        return page.get(pageIndex);
+    }
+
+    /**
+     * Checks if the page of the given item is loaded, without fetching it.
+     */
+    @Override
+    public boolean isLoaded(int index) {
+        int itemIndex = index - getOffset();
+        return itemIndex < 0 || pages.containsKey(itemIndex / pageSize);
+    }
+
+    /**
+     * Search the item in the loaded pages first and then ask the provider.
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    protected int indexOfItem(@NotNull @NonNull Object item) {
+        for (Map.Entry<Integer, List<E>> entry : pages.entrySet()) {
+            int index = entry.getValue().indexOf(item);
+            if (index >= 0) {
+                return entry.getKey() * pageSize + index;
+            }
+        }
+        int index = provider.indexOf((E) item);
+        return index < count ? index : -1;
+    }
+
+    /**
+     * @return The first item, to be used as prototype for the cell size. Null, if the model is empty
+     * or the first page is still loading.
+     */
+    @Override
+    @Nullable
+    public E getPrototypeItem() {
+        return count > 0 ? getItem(0) : null;
+    }
+
+    /**
+     * Discard all loaded pages and query the number of items again.
+     */
+    public void refresh() {
+        int oldSize = count;
+        generation++;
+        pages.clear();
+        pendingPages.clear();
+        missedPages.clear();
+        count = provider.count();
+        log.debug("Refreshed model, now {} items", count);
+
+        int common = Math.min(oldSize, count);
+        if (common > 0) {
+            fireItemsChanged(0, common - 1);
+        }
+        if (count > oldSize) {
+            fireItemsAdded(oldSize, count - 1);
+        } else if (oldSize > count) {
+            fireItemsRemoved(count, oldSize - 1);
+        }
+    }
+
+    /**
+     * Get the given page from the cache or start fetching it.
+     *
+     * @return The page, or null if it is still loading
+     */
+    @Nullable
+    private List<E> getPage(int page) {
+        List<E> result = pages.get(page);
+        if (result == null) {
+            fetch(page, true);
+            // a synchronous executor may have loaded the page already
+            result = pages.get(page);
+            if (result == null) {
+                missedPages.add(page);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Fetch the given page in the background, if it is neither loaded nor pending.
+     *
+     * @param page      The page to fetch
+     * @param requested Was the page requested to be displayed? Then the next page is prefetched as well.
+     */
+    private void fetch(int page, boolean requested) {
+        if (page * pageSize >= count || pages.containsKey(page) || !pendingPages.add(page)) {
+            return;
+        }
+
+        log.debug("Fetching page {}", page);
+        int expected = generation;
+        executor.execute(() -> {
+            List<E> result;
+            try {
+                result = provider.fetch(page * pageSize, pageSize);
+            } catch (RuntimeException re) {
+                log.warn("Unable to fetch page {}", page, re);
+                runOnEdt(() -> {
+                    if (generation == expected) {
+                        pendingPages.remove(page);
+                        missedPages.remove(page);
+                    }
+                });
+                return;
+            }
+            runOnEdt(() -> pageLoaded(page, result, expected, requested));
+        });
+    }
+
+    private void pageLoaded(int page, @NotNull @NonNull List<E> result, int expected, boolean requested) {
+        if (generation != expected || !pendingPages.remove(page)) {
+            log.debug("Discarding outdated page {}", page);
+            return;
+        }
+
+        pages.put(page, result);
+        if (missedPages.remove(page)) {
+            // the items were shown as null, so show the loaded ones
+            fireItemsChanged(page * pageSize, Math.min((page + 1) * pageSize, count) - 1);
+        }
+        if (requested) {
+            fetch(page + 1, false);
+        }
+    }
+
+    private static void runOnEdt(@NotNull @NonNull Runnable action) {
+        if (SwingUtilities.isEventDispatchThread()) {
+            action.run();
+        } else {
+            SwingUtilities.invokeLater(action);
+        }
+    }
+}
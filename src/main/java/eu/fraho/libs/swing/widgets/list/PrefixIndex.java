@@ -0,0 +1,131 @@
+package eu.fraho.libs.swing.widgets.list;
+
+import lombok.NonNull;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Immutable index of item keys, sorted for prefix searches by binary search.<br>
+ * The index is built once and then extended by merging appended items, so it
+ * never has to be sorted completely again while items are only added.
+ *
+ * @author Simon Frankenberger
+ */
+final class PrefixIndex {
+    private static final PrefixIndex EMPTY = new PrefixIndex(new String[0], new int[0]);
+
+    /**
+     * the sorted keys
+     */
+    @NotNull
+    private final String[] keys;
+
+    /**
+     * the position of the item of each key
+     */
+    @NotNull
+    private final int[] positions;
+
+    private PrefixIndex(@NotNull @NonNull String[] keys, @NotNull @NonNull int[] positions) {
+        this.keys = keys;
+        this.positions = positions;
+    }
+
+    /**
+     * Build a new index.
+     *
+     * @param keys The normalized keys, in order of the items
+     * @return The new index
+     */
+    @NotNull
+    static PrefixIndex build(@NotNull @NonNull List<String> keys) {
+        return EMPTY.append(keys, 0);
+    }
+
+    /**
+     * Create a new index, containing all entries of this one and the given keys.
+     *
+     * @param added         The normalized keys of the appended items
+     * @param firstPosition The position of the first appended item
+     * @return The new index
+     */
+    @NotNull
+    PrefixIndex append(@NotNull @NonNull List<String> added, int firstPosition) {
+        Integer[] order = new Integer[added.size()];
+        for (int i = 0; i < order.length; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, Comparator.comparing(added::get));
+
+        // merge both sorted arrays, existing entries first on equal keys
+        int size = keys.length + order.length;
+        String[] newKeys = new String[size];
+        int[] newPositions = new int[size];
+        int left = 0;
+        int right = 0;
+        for (int i = 0; i < size; i++) {
+            if (right >= order.length || (left < keys.length && keys[left].compareTo(added.get(order[right])) <= 0)) {
+                newKeys[i] = keys[left];
+                newPositions[i] = positions[left++];
+            } else {
+                newKeys[i] = added.get(order[right]);
+                newPositions[i] = firstPosition + order[right++];
+            }
+        }
+        return new PrefixIndex(newKeys, newPositions);
+    }
+
+    /**
+     * Find all items whose key starts with the given prefix.
+     *
+     * @param prefix The normalized prefix to search
+     * @return The positions of the matching items, in ascending order
+     */
+    @NotNull
+    int[] find(@NotNull @NonNull String prefix) {
+        int from = lowerBound(prefix);
+        int to = lowerBound(prefix + Character.MAX_VALUE);
+        int[] result;
+        if ((to - from) * 16 < positions.length) {
+            result = Arrays.copyOfRange(positions, from, to);
+            Arrays.sort(result);
+        } else {
+            // many matches, marking them is faster than sorting
+            boolean[] matching = new boolean[positions.length];
+            for (int i = from; i < to; i++) {
+                matching[positions[i]] = true;
+            }
+            result = new int[to - from];
+            for (int i = 0, found = 0; found < result.length; i++) {
+                if (matching[i]) {
+                    result[found++] = i;
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * @return The number of indexed items
+     */
+    int size() {
+        return keys.length;
+    }
+
+    private int lowerBound(@NotNull @NonNull String key) {
+        int low = 0;
+        int high = keys.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (keys[mid].compareTo(key) < 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+}
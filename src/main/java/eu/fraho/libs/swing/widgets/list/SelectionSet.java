@@ -0,0 +1,259 @@
+package eu.fraho.libs.swing.widgets.list;
+
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import javax.swing.*;
+import java.util.*;
+
+/**
+ * Immutable set of the selected items of a {@link ListModel}, stored as a {@link BitSet}
+ * of their indices.<br>
+ * The items are read from the model when the set is iterated, so the set reflects the
+ * items at the selected indices. A {@link #snapshot()} keeps the selected items instead,
+ * so they can be found again after the contents of the model changed. Two selections of
+ * the same model are compared by their indices only. Indices beyond the end of the model
+ * are dropped.
+ *
+ * @param <E> Type of the items
+ * @author Simon Frankenberger
+ */
+@Slf4j
+public final class SelectionSet<E> extends AbstractSet<E> {
+    @NotNull
+    private final ListModel<E> model;
+
+    @NotNull
+    private final BitSet indices;
+
+    private final int size;
+
+    /**
+     * the selected items in the order of their indices, null if they are read from the model
+     */
+    @Nullable
+    private final List<E> items;
+
+    /**
+     * Create a new selection. The given indices are copied.
+     *
+     * @param model   The model with the items
+     * @param indices The indices of the selected items
+     */
+    public SelectionSet(@NotNull @NonNull ListModel<E> model, @NotNull @NonNull BitSet indices) {
+        this(model, indices, null);
+    }
+
+    private SelectionSet(@NotNull @NonNull ListModel<E> model, @NotNull @NonNull BitSet indices, @Nullable List<E> items) {
+        int modelSize = model.getSize();
+        this.model = model;
+        this.indices = (BitSet) indices.clone();
+        if (this.indices.length() > modelSize) {
+            log.debug("Dropping selected indices beyond {}", modelSize);
+            this.indices.clear(modelSize, this.indices.length());
+        }
+        this.size = this.indices.cardinality();
+        // the dropped indices are the last ones
+        this.items = items == null || items.size() == size ? items : new ArrayList<>(items.subList(0, size));
+    }
+
+    /**
+     * Create a selection of the given items. Items not contained in the model are skipped.
+     *
+     * @param model The model with the items, its {@link AbstractWListModel#indexOf(Object)} is used if present
+     * @param items The selected items, null for an empty selection
+     * @param <E>   Type of the items
+     * @return The new selection
+     */
+    @NotNull
+    public static <E> SelectionSet<E> of(@NotNull @NonNull ListModel<E> model, @Nullable Collection<?> items) {
+        if (items instanceof SelectionSet && ((SelectionSet<?>) items).model == model) {
+            @SuppressWarnings("unchecked")
+            SelectionSet<E> result = (SelectionSet<E>) items;
+            return result;
+        }
+
+        BitSet indices = new BitSet(model.getSize());
+        if (items != null) {
+            for (Object item : items) {
+                int index = indexOf(model, item);
+                if (index >= 0) {
+                    indices.set(index);
+                }
+            }
+        }
+        return new SelectionSet<>(model, indices);
+    }
+
+    private static int indexOf(@NotNull @NonNull ListModel<?> model, @Nullable Object item) {
+        if (model instanceof AbstractWListModel) {
+            return ((AbstractWListModel<?>) model).indexOf(item);
+        }
+        for (int i = 0; i < model.getSize(); i++) {
+            if (Objects.equals(item, model.getElementAt(i))) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * @return A copy of the selected indices
+     */
+    @NotNull
+    public BitSet getIndices() {
+        return (BitSet) indices.clone();
+    }
+
+    /**
+     * @return The model of the items
+     */
+    @NotNull
+    public ListModel<E> getModel() {
+        return model;
+    }
+
+    /**
+     * @return Does this selection keep the selected items?
+     */
+    public boolean isSnapshot() {
+        return items != null;
+    }
+
+    /**
+     * Create a selection of the same indices, which keeps the items currently
+     * selected. Only the selected items are read from the model.
+     *
+     * @return The snapshot, this instance if it is one already
+     */
+    @NotNull
+    public SelectionSet<E> snapshot() {
+        if (items != null) {
+            return this;
+        }
+        List<E> result = new ArrayList<>(size);
+        for (int i = indices.nextSetBit(0); i >= 0; i = indices.nextSetBit(i + 1)) {
+            result.add(model.getElementAt(i));
+        }
+        return new SelectionSet<>(model, indices, result);
+    }
+
+    /**
+     * Create a new selection after items have been inserted into the model.
+     *
+     * @param index The index of the first inserted item
+     * @param count The number of inserted items
+     * @return The moved selection
+     */
+    @NotNull
+    public SelectionSet<E> inserted(int index, int count) {
+        BitSet result = indices.get(0, index);
+        for (int i = indices.nextSetBit(index); i >= 0; i = indices.nextSetBit(i + 1)) {
+            result.set(i + count);
+        }
+        return new SelectionSet<>(model, result, items);
+    }
+
+    /**
+     * Create a new selection after items have been removed from the model.
+     *
+     * @param index The index of the first removed item
+     * @param count The number of removed items
+     * @return The moved selection, without the removed items
+     */
+    @NotNull
+    public SelectionSet<E> removed(int index, int count) {
+        BitSet result = indices.get(0, index);
+        for (int i = indices.nextSetBit(index + count); i >= 0; i = indices.nextSetBit(i + 1)) {
+            result.set(i - count);
+        }
+        List<E> remaining = null;
+        if (items != null) {
+            remaining = new ArrayList<>(items);
+            int first = indices.get(0, index).cardinality();
+            remaining.subList(first, first + indices.get(index, index + count).cardinality()).clear();
+        }
+        return new SelectionSet<>(model, result, remaining);
+    }
+
+    /**
+     * Create a new selection after the items between the given indices have been changed.
+     * A snapshot looks up its items of this range again and selects them at their new
+     * indices, items which are not contained anymore are dropped. Otherwise the items
+     * are unknown, so the indices are kept like the {@link ListSelectionModel} does.
+     *
+     * @param from The index of the first changed item
+     * @param to   The index of the last changed item, inclusive
+     * @return The resolved selection
+     */
+    @NotNull
+    public SelectionSet<E> changed(int from, int to) {
+        int first = indices.nextSetBit(from);
+        if (items == null || first < 0 || first > to) {
+            return new SelectionSet<>(model, indices, items);
+        }
+
+        BitSet result = (BitSet) indices.clone();
+        result.clear(from, to + 1);
+        int position = indices.get(0, from).cardinality();
+        for (int i = first; i >= 0 && i <= to; i = indices.nextSetBit(i + 1)) {
+            E item = items.get(position++);
+            // an item, which was not loaded yet, stays at its index
+            int index = item == null ? i : indexOf(model, item);
+            if (index >= 0) {
+                result.set(index);
+            }
+        }
+        return new SelectionSet<>(model, result).snapshot();
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean contains(@Nullable Object item) {
+        int index = indexOf(model, item);
+        return index >= 0 && indices.get(index);
+    }
+
+    @Override
+    @NotNull
+    public Iterator<E> iterator() {
+        return new Iterator<E>() {
+            private int next = indices.nextSetBit(0);
+            private int position = 0;
+
+            @Override
+            public boolean hasNext() {
+                return next >= 0;
+            }
+
+            @Override
+            public E next() {
+                if (next < 0) {
+                    throw new NoSuchElementException();
+                }
+                E result = items != null ? items.get(position++) : model.getElementAt(next);
+                next = indices.nextSetBit(next + 1);
+                return result;
+            }
+        };
+    }
+
+    @Override
+    public boolean equals(@Nullable Object other) {
+        if (other instanceof SelectionSet && ((SelectionSet<?>) other).model == model) {
+            return indices.equals(((SelectionSet<?>) other).indices);
+        }
+        return super.equals(other);
+    }
+
+    @Override
+    public int hashCode() {
+        return super.hashCode();
+    }
+}
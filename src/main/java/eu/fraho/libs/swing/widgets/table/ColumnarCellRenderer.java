@@ -0,0 +1,36 @@
+package eu.fraho.libs.swing.widgets.table;
+
+import lombok.NonNull;
+import org.jetbrains.annotations.NotNull;
+
+import javax.swing.*;
+import javax.swing.table.DefaultTableCellRenderer;
+import java.awt.*;
+
+/**
+ * Renders the cells of a {@link ColumnarTableModel} directly from the column arrays,
+ * without boxing the values through {@link ColumnarTableModel#getValueAt(int, int)}.
+ *
+ * @author Simon Frankenberger
+ */
+public class ColumnarCellRenderer extends DefaultTableCellRenderer {
+    /**
+     * Configure this renderer for the given cell.
+     *
+     * @param table      The rendered table
+     * @param model      The model of the table
+     * @param row        The index of the row in the view
+     * @param column     The index of the column in the view
+     * @param isSelected Is the cell selected?
+     * @param hasFocus   Has the cell the focus?
+     * @return This renderer
+     */
+    @NotNull
+    public Component getCellRendererComponent(@NotNull @NonNull JTable table, @NotNull @NonNull ColumnarTableModel<?> model, int row, int column, boolean isSelected, boolean hasFocus) {
+        super.getTableCellRendererComponent(table, null, isSelected, hasFocus, row, column);
+        TableColumn<?> source = model.getColumn(table.convertColumnIndexToModel(column));
+        setText(source.format(table.convertRowIndexToModel(row)));
+        setHorizontalAlignment(source.getHorizontalAlignment());
+        return this;
+    }
+}
@@ -0,0 +1,278 @@
+package eu.fraho.libs.swing.widgets.table;
+
+import eu.fraho.libs.swing.exceptions.ChangeVetoException;
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import javax.swing.table.AbstractTableModel;
+import java.util.*;
+
+/**
+ * A table model storing its values column by column, see {@link TableColumn}.<br>
+ * Edited values are written into the columns directly, so rendering always reads
+ * the arrays. The original value of each edited cell is kept in a sparse map, so
+ * {@link #commit() committing} and {@link #rollback() rolling back} the edits
+ * only touches the edited cells.
+ *
+ * @param <R> Type of the rows
+ * @author Simon Frankenberger
+ */
+@Slf4j
+public class ColumnarTableModel<R> extends AbstractTableModel {
+    @NotNull
+    private final List<TableColumn<R>> columns;
+
+    /**
+     * the shown rows
+     */
+    @NotNull
+    @Getter
+    private List<R> rows = Collections.emptyList();
+
+    /**
+     * the original values of all edited cells, by cell key
+     */
+    @NotNull
+    private final Map<Long, Object> originals = new LinkedHashMap<>();
+
+    /**
+     * notified after a cell has been edited
+     */
+    @Nullable
+    private CellEditListener editListener = null;
+
+    public ColumnarTableModel(@NotNull @NonNull List<? extends TableColumn<R>> columns) {
+        this.columns = Collections.unmodifiableList(new ArrayList<>(columns));
+    }
+
+    private static long key(int row, int column) {
+        return ((long) row << 32) | column;
+    }
+
+    @NotNull
+    private static TableCell cell(long key) {
+        return new TableCell((int) (key >>> 32), (int) key);
+    }
+
+    /**
+     * Show the given rows. All values are read into the columns, pending edits are discarded.
+     *
+     * @param rows The rows to show
+     */
+    public void setRows(@NotNull @NonNull List<R> rows) {
+        log.debug("Loading {} rows", rows.size());
+        columns.forEach(column -> column.load(rows));
+        this.rows = rows;
+        originals.clear();
+        fireTableDataChanged();
+    }
+
+    public void setEditListener(@Nullable CellEditListener editListener) {
+        this.editListener = editListener;
+    }
+
+    /**
+     * @param column The index of the column
+     * @return The column at the given index
+     */
+    @NotNull
+    public TableColumn<R> getColumn(int column) {
+        return columns.get(column);
+    }
+
+    @Override
+    public int getRowCount() {
+        return rows.size();
+    }
+
+    @Override
+    public int getColumnCount() {
+        return columns.size();
+    }
+
+    @Override
+    @NotNull
+    public String getColumnName(int column) {
+        return columns.get(column).getName();
+    }
+
+    @Override
+    @NotNull
+    public Class<?> getColumnClass(int column) {
+        return columns.get(column).getType();
+    }
+
+    @Override
+    public boolean isCellEditable(int row, int column) {
+        return columns.get(column).isEditable();
+    }
+
+    @Override
+    @Nullable
+    public Object getValueAt(int row, int column) {
+        return columns.get(column).get(row);
+    }
+
+    /**
+     * Edit the value of a cell. Invalid values are ignored. If the {@link CellEditListener}
+     * vetoes against the edit, the old value is restored.
+     *
+     * @param value  The new value
+     * @param row    The index of the row
+     * @param column The index of the column
+     */
+    @Override
+    public void setValueAt(@Nullable Object value, int row, int column) {
+        TableColumn<R> target = columns.get(column);
+        Object oldValue = target.get(row);
+        if (Objects.equals(oldValue, value)) {
+            return;
+        }
+
+        long key = key(row, column);
+        boolean wasEdited = originals.containsKey(key);
+        Object original = wasEdited ? originals.get(key) : oldValue;
+        try {
+            target.set(row, value);
+        } catch (IllegalArgumentException iae) {
+            log.debug("Ignoring invalid value for cell {}/{}", row, column, iae);
+            return;
+        }
+        if (Objects.equals(original, value)) {
+            originals.remove(key);
+        } else {
+            originals.put(key, original);
+        }
+        fireTableCellUpdated(row, column);
+
+        if (editListener != null) {
+            try {
+                editListener.cellEdited(row, column, oldValue, value);
+            } catch (ChangeVetoException cve) {
+                log.debug("Edit of cell {}/{} vetoed", row, column, cve);
+                target.set(row, oldValue);
+                if (wasEdited) {
+                    originals.put(key, original);
+                } else {
+                    originals.remove(key);
+                }
+                fireTableCellUpdated(row, column);
+            }
+        }
+    }
+
+    /**
+     * @return Are there any uncommitted edits?
+     */
+    public boolean hasEdits() {
+        return !originals.isEmpty();
+    }
+
+    /**
+     * @return The number of edited cells
+     */
+    public int getEditCount() {
+        return originals.size();
+    }
+
+    /**
+     * @param row    The index of the row
+     * @param column The index of the column
+     * @return Has the given cell been edited since the last commit?
+     */
+    public boolean isEdited(int row, int column) {
+        return originals.containsKey(key(row, column));
+    }
+
+    /**
+     * @return The original values of all edited cells
+     */
+    @NotNull
+    public Map<TableCell, Object> getOriginalValues() {
+        Map<TableCell, Object> result = new LinkedHashMap<>();
+        originals.forEach((key, value) -> result.put(cell(key), value));
+        return result;
+    }
+
+    /**
+     * @return The current values of all edited cells
+     */
+    @NotNull
+    public Map<TableCell, Object> getEditedValues() {
+        Map<TableCell, Object> result = new LinkedHashMap<>();
+        originals.keySet().forEach(key -> {
+            TableCell cell = cell(key);
+            result.put(cell, getValueAt(cell.getRow(), cell.getColumn()));
+        });
+        return result;
+    }
+
+    /**
+     * Write all edited values into the row objects. If a setter fails, the
+     * remaining edits are kept.
+     */
+    public void commit() {
+        log.debug("Committing {} edits", originals.size());
+        Iterator<Long> keys = originals.keySet().iterator();
+        while (keys.hasNext()) {
+            long key = keys.next();
+            int row = (int) (key >>> 32);
+            columns.get((int) key).store(rows.get(row), row);
+            keys.remove();
+        }
+    }
+
+    /**
+     * Undo a {@link #commit()}: write the given original values back into the row
+     * objects and mark the cells as edited again. The shown values are kept.
+     *
+     * @param originalValues The original values of the committed cells, see {@link #getOriginalValues()}
+     */
+    public void restoreEdits(@NotNull @NonNull Map<TableCell, Object> originalValues) {
+        log.debug("Restoring {} committed edits", originalValues.size());
+        originalValues.forEach((cell, original) -> {
+            int row = cell.getRow();
+            TableColumn<R> column = columns.get(cell.getColumn());
+            Object edited = column.get(row);
+            column.set(row, original);
+            column.store(rows.get(row), row);
+            column.set(row, edited);
+            originals.put(key(row, cell.getColumn()), original);
+        });
+    }
+
+    /**
+     * Restore the original values of all edited cells.
+     */
+    public void rollback() {
+        log.debug("Rolling back {} edits", originals.size());
+        Map<Long, Object> edits = new LinkedHashMap<>(originals);
+        originals.clear();
+        edits.forEach((key, value) -> {
+            int row = (int) (key >>> 32);
+            int column = (int) (long) key;
+            columns.get(column).set(row, value);
+            fireTableCellUpdated(row, column);
+        });
+    }
+
+    /**
+     * Listener to be notified about edited cells.
+     */
+    @FunctionalInterface
+    public interface CellEditListener {
+        /**
+         * Called after a cell has been edited.
+         *
+         * @param row      The index of the row
+         * @param column   The index of the column
+         * @param oldValue The value before the edit
+         * @param newValue The new value
+         * @throws ChangeVetoException If the edit should be reverted
+         */
+        void cellEdited(int row, int column, @Nullable Object oldValue, @Nullable Object newValue) throws ChangeVetoException;
+    }
+}
@@ -0,0 +1,127 @@
+package eu.fraho.libs.swing.widgets.table;
+
+import lombok.NonNull;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.format.FormatStyle;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+/**
+ * A column of {@link LocalDate} values, stored as epoch days in a {@code long[]}.
+ * Null values are supported and marked in a {@link BitSet}, so all dates between
+ * {@link LocalDate#MIN} and {@link LocalDate#MAX} can be stored.
+ *
+ * @param <R> Type of the rows
+ * @author Simon Frankenberger
+ */
+public class DateColumn<R> extends TableColumn<R> {
+    @NotNull
+    private final Function<? super R, LocalDate> getter;
+    @Nullable
+    private final BiConsumer<? super R, LocalDate> setter;
+    @NotNull
+    private long[] values = new long[0];
+    /**
+     * the rows with a null value
+     */
+    @NotNull
+    private BitSet nulls = new BitSet();
+    @Nullable
+    private DateTimeFormatter format = null;
+    @Nullable
+    private Locale formatLocale = null;
+
+    /**
+     * Create a new column.
+     *
+     * @param name   The caption of the column
+     * @param getter The function to read the value of a row
+     * @param setter The function to write the value of a row, null for a readonly column
+     */
+    public DateColumn(@NotNull @NonNull String name, @NotNull @NonNull Function<? super R, LocalDate> getter, @Nullable BiConsumer<? super R, LocalDate> setter) {
+        super(name, LocalDate.class);
+        this.getter = getter;
+        this.setter = setter;
+    }
+
+    /**
+     * @param row The index of the row
+     * @return The value of the given row as epoch day, 0 for null
+     * @see #isNull(int)
+     */
+    public long getEpochDay(int row) {
+        return values[row];
+    }
+
+    /**
+     * @param row The index of the row
+     * @return Is the value of the given row null?
+     */
+    public boolean isNull(int row) {
+        return nulls.get(row);
+    }
+
+    @Override
+    protected void load(@NotNull @NonNull List<R> rows) {
+        long[] result = new long[rows.size()];
+        BitSet resultNulls = new BitSet();
+        for (int i = 0; i < result.length; i++) {
+            LocalDate date = getter.apply(rows.get(i));
+            if (date == null) {
+                resultNulls.set(i);
+            } else {
+                result[i] = date.toEpochDay();
+            }
+        }
+        values = result;
+        nulls = resultNulls;
+    }
+
+    @Override
+    @Nullable
+    protected LocalDate get(int row) {
+        return nulls.get(row) ? null : LocalDate.ofEpochDay(values[row]);
+    }
+
+    @Override
+    protected void set(int row, @Nullable Object value) throws IllegalArgumentException {
+        if (value != null && !(value instanceof LocalDate)) {
+            throw new IllegalArgumentException("Invalid value " + value + " for column " + getName());
+        }
+        nulls.set(row, value == null);
+        values[row] = value == null ? 0 : ((LocalDate) value).toEpochDay();
+    }
+
+    @Override
+    protected void store(@NotNull @NonNull R target, int row) {
+        if (setter != null) {
+            setter.accept(target, get(row));
+        }
+    }
+
+    @Override
+    @NotNull
+    protected String format(int row) {
+        if (nulls.get(row)) {
+            return "";
+        }
+        Locale locale = Locale.getDefault();
+        if (format == null || !locale.equals(formatLocale)) {
+            format = DateTimeFormatter.ofLocalizedDate(FormatStyle.MEDIUM).withLocale(locale);
+            formatLocale = locale;
+        }
+        return format.format(LocalDate.ofEpochDay(values[row]));
+    }
+
+    @Override
+    public boolean isEditable() {
+        return setter != null;
+    }
+}
@@ -0,0 +1,103 @@
+package eu.fraho.libs.swing.widgets.table;
+
+import lombok.NonNull;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import javax.swing.*;
+import java.text.NumberFormat;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.ObjDoubleConsumer;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * A column of double values, stored in a {@code double[]}. Null values are not supported.
+ *
+ * @param <R> Type of the rows
+ * @author Simon Frankenberger
+ */
+public class DoubleColumn<R> extends TableColumn<R> {
+    @NotNull
+    private final ToDoubleFunction<? super R> getter;
+    @Nullable
+    private final ObjDoubleConsumer<? super R> setter;
+    @NotNull
+    private double[] values = new double[0];
+    @Nullable
+    private NumberFormat format = null;
+    @Nullable
+    private Locale formatLocale = null;
+
+    /**
+     * Create a new column.
+     *
+     * @param name   The caption of the column
+     * @param getter The function to read the value of a row
+     * @param setter The function to write the value of a row, null for a readonly column
+     */
+    public DoubleColumn(@NotNull @NonNull String name, @NotNull @NonNull ToDoubleFunction<? super R> getter, @Nullable ObjDoubleConsumer<? super R> setter) {
+        super(name, Double.class);
+        this.getter = getter;
+        this.setter = setter;
+    }
+
+    /**
+     * @param row The index of the row
+     * @return The value of the given row
+     */
+    public double getDouble(int row) {
+        return values[row];
+    }
+
+    @Override
+    protected void load(@NotNull @NonNull List<R> rows) {
+        double[] result = new double[rows.size()];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = getter.applyAsDouble(rows.get(i));
+        }
+        values = result;
+    }
+
+    @Override
+    @NotNull
+    protected Object get(int row) {
+        return values[row];
+    }
+
+    @Override
+    protected void set(int row, @Nullable Object value) throws IllegalArgumentException {
+        if (!(value instanceof Number)) {
+            throw new IllegalArgumentException("Invalid value " + value + " for column " + getName());
+        }
+        values[row] = ((Number) value).doubleValue();
+    }
+
+    @Override
+    protected void store(@NotNull @NonNull R target, int row) {
+        if (setter != null) {
+            setter.accept(target, values[row]);
+        }
+    }
+
+    @Override
+    @NotNull
+    protected String format(int row) {
+        Locale locale = Locale.getDefault();
+        if (format == null || !locale.equals(formatLocale)) {
+            format = NumberFormat.getNumberInstance(locale);
+            formatLocale = locale;
+        }
+        return format.format(values[row]);
+    }
+
+    @Override
+    public boolean isEditable() {
+        return setter != null;
+    }
+
+    @Override
+    protected int getHorizontalAlignment() {
+        return SwingConstants.TRAILING;
+    }
+}
@@ -0,0 +1,83 @@
+package eu.fraho.libs.swing.widgets.table;
+
+import lombok.NonNull;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.List;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+/**
+ * A column of arbitrary values, stored in an {@code Object[]}.
+ *
+ * @param <R> Type of the rows
+ * @param <T> Type of the values
+ * @author Simon Frankenberger
+ */
+public class ObjectColumn<R, T> extends TableColumn<R> {
+    @NotNull
+    private final Class<T> valueType;
+    @NotNull
+    private final Function<? super R, ? extends T> getter;
+    @Nullable
+    private final BiConsumer<? super R, ? super T> setter;
+    @NotNull
+    private Object[] values = new Object[0];
+
+    /**
+     * Create a new column.
+     *
+     * @param name      The caption of the column
+     * @param valueType The type of the values
+     * @param getter    The function to read the value of a row
+     * @param setter    The function to write the value of a row, null for a readonly column
+     */
+    public ObjectColumn(@NotNull @NonNull String name, @NotNull @NonNull Class<T> valueType, @NotNull @NonNull Function<? super R, ? extends T> getter, @Nullable BiConsumer<? super R, ? super T> setter) {
+        super(name, valueType);
+        this.valueType = valueType;
+        this.getter = getter;
+        this.setter = setter;
+    }
+
+    @Override
+    protected void load(@NotNull @NonNull List<R> rows) {
+        Object[] result = new Object[rows.size()];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = getter.apply(rows.get(i));
+        }
+        values = result;
+    }
+
+    @Override
+    @Nullable
+    protected T get(int row) {
+        return valueType.cast(values[row]);
+    }
+
+    @Override
+    protected void set(int row, @Nullable Object value) throws IllegalArgumentException {
+        if (value != null && !valueType.isInstance(value)) {
+            throw new IllegalArgumentException("Invalid value " + value + " for column " + getName());
+        }
+        values[row] = value;
+    }
+
+    @Override
+    protected void store(@NotNull @NonNull R target, int row) {
+        if (setter != null) {
+            setter.accept(target, get(row));
+        }
+    }
+
+    @Override
+    @NotNull
+    protected String format(int row) {
+        return values[row] == null ? "" : values[row].toString();
+    }
+
+    @Override
+    public boolean isEditable() {
+        return setter != null;
+    }
+}
@@ -0,0 +1,14 @@
+package eu.fraho.libs.swing.widgets.table;
+
+import lombok.Value;
+
+/**
+ * The position of a cell in a {@link ColumnarTableModel}, as model indices.
+ *
+ * @author Simon Frankenberger
+ */
+@Value
+public class TableCell {
+    int row;
+    int column;
+}
@@ -0,0 +1,90 @@
+package eu.fraho.libs.swing.widgets.table;
+
+import lombok.Getter;
+import lombok.NonNull;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import javax.swing.*;
+import java.util.List;
+
+/**
+ * A column of a {@link ColumnarTableModel}. Each column stores the values of all rows
+ * in its own array, numeric and date columns use primitive arrays.<br>
+ * The values are read from the row objects when the rows are loaded. Edited values
+ * are written back into the row objects when they are committed.
+ *
+ * @param <R> Type of the rows
+ * @author Simon Frankenberger
+ */
+@Getter
+public abstract class TableColumn<R> {
+    /**
+     * the caption of the column
+     */
+    @NotNull
+    private final String name;
+
+    /**
+     * the type of the values, used to choose the editor
+     */
+    @NotNull
+    private final Class<?> type;
+
+    protected TableColumn(@NotNull @NonNull String name, @NotNull @NonNull Class<?> type) {
+        this.name = name;
+        this.type = type;
+    }
+
+    /**
+     * Read the values of all rows into this column.
+     *
+     * @param rows The rows to read
+     */
+    protected abstract void load(@NotNull List<R> rows);
+
+    /**
+     * @param row The index of the row
+     * @return The value of the given row, boxed
+     */
+    @Nullable
+    protected abstract Object get(int row);
+
+    /**
+     * Store a new value for the given row.
+     *
+     * @param row   The index of the row
+     * @param value The new value
+     * @throws IllegalArgumentException If the value is not valid for this column
+     */
+    protected abstract void set(int row, @Nullable Object value) throws IllegalArgumentException;
+
+    /**
+     * Write the stored value back into the row object.
+     *
+     * @param target The row object
+     * @param row    The index of the row
+     */
+    protected abstract void store(@NotNull R target, int row);
+
+    /**
+     * Format the value of the given row for display, without boxing primitive values.
+     *
+     * @param row The index of the row
+     * @return The formatted value
+     */
+    @NotNull
+    protected abstract String format(int row);
+
+    /**
+     * @return Can the values of this column be edited?
+     */
+    public abstract boolean isEditable();
+
+    /**
+     * @return The alignment of the rendered values, one of the {@link SwingConstants}
+     */
+    protected int getHorizontalAlignment() {
+        return SwingConstants.LEADING;
+    }
+}
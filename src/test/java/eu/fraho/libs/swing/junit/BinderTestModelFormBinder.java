@@ -0,0 +1,88 @@
+/*
+ * MIT Licence
+ * Copyright (c) 2018 Simon Frankenberger
+ *
+ * Please see LICENCE.md for complete licence text.
+ */
+package eu.fraho.libs.swing.junit;
+
+import eu.fraho.libs.swing.widgets.WStringTextField;
+import eu.fraho.libs.swing.widgets.base.WComponent;
+import eu.fraho.libs.swing.widgets.form.FormBinder;
+import eu.fraho.libs.swing.widgets.form.FormField;
+import eu.fraho.libs.swing.widgets.form.FormModel;
+import eu.fraho.libs.swing.widgets.form.ModelAccessor;
+import eu.fraho.libs.swing.junit.WFormTest.BinderTestModel;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * Hand written equivalent of a generated binder, registered in META-INF/services.
+ * Only handles the field "foo", "bar" is left to the reflective fallback.
+ * Both fields are listed by the binder, so the model class is not scanned.
+ */
+public class BinderTestModelFormBinder implements FormBinder<BinderTestModel> {
+    public static final String COMPONENT_NAME = "BinderTestModelFormBinder.foo";
+    public static final AtomicInteger ANNOTATION_LOOKUPS = new AtomicInteger();
+
+    @NotNull
+    @Override
+    public Class<BinderTestModel> getModelClass() {
+        return BinderTestModel.class;
+    }
+
+    @Nullable
+    @Override
+    public ModelAccessor getAccessor(@NotNull String field) {
+        if (!"foo".equals(field)) {
+            return null;
+        }
+        return new ModelAccessor() {
+            @Override
+            public Object getValue(@NotNull FormModel model) {
+                return ((BinderTestModel) model).getFoo();
+            }
+
+            @Override
+            public void setValue(@NotNull FormModel model, @Nullable Object value) {
+                ((BinderTestModel) model).setFoo((String) value);
+            }
+        };
+    }
+
+    @Nullable
+    @Override
+    public List<String> getFieldNames() {
+        return Arrays.asList("foo", "bar");
+    }
+
+    @Nullable
+    @Override
+    public FormField getAnnotation(@NotNull String field) {
+        ANNOTATION_LOOKUPS.incrementAndGet();
+        try {
+            // a generated binder recreates the annotation in source, reflection is fine for the test
+            return BinderTestModel.class.getDeclaredField(field).getAnnotation(FormField.class);
+        } catch (NoSuchFieldException nsfe) {
+            return null;
+        }
+    }
+
+    @Nullable
+    @Override
+    public Function<Object, WComponent<?>> getComponentFactory(@NotNull String field) {
+        if (!"foo".equals(field)) {
+            return null;
+        }
+        return value -> {
+            WStringTextField result = new WStringTextField((String) value);
+            result.setName(COMPONENT_NAME);
+            return result;
+        };
+    }
+}
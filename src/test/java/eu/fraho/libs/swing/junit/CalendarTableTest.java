@@ -0,0 +1,199 @@
+/*
+ * MIT Licence
+ * Copyright (c) 2018 Simon Frankenberger
+ *
+ * Please see LICENCE.md for complete licence text.
+ */
+package eu.fraho.libs.swing.junit;
+
+import eu.fraho.libs.swing.widgets.datepicker.CalendarTableModel;
+import eu.fraho.libs.swing.widgets.datepicker.CalendarTableRenderer;
+import eu.fraho.libs.swing.widgets.datepicker.ColorTheme;
+import org.junit.Assert;
+import org.junit.Test;
+
+import javax.swing.*;
+import java.awt.*;
+import java.lang.reflect.Proxy;
+import java.text.DateFormatSymbols;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.WeekFields;
+import java.util.Locale;
+
+public class CalendarTableTest {
+    @Test
+    public void testGridLeftToRight() {
+        withLocale(Locale.GERMANY, () -> {
+            // March 2018 starts on a thursday
+            CalendarTableModel model = new CalendarTableModel(LocalDate.of(2018, 3, 15));
+            Assert.assertEquals(LocalDate.of(2018, 3, 1), model.getBaseDate());
+            Assert.assertEquals(LocalDate.of(2018, 2, 26), model.getValueAt(0, 0));
+            Assert.assertEquals(LocalDate.of(2018, 3, 1), model.getValueAt(0, 3));
+            Assert.assertEquals(LocalDate.of(2018, 4, 8), model.getValueAt(5, 6));
+            assertGrid(model, false);
+
+            // a month starting on the first day of week shows the whole previous week
+            model.setSelectedDate(LocalDate.of(2018, 10, 1));
+            Assert.assertEquals(LocalDate.of(2018, 9, 24), model.getValueAt(0, 0));
+            Assert.assertEquals(LocalDate.of(2018, 10, 1), model.getValueAt(1, 0));
+            assertGrid(model, false);
+        });
+
+        withLocale(Locale.US, () -> {
+            CalendarTableModel model = new CalendarTableModel(LocalDate.of(2018, 3, 15));
+            Assert.assertEquals(LocalDate.of(2018, 2, 25), model.getValueAt(0, 0));
+            assertGrid(model, false);
+        });
+    }
+
+    @Test
+    public void testGridRightToLeft() {
+        Locale arabic = new Locale("ar", "EG");
+        Assert.assertFalse(ComponentOrientation.getOrientation(arabic).isLeftToRight());
+        withLocale(arabic, () -> {
+            CalendarTableModel model = new CalendarTableModel(LocalDate.of(2018, 3, 15));
+            assertGrid(model, true);
+            // the first day of week is in the rightmost column
+            Assert.assertEquals(WeekFields.of(arabic).getFirstDayOfWeek(), model.getValueAt(2, 6).getDayOfWeek());
+            Assert.assertEquals(model.getValueAt(2, 6).plusDays(6), model.getValueAt(2, 0));
+        });
+    }
+
+    @Test
+    public void testRebuildOnYearChange() {
+        withLocale(Locale.GERMANY, () -> {
+            CalendarTableModel model = new CalendarTableModel(LocalDate.of(2018, 3, 15));
+            LocalDate first = model.getValueAt(0, 0);
+
+            // same month and year, the grid is kept
+            model.setSelectedDate(LocalDate.of(2018, 3, 20));
+            Assert.assertSame(first, model.getValueAt(0, 0));
+            Assert.assertEquals(LocalDate.of(2018, 3, 20), model.getSelectedDate());
+
+            // same month of another year
+            model.setSelectedDate(LocalDate.of(2019, 3, 15));
+            Assert.assertEquals(LocalDate.of(2019, 3, 1), model.getBaseDate());
+            Assert.assertEquals(LocalDate.of(2019, 2, 25), model.getValueAt(0, 0));
+            Assert.assertEquals(LocalDate.of(2019, 3, 15), model.getValueAt(2, 4));
+            assertGrid(model, false);
+        });
+    }
+
+    @Test
+    public void testRendererCellStates() {
+        ColorTheme theme = namedColors();
+        CalendarTableRenderer renderer = new CalendarTableRenderer(theme);
+        LocalDate today = LocalDate.now();
+        LocalDate other = today.getDayOfMonth() == 1 ? today.plusDays(1) : today.minusDays(1);
+
+        // today selected
+        CalendarTableModel model = new CalendarTableModel(today);
+        JTable table = new JTable(model);
+        assertColors(renderer, table, today, "fgGridTodaySelected", "bgGridTodaySelected");
+        assertColors(renderer, table, other, "fgGridThisMonth", "bgGrid");
+
+        // another day selected
+        model.setSelectedDate(other);
+        assertColors(renderer, table, today, "fgGridToday", "bgGrid");
+        assertColors(renderer, table, other, "fgGridSelected", "bgGridSelected");
+        assertColors(renderer, table, model.getValueAt(0, 0), "fgGridOtherMonth", "bgGrid");
+        assertColors(renderer, table, model.getValueAt(5, 6), "fgGridOtherMonth", "bgGrid");
+
+        // another month wins over today, if today is shown
+        for (LocalDate month : new LocalDate[]{today.minusMonths(1), today.plusMonths(1)}) {
+            model.setSelectedDate(month);
+            if (findCell(model, today) != null) {
+                assertColors(renderer, table, today, "fgGridOtherMonth", "bgGrid");
+            }
+        }
+
+        // a disabled table overrides the background only
+        model.setSelectedDate(other);
+        table.setEnabled(false);
+        assertColors(renderer, table, other, "fgGridSelected", "bgDisabled");
+
+        // the header
+        Component header = renderer.getTableCellRendererComponent(table, "Mo", false, false, -1, 0);
+        Assert.assertEquals(color("fgGridHeader"), header.getForeground());
+        Assert.assertEquals(color("bgGridHeader"), header.getBackground());
+    }
+
+    private static void assertGrid(CalendarTableModel model, boolean rightToLeft) {
+        Locale locale = Locale.getDefault();
+        DayOfWeek firstDayOfWeek = WeekFields.of(locale).getFirstDayOfWeek();
+        String[] weekdays = new DateFormatSymbols(locale).getShortWeekdays();
+        LocalDate base = model.getBaseDate();
+
+        LocalDate first = model.getValueAt(0, rightToLeft ? 6 : 0);
+        Assert.assertEquals(firstDayOfWeek, first.getDayOfWeek());
+        Assert.assertTrue("At least one day of the previous month", first.isBefore(base));
+        Assert.assertFalse("At most one week of the previous month", base.isAfter(first.plusDays(7)));
+        for (int row = 0; row < 6; row++) {
+            for (int column = 0; column < 7; column++) {
+                int position = row * 7 + (rightToLeft ? 6 - column : column);
+                Assert.assertEquals("Cell " + row + "/" + column, first.plusDays(position), model.getValueAt(row, column));
+            }
+        }
+        Assert.assertTrue("At least one day of the next month", model.getValueAt(5, rightToLeft ? 0 : 6).isAfter(base.plusMonths(1).minusDays(1)));
+
+        for (int column = 0; column < 7; column++) {
+            DayOfWeek day = model.getValueAt(0, column).getDayOfWeek();
+            // DateFormatSymbols start with sunday at index 1
+            Assert.assertEquals(weekdays[day.getValue() % 7 + 1], model.getColumnName(column));
+        }
+    }
+
+    private static void assertColors(CalendarTableRenderer renderer, JTable table, LocalDate date, String foreground, String background) {
+        Point cell = findCell((CalendarTableModel) table.getModel(), date);
+        Assert.assertNotNull("Date " + date + " not shown", cell);
+        Component component = renderer.getTableCellRendererComponent(table, date, false, false, cell.y, cell.x);
+        Assert.assertEquals(date + " foreground", color(foreground), component.getForeground());
+        Assert.assertEquals(date + " background", color(background), component.getBackground());
+        Assert.assertEquals(String.valueOf(date.getDayOfMonth()), ((JLabel) component).getText());
+    }
+
+    private static Point findCell(CalendarTableModel model, LocalDate date) {
+        for (int row = 0; row < model.getRowCount(); row++) {
+            for (int column = 0; column < model.getColumnCount(); column++) {
+                if (date.equals(model.getValueAt(row, column))) {
+                    return new Point(column, row);
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * @return A theme with a distinct color for each method
+     */
+    private static ColorTheme namedColors() {
+        return (ColorTheme) Proxy.newProxyInstance(ColorTheme.class.getClassLoader(), new Class<?>[]{ColorTheme.class},
+                (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "equals":
+                            return proxy == args[0];
+                        case "hashCode":
+                            return System.identityHashCode(proxy);
+                        case "toString":
+                            return "NamedColors";
+                        default:
+                            return color(method.getName());
+                    }
+                });
+    }
+
+    private static Color color(String name) {
+        return new Color(name.hashCode() & 0xFFFFFF);
+    }
+
+    private static void withLocale(Locale locale, Runnable action) {
+        Locale old = Locale.getDefault();
+        Locale.setDefault(locale);
+        try {
+            action.run();
+        } finally {
+            Locale.setDefault(old);
+        }
+    }
+}
@@ -0,0 +1,111 @@
+/*
+ * MIT Licence
+ * Copyright (c) 2018 Simon Frankenberger
+ *
+ * Please see LICENCE.md for complete licence text.
+ */
+package eu.fraho.libs.swing.junit;
+
+import eu.fraho.libs.swing.widgets.WDatePanel;
+import eu.fraho.libs.swing.widgets.WDateTimePanel;
+import eu.fraho.libs.swing.widgets.WTimePanel;
+import eu.fraho.libs.swing.widgets.base.AbstractWPickerPanel;
+import org.junit.Assert;
+import org.junit.Test;
+
+import javax.swing.*;
+import java.awt.*;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.FormatStyle;
+import java.util.*;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+public class PickerPanelClockTest {
+    private static final String CLOCK_THREAD = "swing-components-clock";
+
+    @Test
+    public void testSharedClock() throws Exception {
+        List<AbstractWPickerPanel<?>> panels = new ArrayList<>();
+        SwingUtilities.invokeAndWait(() -> {
+            for (int i = 0; i < 3; i++) {
+                AbstractWPickerPanel<?> panel = i % 2 == 0 ? new WTimePanel() : new WDatePanel();
+                findNowLabel(panel).setText("");
+                panels.add(panel);
+            }
+            panels.forEach(AbstractWPickerPanel::startClock);
+        });
+
+        // one thread ticks for all panels
+        Assert.assertEquals(1, countClockThreads());
+
+        // each tick updates the labels on the event dispatch thread
+        long timeout = System.currentTimeMillis() + 5_000;
+        while (!allLabelsSet(panels) && System.currentTimeMillis() < timeout) {
+            Thread.sleep(50);
+        }
+        Assert.assertTrue("Clock labels not updated", allLabelsSet(panels));
+        Assert.assertEquals(1, countClockThreads());
+
+        // the panels are not showing, so they have been unsubscribed by the first tick
+        SwingUtilities.invokeAndWait(() -> panels.forEach(panel -> findNowLabel(panel).setText("stale")));
+        Thread.sleep(1_500);
+        SwingUtilities.invokeAndWait(() -> panels.forEach(panel -> Assert.assertEquals("stale", findNowLabel(panel).getText())));
+    }
+
+    @Test
+    public void testClockFormatPerLocale() throws Exception {
+        Locale old = Locale.getDefault();
+        try {
+            for (Locale locale : new Locale[]{Locale.US, Locale.GERMANY, Locale.US}) {
+                Locale.setDefault(locale);
+                SwingUtilities.invokeAndWait(() -> {
+                    String date = findNowLabel(new WDatePanel()).getText();
+                    String time = findNowLabel(new WTimePanel()).getText();
+                    String dateTime = findNowLabel(new WDateTimePanel()).getText();
+                    LocalDateTime now = LocalDateTime.now();
+
+                    Assert.assertEquals(DateTimeFormatter.ofLocalizedDate(FormatStyle.MEDIUM).withLocale(locale).format(now), date);
+                    LocalTime parsedTime = LocalTime.parse(time, DateTimeFormatter.ofLocalizedTime(FormatStyle.MEDIUM).withLocale(locale));
+                    Assert.assertTrue(time, Math.abs(Duration.between(parsedTime, now.toLocalTime()).getSeconds()) < 5);
+                    LocalDateTime parsedDateTime = LocalDateTime.parse(dateTime, DateTimeFormatter.ofLocalizedDateTime(FormatStyle.MEDIUM).withLocale(locale));
+                    Assert.assertTrue(dateTime, Math.abs(Duration.between(parsedDateTime, now).getSeconds()) < 5);
+                });
+            }
+        } finally {
+            Locale.setDefault(old);
+        }
+    }
+
+    private static boolean allLabelsSet(List<AbstractWPickerPanel<?>> panels) throws Exception {
+        AtomicReference<Boolean> result = new AtomicReference<>();
+        SwingUtilities.invokeAndWait(() -> result.set(panels.stream().noneMatch(panel -> findNowLabel(panel).getText().isEmpty())));
+        return result.get();
+    }
+
+    private static long countClockThreads() {
+        return Thread.getAllStackTraces().keySet().stream()
+                .filter(thread -> CLOCK_THREAD.equals(thread.getName()) && thread.isAlive())
+                .count();
+    }
+
+    /**
+     * Search breadth first, so the label of nested panels is not found first.
+     */
+    private static JLabel findNowLabel(Container container) {
+        Deque<Component> queue = new ArrayDeque<>(Arrays.asList(container.getComponents()));
+        while (!queue.isEmpty()) {
+            Component child = queue.poll();
+            if (child instanceof JLabel && "now".equals(child.getName())) {
+                return (JLabel) child;
+            }
+            if (child instanceof Container) {
+                queue.addAll(Arrays.asList(((Container) child).getComponents()));
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,251 @@
+/*
+ * MIT Licence
+ * Copyright (c) 2018 Simon Frankenberger
+ *
+ * Please see LICENCE.md for complete licence text.
+ */
+package eu.fraho.libs.swing.junit;
+
+import eu.fraho.libs.swing.exceptions.ChangeVetoException;
+import eu.fraho.libs.swing.widgets.WCheckBox;
+import eu.fraho.libs.swing.widgets.WLongTextField;
+import eu.fraho.libs.swing.widgets.WStringTextField;
+import eu.fraho.libs.swing.widgets.base.CoalescingPolicy;
+import eu.fraho.libs.swing.widgets.events.BooleanChangeListener;
+import eu.fraho.libs.swing.widgets.events.DataChangedEvent;
+import eu.fraho.libs.swing.widgets.events.LongChangeListener;
+import eu.fraho.libs.swing.widgets.events.NonRetainingListener;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import javax.swing.*;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+public class WComponentEventsTest {
+    @Test
+    public void testListenerRemovesItself() {
+        WStringTextField field = new WStringTextField("a");
+        List<String> calls = new ArrayList<>();
+        Consumer<DataChangedEvent> second = event -> calls.add("second");
+        field.addDataChangedListener(new Consumer<DataChangedEvent>() {
+            @Override
+            public void accept(DataChangedEvent event) {
+                calls.add("first");
+                field.removeDataChangedListener(this);
+                field.addDataChangedListener(e -> calls.add("late"));
+            }
+        });
+        field.addDataChangedListener(second);
+
+        field.setValue("b");
+        Assert.assertEquals(Arrays.asList("first", "second"), calls);
+
+        calls.clear();
+        field.removeDataChangedListener(second);
+        field.setValue("c");
+        Assert.assertEquals(Arrays.asList("late"), calls);
+    }
+
+    @Test
+    public void testReuseEventForNonRetainingListeners() {
+        WStringTextField field = new WStringTextField("a");
+        List<DataChangedEvent> events = new ArrayList<>();
+        List<Object> values = new ArrayList<>();
+        field.addDataChangedListener((NonRetainingListener) event -> {
+            events.add(event);
+            values.add(event.getNewValue());
+        });
+
+        field.setValue("b");
+        field.setValue("c");
+        Assert.assertEquals(Arrays.asList("b", "c"), values);
+        Assert.assertSame(events.get(0), events.get(1));
+        Assert.assertNull(events.get(0).getNewValue());
+
+        Consumer<DataChangedEvent> retaining = events::add;
+        field.addDataChangedListener(retaining);
+        field.setValue("d");
+        Assert.assertNotSame(events.get(0), events.get(2));
+        Assert.assertEquals("d", events.get(2).getNewValue());
+
+        field.removeDataChangedListener(retaining);
+        field.setValue("e");
+        Assert.assertSame(events.get(0), events.get(4));
+
+        // a detached copy keeps the values of the reused event
+        List<DataChangedEvent> detached = new ArrayList<>();
+        NonRetainingListener forwarder = event -> detached.add(event.detach());
+        field.addDataChangedListener(forwarder);
+        field.setValue("f");
+        Assert.assertNotSame(events.get(0), detached.get(0));
+        Assert.assertEquals("e", detached.get(0).getOldValue());
+        Assert.assertEquals("f", detached.get(0).getNewValue());
+        Assert.assertSame(detached.get(0), detached.get(0).detach());
+    }
+
+    @Test
+    public void testEventFieldsFinal() {
+        for (Field field : DataChangedEvent.class.getDeclaredFields()) {
+            Assert.assertTrue(field.getName(), field.isSynthetic() || Modifier.isFinal(field.getModifiers()));
+        }
+    }
+
+    @Test
+    public void testEventTimestamp() {
+        WStringTextField field = new WStringTextField("a");
+        List<DataChangedEvent> events = new ArrayList<>();
+        field.addDataChangedListener(events::add);
+        field.setValue("b");
+
+        long age = ChronoUnit.SECONDS.between(events.get(0).getWhen(), LocalDateTime.now());
+        Assert.assertTrue(age >= 0 && age < 5);
+    }
+
+    @Test
+    public void testLongChangeListener() {
+        WLongTextField field = new WLongTextField(1L);
+        List<String> calls = new ArrayList<>();
+        field.addValueChangeListener((LongChangeListener) (oldValue, newValue, why) -> {
+            calls.add(oldValue + ">" + newValue + " " + why);
+            if (newValue < 0) {
+                throw new ChangeVetoException("negative");
+            }
+        });
+        field.addDataChangedListener(event -> calls.add("event"));
+
+        field.setValue(5L);
+        try {
+            field.setValue(-1L);
+            Assert.fail("Veto expected");
+        } catch (ChangeVetoException cve) {
+            // expected
+        }
+        field.setValue(null);
+        field.rollbackChanges();
+
+        Assert.assertEquals(Long.valueOf(1L), field.getValue());
+        Assert.assertEquals(Arrays.asList("1>5 CHANGED", "event", "5>-1 CHANGED", "event", "event"), calls);
+    }
+
+    @Test
+    public void testBooleanChangeListener() {
+        WCheckBox box = new WCheckBox((Boolean) null);
+        List<String> calls = new ArrayList<>();
+        BooleanChangeListener listener = (oldValue, newValue, why) -> calls.add(oldValue + ">" + newValue + " " + why);
+        box.addValueChangeListener(listener);
+
+        box.setValue(false);
+        box.setValue(true);
+        box.commitChanges();
+        box.removeValueChangeListener(listener);
+        box.setValue(false);
+
+        Assert.assertEquals(Arrays.asList("false>true CHANGED", "false>true COMMIT"), calls);
+    }
+
+    @Test
+    public void testDebounce() throws Exception {
+        WLongTextField field = new WLongTextField(0L);
+        field.setCoalescingPolicy(CoalescingPolicy.debounce(50));
+        List<String> calls = new ArrayList<>();
+        field.addDataChangedListener(event -> calls.add(event.getOldValue() + ">" + event.getNewValue()));
+
+        SwingUtilities.invokeAndWait(() -> {
+            field.setValue(1L);
+            field.setValue(2L);
+            field.setValue(3L);
+        });
+        Assert.assertTrue(calls.isEmpty());
+        Assert.assertEquals(Long.valueOf(3L), field.getValue());
+
+        Thread.sleep(300);
+        SwingUtilities.invokeAndWait(() -> {
+        });
+        Assert.assertEquals(Collections.singletonList("0>3"), calls);
+    }
+
+    @Test
+    public void testCoalescedVeto() throws Exception {
+        WLongTextField field = new WLongTextField(0L);
+        field.setCoalescingPolicy(CoalescingPolicy.onIdle());
+        field.addValueChangeListener((LongChangeListener) (oldValue, newValue, why) -> {
+            if (newValue < 0) {
+                throw new ChangeVetoException("negative");
+            }
+        });
+
+        SwingUtilities.invokeAndWait(() -> {
+            field.setValue(5L);
+            field.setValue(-5L);
+        });
+        SwingUtilities.invokeAndWait(() -> {
+        });
+        Assert.assertEquals(Long.valueOf(0L), field.getValue());
+
+        SwingUtilities.invokeAndWait(() -> {
+            field.setValue(-1L);
+            try {
+                field.commitChanges();
+                Assert.fail("Veto expected");
+            } catch (ChangeVetoException cve) {
+                // expected
+            }
+        });
+        Assert.assertEquals(Long.valueOf(0L), field.getValue());
+        Assert.assertFalse(field.hasChanged());
+    }
+
+    @Test
+    public void testAsyncListener() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            WLongTextField field = new WLongTextField(0L);
+            List<Object> values = new CopyOnWriteArrayList<>();
+            List<Thread> threads = new CopyOnWriteArrayList<>();
+            Consumer<DataChangedEvent> async = event -> {
+                values.add(event.getNewValue());
+                threads.add(Thread.currentThread());
+            };
+            field.addDataChangedListenerAsync(async, executor);
+            field.addDataChangedListener(event -> {
+                if (Long.valueOf(-1L).equals(event.getNewValue())) {
+                    throw new ChangeVetoException("negative");
+                }
+            });
+
+            for (long i = 1; i <= 100; i++) {
+                field.setValue(i);
+            }
+            try {
+                field.setValue(-1L);
+                Assert.fail("Veto expected");
+            } catch (ChangeVetoException cve) {
+                // expected
+            }
+            field.removeDataChangedListener(async);
+            field.setValue(200L);
+
+            executor.shutdown();
+            Assert.assertTrue(executor.awaitTermination(5, TimeUnit.SECONDS));
+            Assert.assertEquals(100, values.size());
+            for (int i = 0; i < 100; i++) {
+                Assert.assertEquals((long) i + 1, values.get(i));
+            }
+            Assert.assertFalse(threads.contains(Thread.currentThread()));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -12,10 +12,15 @@ import eu.fraho.libs.swing.exceptions.FormCreateException;
 import eu.fraho.libs.swing.widgets.WComboBox;
 import eu.fraho.libs.swing.widgets.WDatePicker;
 import eu.fraho.libs.swing.widgets.WStringTextField;
+import eu.fraho.libs.swing.widgets.base.CoalescingPolicy;
+import eu.fraho.libs.swing.widgets.base.WComponent;
 import eu.fraho.libs.swing.widgets.datepicker.ThemeSupport;
 import eu.fraho.libs.swing.widgets.events.DataChangedEvent;
+import eu.fraho.libs.swing.widgets.events.FormCommitEvent;
+import eu.fraho.libs.swing.widgets.events.NonRetainingListener;
 import eu.fraho.libs.swing.widgets.form.FormField;
 import eu.fraho.libs.swing.widgets.form.FormModel;
+import eu.fraho.libs.swing.widgets.form.LambdaModelAccessorFactory;
 import eu.fraho.libs.swing.widgets.form.WForm;
 import lombok.Data;
 import lombok.EqualsAndHashCode;
@@ -27,9 +32,12 @@ import org.junit.Test;
 import javax.swing.*;
 import java.awt.*;
 import java.time.LocalDate;
-import java.util.ArrayList;
+import java.util.*;
 import java.util.List;
-import java.util.NoSuchElementException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 @Slf4j
 @SuppressWarnings("unused")
@@ -140,6 +148,35 @@ public class WFormTest {
         Assert.assertEquals("foobar", form.getComponent("foo").getValue());
     }
 
+    @Test
+    public void testForwardedFieldEvents() {
+        WForm<NormalTestModel> form = new WForm<>(new NormalTestModel());
+        WComponent<String> foo = form.getComponent("foo");
+        List<DataChangedEvent> events = new ArrayList<>();
+        List<Object> values = new ArrayList<>();
+        form.addDataChangedListener((NonRetainingListener) event -> {
+            events.add(event);
+            values.add(event.getNewValue());
+        });
+
+        // only non-retaining listeners, so the field reuses its event
+        foo.setValue("a");
+        foo.setValue("b");
+        Assert.assertEquals(Arrays.asList("a", "b"), values);
+        Assert.assertSame(events.get(0), events.get(1));
+
+        // a retaining listener of the form gets detached events
+        List<DataChangedEvent> retained = new ArrayList<>();
+        form.addDataChangedListener(retained::add);
+        foo.setValue("c");
+        foo.setValue("d");
+        Assert.assertEquals(2, retained.size());
+        Assert.assertNotSame(retained.get(0), retained.get(1));
+        Assert.assertEquals("c", retained.get(0).getNewValue());
+        Assert.assertEquals("d", retained.get(1).getNewValue());
+        Assert.assertSame(foo, retained.get(1).getSource());
+    }
+
     @Test(expected = ChangeVetoException.class)
     public void testSetNullValue() {
         NormalTestModel model = new NormalTestModel();
@@ -177,6 +214,393 @@ public class WFormTest {
         form.getComponent("foobar2");
     }
 
+    @Test
+    public void testSameModelClassTwice() {
+        NormalTestModel modelA = new NormalTestModel();
+        modelA.setFoo("foo");
+        NormalTestModel modelB = new NormalTestModel();
+        modelB.setFoo("bar");
+
+        WForm<NormalTestModel> formA = new WForm<>(modelA);
+        WForm<NormalTestModel> formB = new WForm<>(modelB);
+        Assert.assertNotSame(formA.getComponent("foo"), formB.getComponent("foo"));
+        Assert.assertEquals("foo", formA.getComponent("foo").getValue());
+        Assert.assertEquals("bar", formB.getComponent("foo").getValue());
+
+        formB.getComponent("foo").setValue("foobar");
+        formB.commitChanges();
+        Assert.assertEquals("foo", modelA.getFoo());
+        Assert.assertEquals("foobar", modelB.getFoo());
+    }
+
+    @Test
+    public void testRebindSameModelClass() {
+        NormalTestModel modelA = new NormalTestModel();
+        modelA.setFoo("foo");
+        modelA.setBar("bar");
+        NormalTestModel modelB = new NormalTestModel();
+        modelB.setFoo("foo2");
+        modelB.setBar("bar");
+
+        WForm<NormalTestModel> form = new WForm<>(modelA);
+        WComponent<String> foo = form.getComponent("foo");
+        WComponent<String> bar = form.getComponent("bar");
+        List<DataChangedEvent> events = new ArrayList<>();
+        form.addDataChangedListener(events::add);
+        foo.setValue("changed");
+        events.clear();
+
+        form.setValue(modelB);
+        Assert.assertSame(foo, form.getComponent("foo"));
+        Assert.assertSame(bar, form.getComponent("bar"));
+        Assert.assertEquals("foo2", foo.getValue());
+        Assert.assertFalse(foo.hasChanged());
+        Assert.assertEquals(1, events.size());
+        Assert.assertSame(form, events.get(0).getSource());
+
+        foo.setValue("foobar");
+        form.commitChanges();
+        Assert.assertEquals("foo", modelA.getFoo());
+        Assert.assertEquals("foobar", modelB.getFoo());
+    }
+
+    @Test
+    public void testDirtyFields() {
+        NormalTestModel model = new NormalTestModel();
+        WForm<NormalTestModel> form = new WForm<>(model);
+        Assert.assertFalse(form.hasChanged());
+
+        form.getComponent("foo").setValue("foo");
+        form.getComponent("bar").setValue("bar");
+        Assert.assertTrue(form.hasChanged());
+        Assert.assertEquals(new HashSet<>(Arrays.asList("foo", "bar")), form.getDirtyFields());
+
+        form.getComponent("bar").setValue(null);
+        Assert.assertEquals(Collections.singleton("foo"), form.getDirtyFields());
+
+        form.commitChanges();
+        Assert.assertFalse(form.hasChanged());
+        Assert.assertEquals("foo", model.getFoo());
+
+        form.getComponent("bar").setValue("bar");
+        form.rollbackChanges();
+        Assert.assertFalse(form.hasChanged());
+        Assert.assertNull(form.getComponent("bar").getValue());
+    }
+
+    @Test
+    public void testDirtyFieldsAfterVeto() {
+        NormalTestModel model = new NormalTestModel();
+        model.setFoo("foo");
+        WForm<NormalTestModel> form = new WForm<>(model);
+        form.getComponent("foo").setValue("bar");
+
+        // registered after the form, so the form already saw the reverting change
+        form.getComponent("foo").addDataChangedListener(event -> {
+            if ("foo".equals(event.getNewValue())) {
+                throw new ChangeVetoException("No way back");
+            }
+        });
+        try {
+            form.getComponent("foo").setValue("foo");
+            Assert.fail("Veto expected");
+        } catch (ChangeVetoException cve) {
+            log.debug("Got expected veto", cve);
+        }
+
+        Assert.assertEquals("bar", form.getComponent("foo").getValue());
+        Assert.assertTrue(form.hasChanged());
+        Assert.assertEquals(Collections.singleton("foo"), form.getDirtyFields());
+    }
+
+    @Test
+    public void testCoalescedFormChanges() {
+        NormalTestModel model = new NormalTestModel();
+        WForm<NormalTestModel> form = new WForm<>(model);
+        form.setCoalescingPolicy(CoalescingPolicy.debounce(60_000));
+        List<Object> values = new ArrayList<>();
+        form.addDataChangedListener(event -> {
+            if (event.getWhy() == DataChangedEvent.ChangeType.CHANGED) {
+                values.add(event.getNewValue());
+            }
+        });
+
+        form.getComponent("foo").setValue("f");
+        form.getComponent("foo").setValue("fo");
+        form.getComponent("foo").setValue("foo");
+        Assert.assertTrue(values.isEmpty());
+
+        // queries see the pending change, but don't deliver it
+        Assert.assertTrue(form.hasPendingChanges());
+        Assert.assertTrue(form.hasChanged());
+        Assert.assertEquals(Collections.singleton("foo"), form.getDirtyFields());
+        Assert.assertTrue(values.isEmpty());
+
+        form.commitChanges();
+        Assert.assertEquals(Collections.singletonList("foo"), values);
+        Assert.assertEquals("foo", model.getFoo());
+        Assert.assertFalse(form.hasPendingChanges());
+
+        // a rollback discards the pending change
+        form.getComponent("foo").setValue("bar");
+        form.rollbackChanges();
+        Assert.assertEquals(Collections.singletonList("foo"), values);
+        Assert.assertEquals("foo", form.getComponent("foo").getValue());
+        Assert.assertFalse(form.hasPendingChanges());
+        Assert.assertFalse(form.hasChanged());
+    }
+
+    @Test
+    public void testPendingFieldTracking() {
+        NormalTestModel model = new NormalTestModel();
+        WForm<NormalTestModel> form = new WForm<>(model);
+        List<Boolean> states = new ArrayList<>();
+        form.getComponent("foo").addPendingChangeListener(states::add);
+
+        // without coalescing, nothing is held back
+        form.getComponent("foo").setValue("foo");
+        Assert.assertTrue(states.isEmpty());
+        Assert.assertFalse(form.hasPendingChanges());
+        form.commitChanges();
+
+        form.setCoalescingPolicy(CoalescingPolicy.debounce(60_000));
+        form.getComponent("foo").setValue("f");
+        form.getComponent("foo").setValue("fo");
+        form.getComponent("bar").setValue("bar");
+        Assert.assertEquals(Collections.singletonList(true), states);
+        Assert.assertTrue(form.hasPendingChanges());
+        Assert.assertEquals(new HashSet<>(Arrays.asList("foo", "bar")), form.getDirtyFields());
+
+        // delivering the change of a single field removes it from the pending fields
+        form.getComponent("foo").flushPendingChanges();
+        Assert.assertEquals(Arrays.asList(true, false), states);
+        Assert.assertTrue(form.hasPendingChanges());
+
+        // a change reverted before its delivery is not dirty
+        form.getComponent("bar").setValue(null);
+        Assert.assertEquals(Collections.singleton("foo"), form.getDirtyFields());
+
+        form.rollbackChanges();
+        Assert.assertFalse(form.hasPendingChanges());
+        Assert.assertFalse(form.hasChanged());
+        Assert.assertEquals("foo", form.getComponent("foo").getValue());
+    }
+
+    @Test
+    public void testLazySections() {
+        SectionTestModel model = new SectionTestModel();
+        model.setFoo("foo");
+        model.setBaz("baz");
+
+        WForm<SectionTestModel> form = new WForm<>(model, 1, true);
+        Assert.assertEquals(0, model.getBazReads());
+        Assert.assertFalse(form.isSectionExpanded("Section"));
+
+        form.setSectionExpanded("Section", true);
+        Assert.assertEquals(1, model.getBazReads());
+        Assert.assertTrue(form.isSectionExpanded("Section"));
+        Assert.assertEquals("baz", form.getComponent("baz").getValue());
+
+        form.getComponent("baz").setValue("foobar");
+        form.commitChanges();
+        Assert.assertEquals("foobar", model.getBaz());
+    }
+
+    @Test
+    public void testLazyGetComponent() {
+        SectionTestModel model = new SectionTestModel();
+        model.setBaz("baz");
+
+        WForm<SectionTestModel> form = new WForm<>(model, 1, true);
+        Assert.assertEquals("baz", form.getComponent("baz").getValue());
+        Assert.assertFalse(form.isSectionExpanded("Section"));
+    }
+
+    @Test
+    public void testBuildAsync() throws Exception {
+        NormalTestModel model = new NormalTestModel();
+        model.setFoo("foo");
+
+        List<Integer> progress = Collections.synchronizedList(new ArrayList<>());
+        WForm<NormalTestModel> form = WForm.buildAsync(model, 1, false, ForkJoinPool.commonPool(), (prepared, total) -> {
+            Assert.assertEquals(2, total);
+            progress.add(prepared);
+        }).get(5, TimeUnit.SECONDS);
+
+        Assert.assertEquals(Arrays.asList(1, 2), progress);
+        Assert.assertEquals("foo", form.getComponent("foo").getValue());
+    }
+
+    @Test(expected = FormCreateException.class)
+    public void testBuildAsyncInvalidModel() throws Throwable {
+        try {
+            WForm.buildAsync(new NoGetterModel()).get(5, TimeUnit.SECONDS);
+        } catch (ExecutionException ee) {
+            throw ee.getCause();
+        }
+    }
+
+    @Test
+    public void testCommitBatch() {
+        NormalTestModel model = new NormalTestModel();
+        model.setBar("bar");
+        WForm<NormalTestModel> form = new WForm<>(model);
+        List<DataChangedEvent> events = new ArrayList<>();
+        form.addDataChangedListener(events::add);
+
+        form.getComponent("foo").setValue("foo");
+        form.getComponent("bar").setValue("foobar");
+        events.clear();
+        form.commitBatch();
+
+        Assert.assertEquals(1, events.size());
+        FormCommitEvent event = (FormCommitEvent) events.get(0);
+        Assert.assertEquals(new HashSet<>(Arrays.asList("foo", "bar")), event.getChangedFields());
+        Assert.assertEquals("bar", event.getOldValues().get("bar"));
+        Assert.assertEquals("foobar", event.getNewValues().get("bar"));
+        Assert.assertEquals("foo", model.getFoo());
+        Assert.assertEquals("foobar", model.getBar());
+        Assert.assertFalse(form.hasChanged());
+    }
+
+    @Test
+    public void testCommitBatchVeto() {
+        VetoTestModel model = new VetoTestModel();
+        WForm<VetoTestModel> form = new WForm<>(model);
+        form.getComponent("foo").setValue("foo");
+        form.getComponent("qux").setValue("veto");
+
+        try {
+            form.commitBatch();
+            Assert.fail("Veto expected");
+        } catch (ChangeVetoException cve) {
+            log.debug("Got expected veto", cve);
+        }
+        Assert.assertNull(model.getFoo());
+        Assert.assertNull(model.getQux());
+        Assert.assertEquals(new HashSet<>(Arrays.asList("foo", "qux")), form.getDirtyFields());
+        Assert.assertEquals("foo", form.getComponent("foo").getValue());
+    }
+
+    @Test
+    public void testCommitBatchComponentVeto() {
+        CommitVetoTestModel model = new CommitVetoTestModel();
+        WForm<CommitVetoTestModel> form = new WForm<>(model);
+        List<DataChangedEvent> events = new ArrayList<>();
+        form.getComponent("foo").setValue("foo");
+        form.getComponent("bar").setValue("veto");
+        form.addDataChangedListener(events::add);
+
+        try {
+            form.commitBatch();
+            Assert.fail("Veto expected");
+        } catch (ChangeVetoException cve) {
+            log.debug("Got expected veto", cve);
+        }
+        // nothing written, nothing published and "foo" is not committed either
+        Assert.assertNull(model.getFoo());
+        Assert.assertNull(model.getBar());
+        Assert.assertTrue(events.isEmpty());
+        Assert.assertEquals(new HashSet<>(Arrays.asList("foo", "bar")), form.getDirtyFields());
+
+        form.getComponent("bar").setValue("bar");
+        form.commitBatch();
+        Assert.assertEquals("foo", model.getFoo());
+        Assert.assertEquals("bar", model.getBar());
+        Assert.assertFalse(form.hasChanged());
+    }
+
+    @Test
+    public void testCommitBatchListenerVeto() {
+        NormalTestModel model = new NormalTestModel();
+        WForm<NormalTestModel> form = new WForm<>(model);
+        form.getComponent("foo").setValue("foo");
+        form.addDataChangedListener(event -> {
+            if (event instanceof FormCommitEvent) {
+                throw new ChangeVetoException("veto");
+            }
+        });
+
+        try {
+            form.commitBatch();
+            Assert.fail("Veto expected");
+        } catch (ChangeVetoException cve) {
+            log.debug("Got expected veto", cve);
+        }
+        Assert.assertNull(model.getFoo());
+        Assert.assertTrue(form.getComponent("foo").hasChanged());
+        Assert.assertEquals(Collections.singleton("foo"), form.getDirtyFields());
+    }
+
+    @Test
+    public void testCommitBatchModelAlreadyUpToDate() {
+        NormalTestModel model = new NormalTestModel();
+        WForm<NormalTestModel> form = new WForm<>(model);
+        List<DataChangedEvent> events = new ArrayList<>();
+        form.getComponent("foo").setValue("foo");
+        model.setFoo("foo");
+        form.addDataChangedListener(events::add);
+
+        form.commitBatch();
+        Assert.assertEquals(1, events.size());
+        FormCommitEvent event = (FormCommitEvent) events.get(0);
+        Assert.assertEquals(Collections.singleton("foo"), event.getChangedFields());
+        Assert.assertFalse(form.hasChanged());
+    }
+
+    @Test
+    public void testModelAccessorFactory() {
+        AtomicInteger created = new AtomicInteger();
+        LambdaModelAccessorFactory delegate = new LambdaModelAccessorFactory();
+        WForm.setModelAccessorFactory((getter, setter) -> {
+            created.incrementAndGet();
+            return delegate.create(getter, setter);
+        });
+
+        try {
+            NormalTestModel model = new NormalTestModel();
+            new WForm<>(model);
+            WForm<NormalTestModel> form = new WForm<>(model);
+            Assert.assertEquals(2, created.get());
+
+            form.getComponent("foo").setValue("foo");
+            form.commitChanges();
+            Assert.assertEquals("foo", model.getFoo());
+
+            // components bound without a form share one accessor per setter
+            WStringTextField first = new WStringTextField("bar");
+            WStringTextField second = new WStringTextField("baz");
+            first.bindModel(model, String.class, "bar");
+            second.bindModel(model, String.class, "bar");
+            Assert.assertEquals(3, created.get());
+            second.setValue("qux");
+            second.commitChanges();
+            Assert.assertEquals("qux", model.getBar());
+        } finally {
+            WForm.setModelAccessorFactory(new LambdaModelAccessorFactory());
+        }
+    }
+
+    @Test
+    public void testFormBinder() {
+        BinderTestModel model = new BinderTestModel();
+        model.setFoo("foo");
+        model.setBar("bar");
+
+        WForm<BinderTestModel> form = new WForm<>(model);
+        Assert.assertTrue(BinderTestModelFormBinder.ANNOTATION_LOOKUPS.get() > 0);
+        Assert.assertEquals(BinderTestModelFormBinder.COMPONENT_NAME, ((Component) form.getComponent("foo")).getName());
+        Assert.assertNotEquals(BinderTestModelFormBinder.COMPONENT_NAME, ((Component) form.getComponent("bar")).getName());
+        Assert.assertEquals("foo", form.getComponent("foo").getValue());
+        Assert.assertEquals("bar", form.getComponent("bar").getValue());
+
+        form.getComponent("foo").setValue("foobar");
+        form.getComponent("bar").setValue("barfoo");
+        form.commitChanges();
+        Assert.assertEquals("foobar", model.getFoo());
+        Assert.assertEquals("barfoo", model.getBar());
+    }
+
     @Test(expected = NoSuchElementException.class)
     public void testGetComponentNotFound() {
         WForm<InheritanceBaseModel> form = new WForm<>(new InheritanceBaseModel());
@@ -192,6 +616,70 @@ public class WFormTest {
         private String bar;
     }
 
+    @Data
+    public static class BinderTestModel implements FormModel {
+        @FormField(type = WStringTextField.class, caption = "Foo")
+        private String foo;
+
+        @FormField(type = WStringTextField.class, caption = "Bar")
+        private String bar;
+    }
+
+    @Data
+    public static class SectionTestModel implements FormModel {
+        @FormField(type = WStringTextField.class, caption = "Foo")
+        private String foo;
+
+        @FormField(type = WStringTextField.class, caption = "Baz", section = "Section")
+        private String baz;
+
+        private transient int bazReads = 0;
+
+        public String getBaz() {
+            bazReads++;
+            return baz;
+        }
+    }
+
+    @Data
+    public static class VetoTestModel implements FormModel {
+        @FormField(type = WStringTextField.class, caption = "Foo")
+        private String foo;
+
+        @FormField(type = WStringTextField.class, caption = "Qux")
+        private String qux;
+
+        public void setQux(String qux) {
+            if ("veto".equals(qux)) {
+                throw new ChangeVetoException("veto");
+            }
+            this.qux = qux;
+        }
+    }
+
+    @Data
+    public static class CommitVetoTestModel implements FormModel {
+        @FormField(type = WStringTextField.class, caption = "Foo")
+        private String foo;
+
+        @FormField(type = CommitVetoTextField.class, caption = "Bar")
+        private String bar;
+    }
+
+    public static class CommitVetoTextField extends WStringTextField {
+        public CommitVetoTextField(String defval) {
+            super(defval);
+        }
+
+        @Override
+        protected void valueCommitted() throws ChangeVetoException {
+            if ("veto".equals(getValue())) {
+                throw new ChangeVetoException("veto");
+            }
+            super.valueCommitted();
+        }
+    }
+
     @Data
     public static class ThemeTestModel implements FormModel {
         @FormField(type = WStringTextField.class, caption = "Foo")
@@ -0,0 +1,625 @@
+/*
+ * MIT Licence
+ * Copyright (c) 2018 Simon Frankenberger
+ *
+ * Please see LICENCE.md for complete licence text.
+ */
+package eu.fraho.libs.swing.junit;
+
+import eu.fraho.libs.swing.widgets.WComboBox;
+import eu.fraho.libs.swing.widgets.WList;
+import eu.fraho.libs.swing.widgets.WMultiList;
+import eu.fraho.libs.swing.widgets.list.DataProvider;
+import eu.fraho.libs.swing.widgets.list.FilteringListModel;
+import eu.fraho.libs.swing.widgets.list.ListBackedModel;
+import eu.fraho.libs.swing.widgets.list.PagedListModel;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.Assert;
+import org.junit.Test;
+
+import javax.swing.*;
+import javax.swing.event.ListDataEvent;
+import javax.swing.event.ListDataListener;
+import java.awt.*;
+import java.awt.event.KeyEvent;
+import java.awt.event.KeyListener;
+import java.util.*;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+@Slf4j
+public class WListModelTest {
+    @Test
+    public void testListConstructorsCopyItems() {
+        List<String> items = new ArrayList<>(Arrays.asList("a", null, "b"));
+        WList<String> list = new WList<>(items, "b");
+        WComboBox<String> combo = new WComboBox<>(items, "b");
+        WMultiList<String> multi = new WMultiList<>(items, Collections.singleton("b"));
+
+        // nulls are skipped, the caller's list is left alone
+        Assert.assertEquals(2, list.getListModel().getSize());
+        Assert.assertEquals(2, combo.getListModel().getSize());
+        Assert.assertEquals(2, multi.getListModel().getSize());
+        Assert.assertEquals("b", list.getValue());
+        Assert.assertEquals("b", combo.getValue());
+
+        list.addElement("c");
+        combo.removeElement("a");
+        ((ListBackedModel<String>) multi.getListModel()).addElement("x");
+        Assert.assertEquals(Arrays.asList("a", null, "b"), items);
+
+        items.add("d");
+        Assert.assertEquals(3, list.getListModel().getSize());
+        Assert.assertEquals(1, combo.getListModel().getSize());
+    }
+
+    @Test
+    public void testListBackedModelEvents() {
+        List<String> items = new ArrayList<>(Arrays.asList("a", "b", "c"));
+        ListBackedModel<String> model = new ListBackedModel<>(items);
+        List<String> events = new ArrayList<>();
+        model.addListDataListener(new RecordingListener(events));
+
+        model.setNullable(true);
+        model.addElement("d");
+        model.removeElement("b");
+        model.setElements(Arrays.asList("x", "y"));
+
+        Assert.assertEquals(Arrays.asList("added 0-0", "added 4-4", "removed 2-2", "changed 1-2", "removed 3-3"), events);
+        Assert.assertEquals(Arrays.asList("x", "y"), items);
+        Assert.assertEquals(3, model.getSize());
+        Assert.assertNull(model.getElementAt(0));
+        Assert.assertEquals(2, model.indexOf("y"));
+        Assert.assertEquals(0, model.indexOf(null));
+    }
+
+    @Test
+    public void testBatchUpdate() {
+        List<String> items = new ArrayList<>(Arrays.asList("a", "b", "c", "d", "e"));
+        ListBackedModel<String> model = new ListBackedModel<>(items);
+        List<String> events = new ArrayList<>();
+        model.addListDataListener(new RecordingListener(events));
+        model.setSelectedItem("c");
+        events.clear();
+
+        model.addAll(Arrays.asList("f", "g"));
+        model.batchUpdate(list -> {
+            list.remove(1);
+            list.remove(1);
+            list.remove(0);
+        });
+        model.replaceRange(0, 2, Arrays.asList("x", "y"));
+        model.removeAll(Arrays.asList("y", "g"));
+        model.batchUpdate(list -> {
+        });
+
+        // the selected item "c" has been removed, so the selection is cleared (-1)
+        Assert.assertEquals(Arrays.asList("added 5-6", "removed 0-2", "changed -1--1", "changed 0-1", "changed 1-1", "removed 2-3"), events);
+        Assert.assertEquals(Arrays.asList("x", "f"), items);
+        Assert.assertNull(model.getSelectedItem());
+
+        // a growing replacement publishes the shared range as changed, the rest as added
+        events.clear();
+        model.replaceRange(1, 2, Arrays.asList("m", "n", "o"));
+        Assert.assertEquals(Arrays.asList("changed 1-1", "added 2-3"), events);
+        model.replaceRange(1, 4, Collections.singletonList("f"));
+        Assert.assertEquals(Arrays.asList("x", "f"), items);
+
+        WList<String> list = new WList<>(new ListBackedModel<>(items), "f");
+        list.retainAll(Arrays.asList("f", "z"));
+        list.addAll(Arrays.asList("p", "q"));
+        Assert.assertEquals(Arrays.asList("f", "p", "q"), items);
+        Assert.assertEquals(0, list.getListSelectionModel().getMinSelectionIndex());
+        Assert.assertEquals("f", list.getValue());
+    }
+
+    @Test
+    public void testPositionIndexPatchedInMiddle() {
+        List<String> items = new ArrayList<>(Arrays.asList("a", "b", "c", "b", "d", "e"));
+        ListBackedModel<String> model = new ListBackedModel<>(items);
+        Assert.assertEquals(1, model.indexOf("b"));
+
+        // the later occurrence of "b" becomes the first one
+        model.removeElement("b");
+        Assert.assertEquals(Arrays.asList("a", "c", "b", "d", "e"), items);
+        Assert.assertEquals(2, model.indexOf("b"));
+        Assert.assertEquals(1, model.indexOf("c"));
+        Assert.assertEquals(4, model.indexOf("e"));
+
+        model.replaceRange(1, 3, Collections.singletonList("x"));
+        model.batchUpdate(list -> list.add(0, "d"));
+        Assert.assertEquals(Arrays.asList("d", "a", "x", "d", "e"), items);
+        Assert.assertEquals(0, model.indexOf("d"));
+        Assert.assertEquals(-1, model.indexOf("b"));
+        Assert.assertEquals(2, model.indexOf("x"));
+        Assert.assertEquals(4, model.indexOf("e"));
+
+        Random random = new Random(42);
+        for (int i = 0; i < 500; i++) {
+            int index = random.nextInt(items.size());
+            String value = String.valueOf((char) ('a' + random.nextInt(8)));
+            switch (random.nextInt(4)) {
+                case 0:
+                    model.batchUpdate(list -> list.add(index, value));
+                    break;
+                case 1:
+                    model.removeElement(value);
+                    break;
+                case 2:
+                    model.batchUpdate(list -> list.set(index, value));
+                    break;
+                default:
+                    model.removeAll(Collections.singleton(value));
+                    model.addAll(Arrays.asList(value, value));
+                    break;
+            }
+            for (char c = 'a'; c <= 'h'; c++) {
+                String key = String.valueOf(c);
+                Assert.assertEquals("Step " + i + ", " + key, items.indexOf(key), model.indexOf(key));
+            }
+        }
+    }
+
+    @Test
+    public void testPositionIndex() {
+        List<Integer> items = IntStream.range(0, 100_000).boxed().collect(Collectors.toList());
+        ListBackedModel<Integer> model = new ListBackedModel<>(items);
+        Assert.assertEquals(99_999, model.indexOf(99_999));
+
+        model.addElement(5);
+        model.addElement(100_000);
+        Assert.assertEquals(5, model.indexOf(5));
+        Assert.assertEquals(100_001, model.indexOf(100_000));
+
+        model.removeElement(100_000);
+        Assert.assertEquals(-1, model.indexOf(100_000));
+        model.removeElement(3);
+        Assert.assertEquals(4, model.indexOf(5));
+        model.addAll(Arrays.asList(-1, -2));
+        Assert.assertEquals(100_001, model.indexOf(-2));
+
+        model.setNullable(true);
+        Assert.assertEquals(5, model.indexOf(5));
+        Assert.assertEquals(0, model.indexOf(null));
+        model.batchUpdate(list -> list.set(0, 42));
+        Assert.assertEquals(1, model.indexOf(42));
+        Assert.assertEquals(-1, model.indexOf(0));
+
+        model.setNullable(false);
+        for (Integer value : Arrays.asList(1, 5, 42, 99_999, -1, -2, 3)) {
+            Assert.assertEquals(items.indexOf(value), model.indexOf(value));
+        }
+    }
+
+    @Test
+    public void testWListWrapsList() {
+        List<String> items = new ArrayList<>(Arrays.asList("a", "b", "c"));
+        WList<String> list = new WList<>(new ListBackedModel<>(items), "b");
+        list.addElement("d");
+        Assert.assertEquals(Arrays.asList("a", "b", "c", "d"), items);
+        Assert.assertEquals(1, list.getListSelectionModel().getMinSelectionIndex());
+
+        list.setNullable(true);
+        Assert.assertEquals(2, list.getListSelectionModel().getMinSelectionIndex());
+        list.setValue(null);
+        Assert.assertEquals(0, list.getListSelectionModel().getMinSelectionIndex());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testMultiList() {
+        List<Integer> items = IntStream.range(0, 100_000).boxed().collect(Collectors.toList());
+        WMultiList<Integer> list = new WMultiList<>(items, new HashSet<>(Arrays.asList(1, 2, 99_999)));
+        Assert.assertEquals(new HashSet<>(Arrays.asList(1, 2, 99_999)), list.getValue());
+        Assert.assertFalse(list.hasChanged());
+
+        List<Set<Integer>> values = new ArrayList<>();
+        list.addDataChangedListener(event -> values.add((Set<Integer>) event.getNewValue()));
+        list.getListSelectionModel().addSelectionInterval(10_000, 19_999);
+        Assert.assertEquals(10_003, list.getValue().size());
+        Assert.assertTrue(list.getValue().contains(15_000));
+        Assert.assertTrue(list.hasChanged());
+        Assert.assertEquals(1, values.size());
+
+        list.commitChanges();
+        Assert.assertFalse(list.hasChanged());
+        list.setValue(Collections.singleton(5));
+        Assert.assertEquals(5, list.getListSelectionModel().getMinSelectionIndex());
+        Assert.assertEquals(5, list.getListSelectionModel().getMaxSelectionIndex());
+        list.rollbackChanges();
+        Assert.assertEquals(10_003, list.getValue().size());
+        Assert.assertTrue(list.getListSelectionModel().isSelectedIndex(19_999));
+
+        ((ListBackedModel<Integer>) list.getListModel()).removeElement(0);
+        Assert.assertEquals(10_003, list.getValue().size());
+        Assert.assertTrue(list.getValue().contains(99_999));
+        Assert.assertTrue(list.getListSelectionModel().isSelectedIndex(99_998));
+        Assert.assertFalse(list.hasChanged());
+    }
+
+    @Test
+    public void testMultiListContentsChanged() {
+        List<String> items = new ArrayList<>(Arrays.asList("a", "b", "c", "d", "e", "f"));
+        ListBackedModel<String> model = new ListBackedModel<>(items);
+        WMultiList<String> list = new WMultiList<>(model, new HashSet<>(Arrays.asList("b", "c")));
+
+        // the committed items are selected again at their new indices
+        model.batchUpdate(view -> view.sort(Comparator.reverseOrder()));
+        Assert.assertEquals(Arrays.asList("f", "e", "d", "c", "b", "a"), items);
+        Assert.assertEquals(new HashSet<>(Arrays.asList("b", "c")), list.getValue());
+        Assert.assertTrue(list.getListSelectionModel().isSelectedIndex(3));
+        Assert.assertTrue(list.getListSelectionModel().isSelectedIndex(4));
+        Assert.assertFalse(list.getListSelectionModel().isSelectedIndex(1));
+        Assert.assertFalse(list.hasChanged());
+
+        // a changed item, which is not contained anymore, is dropped
+        model.batchUpdate(view -> view.set(3, "x"));
+        Assert.assertEquals(Collections.singleton("b"), list.getValue());
+        Assert.assertFalse(list.getListSelectionModel().isSelectedIndex(3));
+        Assert.assertFalse(list.hasChanged());
+
+        // an uncommitted selection keeps its indices, the rollback restores the committed items
+        list.setValue(new HashSet<>(Arrays.asList("a", "b")));
+        model.batchUpdate(view -> view.set(5, "z"));
+        Assert.assertEquals(new HashSet<>(Arrays.asList("b", "z")), list.getValue());
+        Assert.assertTrue(list.hasChanged());
+        list.rollbackChanges();
+        Assert.assertEquals(Collections.singleton("b"), list.getValue());
+        Assert.assertTrue(list.getListSelectionModel().isSelectedIndex(4));
+
+        // indices beyond the end of a shrunk model are dropped
+        list.setValue(new HashSet<>(Arrays.asList("d", "z")));
+        items.subList(3, items.size()).clear();
+        model.refresh();
+        Assert.assertEquals(Collections.singleton("d"), new HashSet<>(list.getValue()));
+        Assert.assertEquals(1, list.getValue().size());
+    }
+
+    @Test
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    public void testFixedCellSize() {
+        WList<String> list = new WList<>(Arrays.asList("a", "bbbbbbbbbb"));
+        list.setNullable(true);
+        list.setPrototypeCellText("bbbbbbbbbb");
+        Assert.assertTrue(list.getFixedCellWidth() > 0);
+        Assert.assertTrue(list.getFixedCellHeight() > 0);
+
+        JList<?> jlist = (JList<?>) list.getComponent().getViewport().getView();
+        Component placeholder = jlist.getCellRenderer().getListCellRendererComponent((JList) jlist, null, 0, false, false);
+        Assert.assertEquals(" ", ((JLabel) placeholder).getText());
+        Assert.assertEquals(list.getFixedCellHeight(), jlist.getCellBounds(0, 0).height);
+
+        list.setFixedCellHeight(42);
+        Assert.assertEquals(42, jlist.getCellBounds(2, 2).height);
+    }
+
+    @Test
+    public void testPagedListModel() throws Exception {
+        AtomicInteger fetches = new AtomicInteger();
+        DataProvider<Integer> provider = new DataProvider<Integer>() {
+            @Override
+            public int count() {
+                return 1_000_000;
+            }
+
+            @Override
+            public List<Integer> fetch(int offset, int limit) {
+                fetches.incrementAndGet();
+                return IntStream.range(offset, Math.min(offset + limit, count())).boxed().collect(Collectors.toList());
+            }
+
+            @Override
+            public int indexOf(Integer item) {
+                return item;
+            }
+        };
+
+        SwingUtilities.invokeAndWait(() -> {
+            PagedListModel<Integer> model = new PagedListModel<>(provider, 100, 2, Runnable::run);
+            WComboBox<Integer> combo = new WComboBox<>(model, 500_000);
+            Assert.assertEquals(1_000_000, model.getSize());
+            Assert.assertEquals(500_000, combo.getComponent().getSelectedIndex());
+            Assert.assertEquals(Integer.valueOf(500_123), model.getElementAt(500_123));
+            Assert.assertTrue("Too many fetches: " + fetches.get(), fetches.get() < 10);
+        });
+    }
+
+    @Test
+    public void testComboBoxSelectedIndex() throws Exception {
+        AtomicInteger lookups = new AtomicInteger();
+        DataProvider<Integer> provider = new DataProvider<Integer>() {
+            @Override
+            public int count() {
+                return 1_000;
+            }
+
+            @Override
+            public List<Integer> fetch(int offset, int limit) {
+                return IntStream.range(offset, Math.min(offset + limit, count())).boxed().collect(Collectors.toList());
+            }
+
+            @Override
+            public int indexOf(Integer item) {
+                lookups.incrementAndGet();
+                return item >= 0 && item < count() ? item : -1;
+            }
+        };
+
+        SwingUtilities.invokeAndWait(() -> {
+            PagedListModel<Integer> model = new PagedListModel<>(provider, 10, 5, Runnable::run);
+            WComboBox<Integer> combo = new WComboBox<>(model, null);
+            combo.setNullable(true);
+            JComboBox<Integer> component = combo.getComponent();
+
+            // the virtual null entry is not a selection
+            Assert.assertEquals(-1, component.getSelectedIndex());
+            component.setSelectedIndex(0);
+            Assert.assertNull(combo.getValue());
+            Assert.assertEquals(-1, component.getSelectedIndex());
+
+            // the index is looked up once per selection, not on each call
+            combo.setValue(500);
+            Assert.assertEquals(501, component.getSelectedIndex());
+            lookups.set(0);
+            for (int i = 0; i < 10; i++) {
+                Assert.assertEquals(501, component.getSelectedIndex());
+            }
+            Assert.assertEquals(0, lookups.get());
+
+            // loading other pages keeps the index
+            Assert.assertEquals(Integer.valueOf(42), model.getElementAt(43));
+            Assert.assertEquals(501, component.getSelectedIndex());
+            Assert.assertEquals(0, lookups.get());
+
+            // the index follows the virtual null entry
+            combo.setNullable(false);
+            Assert.assertEquals(500, component.getSelectedIndex());
+            Assert.assertEquals(500, component.getSelectedIndex());
+            Assert.assertEquals(1, lookups.get());
+
+            combo.setValue(null);
+            Assert.assertEquals(-1, component.getSelectedIndex());
+            Assert.assertEquals(1, lookups.get());
+        });
+    }
+
+    @Test
+    public void testListSelectsUnloadedRow() throws Exception {
+        DataProvider<Integer> provider = new DataProvider<Integer>() {
+            @Override
+            public int count() {
+                return 1_000;
+            }
+
+            @Override
+            public List<Integer> fetch(int offset, int limit) {
+                return IntStream.range(offset, Math.min(offset + limit, count())).boxed().collect(Collectors.toList());
+            }
+
+            @Override
+            public int indexOf(Integer item) {
+                return item >= 0 && item < count() ? item : -1;
+            }
+        };
+
+        SwingUtilities.invokeAndWait(() -> {
+            List<Runnable> tasks = new ArrayList<>();
+            PagedListModel<Integer> model = new PagedListModel<>(provider, 10, 1, tasks::add);
+            WList<Integer> list = new WList<>(model, 777);
+            Assert.assertFalse(model.isLoaded(123));
+
+            // the value is kept until the selected item has been loaded
+            list.getListSelectionModel().setSelectionInterval(123, 123);
+            Assert.assertEquals(Integer.valueOf(777), list.getValue());
+            while (!tasks.isEmpty()) {
+                tasks.remove(0).run();
+            }
+            Assert.assertEquals(Integer.valueOf(123), list.getValue());
+
+            // the page is evicted by loading others
+            model.getElementAt(555);
+            while (!tasks.isEmpty()) {
+                tasks.remove(0).run();
+            }
+            Assert.assertFalse(model.isLoaded(125));
+            list.getListSelectionModel().setSelectionInterval(125, 125);
+            Assert.assertEquals(Integer.valueOf(123), list.getValue());
+            while (!tasks.isEmpty()) {
+                tasks.remove(0).run();
+            }
+            Assert.assertEquals(Integer.valueOf(125), list.getValue());
+
+            // a later selection wins over the loading one
+            list.getListSelectionModel().setSelectionInterval(333, 333);
+            list.getListSelectionModel().setSelectionInterval(444, 444);
+            Assert.assertEquals(Integer.valueOf(125), list.getValue());
+            while (!tasks.isEmpty()) {
+                tasks.remove(0).run();
+            }
+            Assert.assertEquals(Integer.valueOf(444), list.getValue());
+        });
+    }
+
+    @Test
+    public void testFilteringListModel() throws Exception {
+        List<String> items = IntStream.range(0, 10_000).mapToObj(i -> "Item " + i).collect(Collectors.toList());
+        items.set(42, "Zebra");
+        List<FilteringListModel<String>> holder = new ArrayList<>();
+        SwingUtilities.invokeAndWait(() -> {
+            FilteringListModel<String> model = new FilteringListModel<>(new ListBackedModel<>(items), String::valueOf, Runnable::run);
+            holder.add(model);
+            Assert.assertFalse(model.isIndexReady());
+            model.setFilter("item 99");
+            Assert.assertEquals(Arrays.asList("Item 99", "Item 990"), Arrays.asList(model.getElementAt(0), model.getElementAt(1)));
+        });
+
+        // the index is published on the event dispatch thread
+        FilteringListModel<String> model = holder.get(0);
+        SwingUtilities.invokeAndWait(() -> {
+            Assert.assertTrue(model.isIndexReady());
+            Assert.assertEquals(111, model.getSize());
+
+            model.setFilter("ZE");
+            Assert.assertEquals(1, model.getSize());
+            Assert.assertEquals(0, model.indexOf("Zebra"));
+            Assert.assertEquals(-1, model.indexOf("Item 1"));
+
+            ((ListBackedModel<String>) model.getSource()).addElement("Zeppelin");
+            Assert.assertEquals(2, model.getSize());
+        });
+
+        SwingUtilities.invokeAndWait(() -> {
+            Assert.assertTrue(model.isIndexReady());
+            Assert.assertEquals("Zeppelin", model.getElementAt(1));
+            model.setFilter(null);
+            Assert.assertEquals(10_001, model.getSize());
+        });
+    }
+
+    @Test
+    public void testComboBoxFilter() throws Exception {
+        List<String> items = Arrays.asList("Berlin", "Bern", "Istanbul", "Rome");
+        List<FilteringListModel<String>> holder = new ArrayList<>();
+        List<WComboBox<String>> combos = new ArrayList<>();
+        Locale defaultLocale = Locale.getDefault();
+        try {
+            // keys are matched independent of the default locale (dotless i)
+            Locale.setDefault(new Locale("tr", "TR"));
+            SwingUtilities.invokeAndWait(() -> {
+                FilteringListModel<String> model = new FilteringListModel<>(new ListBackedModel<>(items), String::valueOf, Runnable::run);
+                WComboBox<String> combo = new WComboBox<>(model, "Rome");
+                holder.add(model);
+                combos.add(combo);
+                Assert.assertTrue(combo.getComponent().isEditable());
+
+                typeIntoEditor(combo, "IST");
+                Assert.assertEquals("ist", model.getFilter());
+                Assert.assertEquals(Collections.singletonList("Istanbul"), elementsOf(model));
+
+                typeIntoEditor(combo, "ber");
+                Assert.assertEquals(Arrays.asList("Berlin", "Bern"), elementsOf(model));
+
+                // free text is replaced by the first match
+                combo.getComponent().setSelectedItem("ber");
+                Assert.assertEquals("Berlin", combo.getValue());
+
+                // unmatched text keeps the old value
+                typeIntoEditor(combo, "xyz");
+                Assert.assertEquals(0, model.getSize());
+                combo.getComponent().setSelectedItem("xyz");
+                Assert.assertEquals("Berlin", combo.getValue());
+            });
+        } finally {
+            Locale.setDefault(defaultLocale);
+        }
+
+        // the filter is reset after the selection on the event dispatch thread
+        SwingUtilities.invokeAndWait(() -> {
+            Assert.assertNull(holder.get(0).getFilter());
+            Assert.assertEquals(items.size(), holder.get(0).getSize());
+            Assert.assertEquals("Berlin", combos.get(0).getValue());
+        });
+    }
+
+    private static void typeIntoEditor(WComboBox<String> combo, String text) {
+        JTextField editor = (JTextField) combo.getComponent().getEditor().getEditorComponent();
+        editor.setText(text);
+        KeyEvent event = new KeyEvent(editor, KeyEvent.KEY_RELEASED, System.currentTimeMillis(), 0, KeyEvent.VK_UNDEFINED, text.charAt(text.length() - 1));
+        for (KeyListener listener : editor.getKeyListeners()) {
+            listener.keyReleased(event);
+        }
+    }
+
+    private static List<String> elementsOf(ListModel<String> model) {
+        List<String> result = new ArrayList<>();
+        for (int i = 0; i < model.getSize(); i++) {
+            result.add(model.getElementAt(i));
+        }
+        return result;
+    }
+
+    @Test
+    public void testPagedListModelLoadsInBackground() throws Exception {
+        AtomicInteger fetches = new AtomicInteger();
+        DataProvider<Integer> provider = new DataProvider<Integer>() {
+            @Override
+            public int count() {
+                return 1_000;
+            }
+
+            @Override
+            public List<Integer> fetch(int offset, int limit) {
+                fetches.incrementAndGet();
+                return IntStream.range(offset, Math.min(offset + limit, count())).boxed().collect(Collectors.toList());
+            }
+
+            @Override
+            public int indexOf(Integer item) {
+                return item >= 0 && item < count() ? item : -1;
+            }
+        };
+
+        SwingUtilities.invokeAndWait(() -> {
+            List<Runnable> tasks = new ArrayList<>();
+
+            // values on pages never loaded are selected nevertheless
+            PagedListModel<Integer> comboModel = new PagedListModel<>(provider, 10, 5, tasks::add);
+            WComboBox<Integer> combo = new WComboBox<>(comboModel, null);
+            combo.setValue(555);
+            Assert.assertEquals(Integer.valueOf(555), combo.getValue());
+            Assert.assertEquals(555, comboModel.getSelectedItem());
+            Assert.assertEquals(555, combo.getComponent().getSelectedIndex());
+
+            WList<Integer> list = new WList<>(new PagedListModel<>(provider, 10, 5, tasks::add), 777);
+            Assert.assertEquals(777, list.getListSelectionModel().getMinSelectionIndex());
+            Assert.assertEquals(Integer.valueOf(777), list.getValue());
+
+            // nothing is fetched on this thread, the items are shown as null until loaded
+            PagedListModel<Integer> model = new PagedListModel<>(provider, 10, 5, tasks::add);
+            List<String> events = new ArrayList<>();
+            model.addListDataListener(new RecordingListener(events));
+            tasks.clear();
+            fetches.set(0);
+            Assert.assertNull(model.getElementAt(555));
+            Assert.assertNull(model.getElementAt(556));
+            Assert.assertEquals(0, fetches.get());
+            Assert.assertEquals(1, tasks.size());
+
+            tasks.remove(0).run();
+            Assert.assertEquals(Collections.singletonList("changed 550-559"), events);
+            Assert.assertEquals(Integer.valueOf(555), model.getElementAt(555));
+
+            // the next page is prefetched without any event
+            Assert.assertEquals(1, tasks.size());
+            tasks.remove(0).run();
+            Assert.assertEquals(Integer.valueOf(565), model.getElementAt(565));
+            Assert.assertEquals(1, events.size());
+            Assert.assertEquals(2, fetches.get());
+        });
+    }
+
+    private static class RecordingListener implements ListDataListener {
+        private final List<String> events;
+
+        private RecordingListener(List<String> events) {
+            this.events = events;
+        }
+
+        @Override
+        public void intervalAdded(ListDataEvent e) {
+            events.add("added " + e.getIndex0() + "-" + e.getIndex1());
+        }
+
+        @Override
+        public void intervalRemoved(ListDataEvent e) {
+            events.add("removed " + e.getIndex0() + "-" + e.getIndex1());
+        }
+
+        @Override
+        public void contentsChanged(ListDataEvent e) {
+            events.add("changed " + e.getIndex0() + "-" + e.getIndex1());
+        }
+    }
+}
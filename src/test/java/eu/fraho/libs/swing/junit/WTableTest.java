@@ -0,0 +1,185 @@
+/*
+ * MIT Licence
+ * Copyright (c) 2018 Simon Frankenberger
+ *
+ * Please see LICENCE.md for complete licence text.
+ */
+package eu.fraho.libs.swing.junit;
+
+import eu.fraho.libs.swing.exceptions.ChangeVetoException;
+import eu.fraho.libs.swing.widgets.WTable;
+import eu.fraho.libs.swing.widgets.events.DataChangedEvent;
+import eu.fraho.libs.swing.widgets.events.TableEditEvent;
+import eu.fraho.libs.swing.widgets.table.*;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.time.LocalDate;
+import java.util.*;
+
+public class WTableTest {
+    @Test
+    public void testEditCommitRollback() {
+        List<Row> rows = Arrays.asList(new Row(1, "a", LocalDate.of(2018, 1, 1)), new Row(2, "b", null));
+        WTable<Row> table = new WTable<>(columns(), rows);
+        ColumnarTableModel<Row> model = table.getTableModel();
+        List<TableEditEvent> events = new ArrayList<>();
+        table.addDataChangedListener(event -> events.add((TableEditEvent) event));
+
+        Assert.assertEquals(2L, model.getValueAt(1, 0));
+        Assert.assertNull(model.getValueAt(1, 2));
+        Assert.assertFalse(model.isCellEditable(0, 3));
+
+        model.setValueAt(5L, 0, 0);
+        model.setValueAt("x", 1, 1);
+        model.setValueAt("b", 1, 1);
+        model.setValueAt("invalid", 1, 0);
+        Assert.assertTrue(table.hasChanged());
+        Assert.assertEquals(1, model.getEditCount());
+        Assert.assertEquals(3, events.size());
+        Assert.assertEquals(1, rows.get(0).id);
+
+        table.commitChanges();
+        Assert.assertFalse(table.hasChanged());
+        Assert.assertEquals(5, rows.get(0).id);
+        TableEditEvent commit = events.get(3);
+        Assert.assertEquals(DataChangedEvent.ChangeType.COMMIT, commit.getWhy());
+        Assert.assertEquals(Collections.singletonMap(new TableCell(0, 0), 1L), commit.getOldValues());
+        Assert.assertEquals(Collections.singletonMap(new TableCell(0, 0), 5L), commit.getNewValues());
+
+        model.setValueAt(LocalDate.of(2019, 2, 2), 1, 2);
+        table.rollbackChanges();
+        Assert.assertFalse(table.hasChanged());
+        Assert.assertNull(model.getValueAt(1, 2));
+        Assert.assertNull(rows.get(1).date);
+        TableEditEvent rollback = events.get(events.size() - 1);
+        Assert.assertEquals(DataChangedEvent.ChangeType.ROLLBACK, rollback.getWhy());
+        Assert.assertEquals(Collections.singleton(new TableCell(1, 2)), rollback.getEditedCells());
+    }
+
+    @Test
+    public void testVetoRevertsEdit() {
+        List<Row> rows = Collections.singletonList(new Row(1, "a", null));
+        WTable<Row> table = new WTable<>(columns(), rows);
+        ColumnarTableModel<Row> model = table.getTableModel();
+        table.addDataChangedListener(event -> {
+            if (event.getWhy() == DataChangedEvent.ChangeType.CHANGED) {
+                throw new ChangeVetoException("no edits");
+            }
+        });
+
+        model.setValueAt("b", 0, 1);
+        Assert.assertEquals("a", model.getValueAt(0, 1));
+        Assert.assertFalse(model.hasEdits());
+        Assert.assertFalse(table.hasChanged());
+    }
+
+    @Test
+    public void testCommitVetoRestoresRows() {
+        List<Row> rows = Collections.singletonList(new Row(1, "a", null));
+        WTable<Row> table = new WTable<>(columns(), rows);
+        ColumnarTableModel<Row> model = table.getTableModel();
+        table.addDataChangedListener(event -> {
+            if (event.getWhy() == DataChangedEvent.ChangeType.COMMIT) {
+                throw new ChangeVetoException("no commits");
+            }
+        });
+
+        model.setValueAt("b", 0, 1);
+        try {
+            table.commitChanges();
+            Assert.fail("Veto expected");
+        } catch (ChangeVetoException cve) {
+            Assert.assertEquals("no commits", cve.getMessage());
+        }
+        Assert.assertEquals("a", rows.get(0).name);
+        Assert.assertEquals("b", model.getValueAt(0, 1));
+        Assert.assertTrue(model.isEdited(0, 1));
+        Assert.assertTrue(table.hasChanged());
+    }
+
+    @Test
+    public void testDateColumnRange() {
+        LocalDate sentinel = LocalDate.ofEpochDay(Integer.MIN_VALUE);
+        List<Row> rows = Arrays.asList(new Row(1, "a", LocalDate.MAX), new Row(2, "b", LocalDate.MIN),
+                new Row(3, "c", sentinel), new Row(4, "d", LocalDate.ofEpochDay(0)), new Row(5, "e", null));
+        WTable<Row> table = new WTable<>(columns(), rows);
+        ColumnarTableModel<Row> model = table.getTableModel();
+        DateColumn<?> column = (DateColumn<?>) model.getColumn(2);
+
+        Assert.assertEquals(LocalDate.MAX, model.getValueAt(0, 2));
+        Assert.assertEquals(LocalDate.MIN, model.getValueAt(1, 2));
+        Assert.assertEquals(sentinel, model.getValueAt(2, 2));
+        Assert.assertEquals(LocalDate.ofEpochDay(0), model.getValueAt(3, 2));
+        Assert.assertFalse(column.isNull(3));
+        Assert.assertNull(model.getValueAt(4, 2));
+        Assert.assertTrue(column.isNull(4));
+
+        model.setValueAt(LocalDate.MIN, 0, 2);
+        model.setValueAt(LocalDate.MAX, 4, 2);
+        model.setValueAt(null, 3, 2);
+        table.commitChanges();
+        Assert.assertEquals(LocalDate.MIN, rows.get(0).date);
+        Assert.assertEquals(LocalDate.MAX, rows.get(4).date);
+        Assert.assertNull(rows.get(3).date);
+        Assert.assertFalse(column.isNull(4));
+    }
+
+    @Test
+    public void testTypedListenersIgnoreEdits() {
+        List<Row> rows = Collections.singletonList(new Row(1, "a", null));
+        WTable<Row> table = new WTable<>(columns(), rows);
+        List<DataChangedEvent.ChangeType> typed = new ArrayList<>();
+        List<Object> values = new ArrayList<>();
+        table.addValueChangeListener((oldValue, newValue, why) -> typed.add(why));
+        table.addDataChangedListener(event -> values.add(event.getNewValue()));
+
+        table.getTableModel().setValueAt("b", 0, 1);
+        table.commitChanges();
+        Assert.assertEquals(Collections.emptyList(), typed);
+        Assert.assertEquals(Arrays.asList(Collections.singletonMap(new TableCell(0, 1), "b"),
+                Collections.singletonMap(new TableCell(0, 1), "b")), values);
+
+        List<Row> replaced = Collections.singletonList(new Row(2, "c", null));
+        table.setValue(replaced);
+        Assert.assertEquals(Collections.singletonList(DataChangedEvent.ChangeType.CHANGED), typed);
+    }
+
+    @Test
+    public void testReplaceRows() {
+        WTable<Row> table = new WTable<>(columns());
+        ColumnarTableModel<Row> model = table.getTableModel();
+        Assert.assertEquals(0, model.getRowCount());
+
+        List<Row> rows = Collections.singletonList(new Row(7, "c", null));
+        table.setValue(rows);
+        Assert.assertEquals(1, model.getRowCount());
+        Assert.assertEquals(7L, model.getValueAt(0, 0));
+        Assert.assertEquals(3.5, (Double) model.getValueAt(0, 3), 0.0);
+
+        model.setValueAt("d", 0, 1);
+        table.rollbackChanges();
+        Assert.assertEquals(0, model.getRowCount());
+        Assert.assertEquals("c", rows.get(0).name);
+    }
+
+    private static List<TableColumn<Row>> columns() {
+        return Arrays.asList(
+                new LongColumn<Row>("Id", row -> row.id, (row, value) -> row.id = (int) value),
+                new ObjectColumn<Row, String>("Name", String.class, row -> row.name, (row, value) -> row.name = value),
+                new DateColumn<Row>("Date", row -> row.date, (row, value) -> row.date = value),
+                new DoubleColumn<Row>("Ratio", row -> row.id / 2.0, null));
+    }
+
+    private static class Row {
+        private int id;
+        private String name;
+        private LocalDate date;
+
+        private Row(int id, String name, LocalDate date) {
+            this.id = id;
+            this.name = name;
+            this.date = date;
+        }
+    }
+}